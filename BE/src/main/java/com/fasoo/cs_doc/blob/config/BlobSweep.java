@@ -0,0 +1,36 @@
+package com.fasoo.cs_doc.blob.config;
+
+import com.fasoo.cs_doc.blob.service.BlobStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * 애플리케이션 기동 시 참조 수가 0이 된 업로드 blob 파일을 정리.
+ * 실패해도 다음 기동 때 다시 시도하므로 로그만 남김.
+ */
+@Component
+@Order(8)
+public class BlobSweep implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(BlobSweep.class);
+
+    private final BlobStore blobStore;
+
+    public BlobSweep(BlobStore blobStore) {
+        this.blobStore = blobStore;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            int deleted = blobStore.sweepUnreferenced();
+            log.info("Unreferenced blobs swept: deleted={}", deleted);
+        } catch (Exception e) {
+            log.warn("Blob sweep failed: {}", e.getMessage());
+        }
+    }
+}
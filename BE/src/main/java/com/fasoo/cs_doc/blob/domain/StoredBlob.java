@@ -0,0 +1,58 @@
+package com.fasoo.cs_doc.blob.domain;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 내용 주소(SHA-256) 기반으로 저장된 업로드 파일 (uploads/blobs/ab/cd/{해시}.{확장자})
+ * 같은 내용을 여러 번 올려도 파일은 하나만 두고 refCount로 참조 수를 셈.
+ * refCount가 0이 된 파일은 기동 시 BlobSweep이 정리함.
+ */
+@Entity
+@Table(
+        name = "stored_blob",
+        indexes = {
+                @Index(name = "idx_stored_blob_ref_count", columnList = "ref_count")
+        }
+)
+public class StoredBlob {
+
+    /**
+     * blobs 디렉터리 기준 상대경로 (예: 3f/a9/3fa9...c1.png). 같은 내용이라도 확장자가 다르면 별도 파일.
+     */
+    @Id
+    @Column(name = "path", length = 100)
+    private String path;
+
+    @Column(name = "sha256", nullable = false, length = 64)
+    private String sha256;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+
+    @Column(name = "ref_count", nullable = false)
+    private long refCount;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    protected StoredBlob() {}
+
+    public StoredBlob(String path, String sha256, long sizeBytes, long refCount) {
+        this.path = path;
+        this.sha256 = sha256;
+        this.sizeBytes = sizeBytes;
+        this.refCount = refCount;
+    }
+
+    @PrePersist
+    void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public String getPath() { return path; }
+    public String getSha256() { return sha256; }
+    public long getSizeBytes() { return sizeBytes; }
+    public long getRefCount() { return refCount; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
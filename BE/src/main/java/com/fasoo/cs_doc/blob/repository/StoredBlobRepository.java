@@ -0,0 +1,36 @@
+package com.fasoo.cs_doc.blob.repository;
+
+import com.fasoo.cs_doc.blob.domain.StoredBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface StoredBlobRepository extends JpaRepository<StoredBlob, String> {
+
+    @Modifying
+    @Query("UPDATE StoredBlob b SET b.refCount = b.refCount + :delta WHERE b.path = :path")
+    int addRefCount(@Param("path") String path, @Param("delta") long delta);
+
+    /**
+     * 행이 없으면 참조 수 1로 추가, 있으면 참조 수 +1 (한 문장이라 같은 내용의 첫 업로드가 동시에 와도 PK 충돌 없음)
+     * MySQL 문법이며 H2는 MODE=MySQL에서 지원
+     */
+    @Modifying
+    @Query(value = "INSERT INTO stored_blob (path, sha256, size_bytes, ref_count, created_at)"
+            + " VALUES (:path, :sha256, :size, 1, :createdAt)"
+            + " ON DUPLICATE KEY UPDATE ref_count = ref_count + 1", nativeQuery = true)
+    int addReference(@Param("path") String path,
+                     @Param("sha256") String sha256,
+                     @Param("size") long size,
+                     @Param("createdAt") LocalDateTime createdAt);
+
+    List<StoredBlob> findByRefCountLessThanEqual(long refCount);
+
+    @Modifying
+    @Query("DELETE FROM StoredBlob b WHERE b.path = :path AND b.refCount <= 0")
+    int deleteIfUnreferenced(@Param("path") String path);
+}
@@ -0,0 +1,154 @@
+package com.fasoo.cs_doc.blob.service;
+
+import com.fasoo.cs_doc.blob.domain.StoredBlob;
+import com.fasoo.cs_doc.blob.repository.StoredBlobRepository;
+import com.fasoo.cs_doc.global.config.StorageProperties;
+import com.fasoo.cs_doc.global.file.ShardedLayout;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * 업로드 파일(이미지/첨부파일) 공용 내용 주소 저장소
+ *
+ * - 스트림을 임시 파일로 받으면서 SHA-256을 계산하고 uploads/blobs/ab/cd/{해시}.{확장자}로 옮김 (ShardedLayout)
+ *   같은 내용이 이미 있으면 새 파일은 버리고 기존 파일의 참조 수만 올림 (URL도 같음)
+ * - release는 참조 수만 내리고 파일은 지우지 않음. 참조가 0인 파일은 기동 시 BlobSweep이 정리
+ *   (요청마다 지우면 같은 내용을 동시에 올리는 요청과 경합하므로 한곳에서 모아서 처리)
+ * - 참조 수는 호출한 트랜잭션과 함께 커밋/롤백됨. 롤백되면 파일만 남는데, 같은 내용이 다시 올라오면 그대로 재사용
+ */
+@Service
+public class BlobStore {
+
+    public static final String URL_PREFIX = "/uploads/blobs/";
+    private static final String BLOBS_DIR = "blobs";
+    private static final String TMP_DIR = "tmp";
+
+    private final Path blobsRoot;
+    private final StoredBlobRepository blobRepository;
+
+    public BlobStore(StorageProperties props, StoredBlobRepository blobRepository) {
+        this.blobsRoot = props.uploadRoot().resolve(BLOBS_DIR);
+        this.blobRepository = blobRepository;
+    }
+
+    /**
+     * 내용을 저장(또는 기존 파일 재사용)하고 참조 수를 1 올린 뒤 URL 반환 (/uploads/blobs/ab/cd/{hash}.{ext})
+     *
+     * @param ext 확장자 (점 제외, 영문/숫자가 아니면 확장자 없이 저장)
+     */
+    @Transactional
+    public String store(InputStream in, String ext) throws IOException {
+        Path tmpDir = blobsRoot.resolve(TMP_DIR);
+        Files.createDirectories(tmpDir);
+        Path tmp = tmpDir.resolve(UUID.randomUUID() + ".part");
+
+        MessageDigest digest = sha256();
+        long size;
+        try (DigestInputStream digestIn = new DigestInputStream(in, digest);
+             OutputStream out = Files.newOutputStream(tmp)) {
+            size = digestIn.transferTo(out);
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+
+        String hash = HexFormat.of().formatHex(digest.digest());
+        String safeExt = sanitizeExtension(ext);
+        String path = ShardedLayout.prefixOf(hash) + hash + (safeExt.isEmpty() ? "" : "." + safeExt);
+        Path target = blobsRoot.resolve(path);
+
+        // 참조 수를 먼저 올린 뒤 파일을 확인 (정리 중인 행이면 그 트랜잭션이 끝난 뒤 새 행으로 들어가고 파일도 다시 둠)
+        // UPDATE 후 없으면 INSERT하면 같은 내용의 첫 업로드가 동시에 올 때 둘 다 INSERT하므로 upsert 한 문장으로 처리
+        blobRepository.addReference(path, hash, size, LocalDateTime.now());
+        if (Files.exists(target)) {
+            Files.deleteIfExists(tmp);
+        } else {
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                Files.deleteIfExists(tmp); // 같은 내용을 동시에 저장한 경우
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        return URL_PREFIX + path;
+    }
+
+    /**
+     * 참조 하나 해제 (blob URL이 아니면 false, 파일은 지우지 않음)
+     */
+    @Transactional
+    public boolean release(String url) {
+        if (!isBlobUrl(url)) {
+            return false;
+        }
+        blobRepository.addRefCount(url.substring(URL_PREFIX.length()), -1);
+        return true;
+    }
+
+    public static boolean isBlobUrl(String url) {
+        return url != null && url.startsWith(URL_PREFIX) && !url.contains("..");
+    }
+
+    /**
+     * 참조가 없는 blob 파일과 행, 1시간 넘게 남은 임시 파일 정리 (BlobSweep에서 기동 시 호출)
+     *
+     * @return 삭제한 blob 수
+     */
+    @Transactional
+    public int sweepUnreferenced() throws IOException {
+        int deleted = 0;
+        for (StoredBlob blob : blobRepository.findByRefCountLessThanEqual(0)) {
+            if (blobRepository.deleteIfUnreferenced(blob.getPath()) > 0) {
+                Files.deleteIfExists(blobsRoot.resolve(blob.getPath()).normalize());
+                deleted++;
+            }
+        }
+        Path tmpDir = blobsRoot.resolve(TMP_DIR);
+        if (Files.isDirectory(tmpDir)) {
+            try (var parts = Files.list(tmpDir)) {
+                Instant staleBefore = Instant.now().minus(Duration.ofHours(1));
+                for (Path part : parts.toList()) {
+                    if (Files.getLastModifiedTime(part).toInstant().isBefore(staleBefore)) {
+                        Files.deleteIfExists(part);
+                    }
+                }
+            }
+        }
+        return deleted;
+    }
+
+    private static String sanitizeExtension(String ext) {
+        if (ext == null) return "";
+        String e = ext.startsWith(".") ? ext.substring(1) : ext;
+        e = e.toLowerCase(Locale.ROOT);
+        return e.matches("[a-z0-9]{1,10}") ? e : "";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.fasoo.cs_doc.category.config;
 
 import com.fasoo.cs_doc.category.domain.Category;
 import com.fasoo.cs_doc.category.repository.CategoryRepository;
+import com.fasoo.cs_doc.category.service.CategoryClosureService;
+import com.fasoo.cs_doc.category.service.CategoryTreeCache;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.core.annotation.Order;
@@ -18,9 +20,13 @@ import java.util.List;
 public class CategoryDataLoader implements ApplicationRunner {
 
     private final CategoryRepository categoryRepository;
+    private final CategoryClosureService closureService;
+    private final CategoryTreeCache treeCache;
 
-    public CategoryDataLoader(CategoryRepository categoryRepository) {
+    public CategoryDataLoader(CategoryRepository categoryRepository, CategoryClosureService closureService, CategoryTreeCache treeCache) {
         this.categoryRepository = categoryRepository;
+        this.closureService = closureService;
+        this.treeCache = treeCache;
     }
 
     @Override
@@ -136,5 +142,9 @@ public class CategoryDataLoader implements ApplicationRunner {
                 }
             }
         }
+
+        // 기본 카테고리 보정 후 closure 테이블 재구성 (기존 DB에 closure가 없던 경우 포함)
+        closureService.rebuild();
+        treeCache.refresh();
     }
 }
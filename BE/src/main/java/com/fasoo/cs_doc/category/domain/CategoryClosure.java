@@ -0,0 +1,50 @@
+package com.fasoo.cs_doc.category.domain;
+
+import jakarta.persistence.*;
+
+/**
+ * 카테고리 계층 구조의 closure 테이블 (ancestor -> descendant, depth)
+ * 자기 자신에 대한 행(depth = 0)을 포함하므로, 하위 카테고리 전체를 인덱스 한 번으로 조회할 수 있음.
+ * CategoryClosureService가 카테고리 생성/이동 시 함께 갱신함.
+ */
+@Entity
+@Table(
+        name = "category_closure",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_category_closure_ancestor_descendant", columnNames = {"ancestor_id", "descendant_id"})
+        },
+        indexes = {
+                @Index(name = "idx_category_closure_descendant", columnList = "descendant_id")
+        }
+)
+public class CategoryClosure {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, name = "ancestor_id")
+    private Long ancestorId;
+
+    @Column(nullable = false, name = "descendant_id")
+    private Long descendantId;
+
+    /**
+     * ancestor에서 descendant까지의 거리 (자기 자신이면 0)
+     */
+    @Column(nullable = false, name = "depth")
+    private int depth;
+
+    protected CategoryClosure() {}
+
+    public CategoryClosure(Long ancestorId, Long descendantId, int depth) {
+        this.ancestorId = ancestorId;
+        this.descendantId = descendantId;
+        this.depth = depth;
+    }
+
+    public Long getId() { return id; }
+    public Long getAncestorId() { return ancestorId; }
+    public Long getDescendantId() { return descendantId; }
+    public int getDepth() { return depth; }
+}
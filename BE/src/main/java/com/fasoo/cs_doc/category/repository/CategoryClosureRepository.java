@@ -0,0 +1,38 @@
+package com.fasoo.cs_doc.category.repository;
+
+import com.fasoo.cs_doc.category.domain.CategoryClosure;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface CategoryClosureRepository extends JpaRepository<CategoryClosure, Long> {
+
+    /**
+     * 자기 자신을 포함한 모든 하위 카테고리 ID (uk_category_closure_ancestor_descendant 인덱스만으로 처리됨)
+     */
+    @Query("SELECT c.descendantId FROM CategoryClosure c WHERE c.ancestorId = :ancestorId")
+    List<Long> findDescendantIds(@Param("ancestorId") Long ancestorId);
+
+    /**
+     * 특정 카테고리의 조상 경로 (자기 자신 포함)
+     */
+    List<CategoryClosure> findByDescendantId(Long descendantId);
+
+    /**
+     * 특정 카테고리를 루트로 하는 서브트리 경로 (자기 자신 포함)
+     */
+    List<CategoryClosure> findByAncestorId(Long ancestorId);
+
+    boolean existsByAncestorIdAndDescendantId(Long ancestorId, Long descendantId);
+
+    /**
+     * 서브트리 이동 시, 서브트리 바깥의 조상과 서브트리 사이의 경로 삭제
+     */
+    @Modifying
+    @Query("DELETE FROM CategoryClosure c WHERE c.descendantId IN :subtreeIds AND c.ancestorId NOT IN :subtreeIds")
+    int deleteExternalPaths(@Param("subtreeIds") Collection<Long> subtreeIds);
+}
@@ -0,0 +1,124 @@
+package com.fasoo.cs_doc.category.service;
+
+import com.fasoo.cs_doc.category.domain.Category;
+import com.fasoo.cs_doc.category.domain.CategoryClosure;
+import com.fasoo.cs_doc.category.repository.CategoryClosureRepository;
+import com.fasoo.cs_doc.category.repository.CategoryRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * category_closure 테이블 유지 관리.
+ * - 생성: 부모의 조상 경로 + 자기 자신 경로 추가
+ * - 이동: 서브트리 바깥 경로 삭제 후 새 부모의 조상 경로와 교차 곱으로 재생성, 하위 카테고리 depth 재계산
+ * - 일괄 변경/기동 시: parentId 기준으로 전체 재구성
+ */
+@Service
+public class CategoryClosureService {
+
+    private final CategoryRepository categoryRepository;
+    private final CategoryClosureRepository closureRepository;
+
+    public CategoryClosureService(CategoryRepository categoryRepository, CategoryClosureRepository closureRepository) {
+        this.categoryRepository = categoryRepository;
+        this.closureRepository = closureRepository;
+    }
+
+    /**
+     * candidateId가 categoryId 자신이거나 그 하위 카테고리인지 여부 (순환 참조 검사용)
+     */
+    @Transactional(readOnly = true)
+    public boolean isSelfOrDescendant(Long categoryId, Long candidateId) {
+        return closureRepository.existsByAncestorIdAndDescendantId(categoryId, candidateId);
+    }
+
+    @Transactional
+    public void onCreated(Category category) {
+        List<CategoryClosure> rows = new ArrayList<>();
+        rows.add(new CategoryClosure(category.getId(), category.getId(), 0));
+        if (category.getParentId() != null) {
+            for (CategoryClosure path : closureRepository.findByDescendantId(category.getParentId())) {
+                rows.add(new CategoryClosure(path.getAncestorId(), category.getId(), path.getDepth() + 1));
+            }
+        }
+        closureRepository.saveAll(rows);
+    }
+
+    /**
+     * 서브트리 이동. category의 parentId/depth는 호출 전에 새 값으로 설정되어 있어야 함.
+     */
+    @Transactional
+    public void onMoved(Category category) {
+        List<CategoryClosure> subtree = closureRepository.findByAncestorId(category.getId());
+        if (subtree.isEmpty()) {
+            rebuild();
+            return;
+        }
+        Set<Long> subtreeIds = subtree.stream()
+                .map(CategoryClosure::getDescendantId)
+                .collect(Collectors.toSet());
+
+        closureRepository.deleteExternalPaths(subtreeIds);
+
+        if (category.getParentId() != null) {
+            List<CategoryClosure> rows = new ArrayList<>();
+            for (CategoryClosure ancestor : closureRepository.findByDescendantId(category.getParentId())) {
+                for (CategoryClosure descendant : subtree) {
+                    rows.add(new CategoryClosure(
+                            ancestor.getAncestorId(),
+                            descendant.getDescendantId(),
+                            ancestor.getDepth() + descendant.getDepth() + 1
+                    ));
+                }
+            }
+            closureRepository.saveAll(rows);
+        }
+
+        // 하위 카테고리 depth 재계산 (이동한 카테고리의 depth + 서브트리 내 거리)
+        Map<Long, Integer> distances = subtree.stream()
+                .collect(Collectors.toMap(CategoryClosure::getDescendantId, CategoryClosure::getDepth));
+        for (Category descendant : categoryRepository.findAllById(subtreeIds)) {
+            int depth = category.getDepth() + distances.get(descendant.getId());
+            if (descendant.getDepth() != depth) {
+                descendant.setDepth(depth);
+            }
+        }
+    }
+
+    /**
+     * parentId 기준으로 closure 전체를 재구성하고 depth도 함께 보정
+     */
+    @Transactional
+    public void rebuild() {
+        List<Category> all = categoryRepository.findAll();
+        Map<Long, Category> byId = all.stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+
+        closureRepository.deleteAllInBatch();
+
+        List<CategoryClosure> rows = new ArrayList<>();
+        for (Category c : all) {
+            Set<Long> visited = new HashSet<>();
+            Category cursor = c;
+            int distance = 0;
+            while (cursor != null && visited.add(cursor.getId())) {
+                rows.add(new CategoryClosure(cursor.getId(), c.getId(), distance));
+                distance++;
+                cursor = cursor.getParentId() == null ? null : byId.get(cursor.getParentId());
+            }
+            int depth = distance - 1;
+            if (c.getDepth() != depth) {
+                c.setDepth(depth);
+            }
+        }
+        closureRepository.saveAll(rows);
+    }
+}
@@ -4,6 +4,7 @@ import com.fasoo.cs_doc.category.domain.Category;
 import com.fasoo.cs_doc.category.dto.*;
 import com.fasoo.cs_doc.category.repository.CategoryRepository;
 import com.fasoo.cs_doc.global.exception.NotFoundException;
+import com.fasoo.cs_doc.global.tx.AfterCommit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,25 +16,21 @@ import java.util.stream.Collectors;
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final CategoryClosureService closureService;
+    private final CategoryTreeCache treeCache;
 
-    public CategoryService(CategoryRepository categoryRepository) {
+    public CategoryService(CategoryRepository categoryRepository, CategoryClosureService closureService, CategoryTreeCache treeCache) {
         this.categoryRepository = categoryRepository;
+        this.closureService = closureService;
+        this.treeCache = treeCache;
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * 메모리 스냅샷에서 반환 (category 테이블 조회 없음)
+     */
     public List<CategoryResponse> list() {
         try {
-            List<Category> all = categoryRepository.findAllByOrderBySortOrderAsc();
-            if (all == null || all.isEmpty()) {
-                return List.of();
-            }
-            Map<Long, String> parentLabels = all.stream()
-                    .filter(c -> c.getId() != null && c.getLabel() != null)
-                    .collect(Collectors.toMap(Category::getId, Category::getLabel));
-            return all.stream()
-                    .filter(c -> c.getId() != null && c.getLabel() != null)
-                    .map(c -> CategoryResponse.from(c, parentLabels))
-                    .toList();
+            return treeCache.snapshot().categories();
         } catch (Exception e) {
             throw new IllegalStateException("Failed to list categories: " + e.getMessage(), e);
         }
@@ -58,9 +55,9 @@ public class CategoryService {
         String code = "CAT_" + System.currentTimeMillis(); // 임시 코드, 내부용
         Category c = new Category(code, req.label().trim(), parentId, depth, maxOrder + 1);
         Category saved = categoryRepository.save(c);
-        Map<Long, String> parentLabels = categoryRepository.findAll().stream()
-                .collect(Collectors.toMap(Category::getId, Category::getLabel));
-        return CategoryResponse.from(saved, parentLabels);
+        closureService.onCreated(saved);
+        AfterCommit.run(treeCache::refresh);
+        return CategoryResponse.from(saved, treeCache.snapshot().labels());
     }
 
     @Transactional
@@ -71,22 +68,32 @@ public class CategoryService {
             c.setLabel(req.label().trim());
         }
         Long newParentId = req.parentId();
+        boolean moved = false;
         if (newParentId != null && !newParentId.equals(c.getParentId())) {
             if (newParentId.equals(c.getId())) {
                 throw new IllegalArgumentException("Category cannot be its own parent");
             }
             Category newParent = categoryRepository.findById(newParentId)
                     .orElseThrow(() -> new NotFoundException("Parent Category", newParentId));
+            if (closureService.isSelfOrDescendant(c.getId(), newParentId)) {
+                throw new IllegalArgumentException("Circular reference detected");
+            }
             c.setParentId(newParentId);
             c.setDepth(newParent.getDepth() + 1);
+            moved = true;
         } else if (newParentId == null && c.getParentId() != null) {
             c.setParentId(null);
             c.setDepth(0);
+            moved = true;
         }
         Category saved = categoryRepository.save(c);
-        Map<Long, String> parentLabels = categoryRepository.findAll().stream()
-                .collect(Collectors.toMap(Category::getId, Category::getLabel));
-        return CategoryResponse.from(saved, parentLabels);
+        if (moved) {
+            // 서브트리 경로 및 하위 카테고리 depth 재계산
+            closureService.onMoved(saved);
+        }
+        AfterCommit.run(treeCache::refresh);
+        // 부모 label은 이번 변경과 무관하므로 현재 스냅샷 값 사용
+        return CategoryResponse.from(saved, treeCache.snapshot().labels());
     }
 
     @Transactional
@@ -144,6 +151,9 @@ public class CategoryService {
             c.setSortOrder(item.sortOrder());
         }
         categoryRepository.saveAll(all);
+        // 여러 카테고리가 한 번에 이동할 수 있으므로 closure/depth는 전체 재구성
+        closureService.rebuild();
+        AfterCommit.run(treeCache::refresh);
     }
 
     @Transactional
@@ -159,5 +169,6 @@ public class CategoryService {
             c.setSortOrder(i);
         }
         categoryRepository.saveAll(all);
+        AfterCommit.run(treeCache::refresh);
     }
 }
@@ -0,0 +1,69 @@
+package com.fasoo.cs_doc.category.service;
+
+import com.fasoo.cs_doc.category.repository.CategoryClosureRepository;
+import com.fasoo.cs_doc.category.repository.CategoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * CategoryTreeSnapshot 보관소.
+ * 읽기는 volatile 참조 하나만 읽으므로 category 테이블을 조회하지 않음.
+ * CategoryService의 쓰기 트랜잭션이 커밋되면 스냅샷을 새로 만들어 원자적으로 교체함.
+ * (AfterCommit.run(categoryTreeCache::refresh) 형태로 프록시를 거쳐 호출할 것)
+ */
+@Component
+public class CategoryTreeCache {
+
+    private static final Logger log = LoggerFactory.getLogger(CategoryTreeCache.class);
+
+    private final CategoryRepository categoryRepository;
+    private final CategoryClosureRepository closureRepository;
+    private final AtomicLong versionSequence = new AtomicLong();
+
+    private volatile CategoryTreeSnapshot snapshot;
+
+    public CategoryTreeCache(CategoryRepository categoryRepository, CategoryClosureRepository closureRepository) {
+        this.categoryRepository = categoryRepository;
+        this.closureRepository = closureRepository;
+    }
+
+    /**
+     * 현재 스냅샷 (최초 호출 시에만 DB에서 구성)
+     */
+    public CategoryTreeSnapshot snapshot() {
+        CategoryTreeSnapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = load();
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 스냅샷 재구성. 커밋된 데이터를 읽도록 별도 읽기 전용 트랜잭션에서 실행.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.REQUIRES_NEW)
+    public synchronized void refresh() {
+        load();
+    }
+
+    private CategoryTreeSnapshot load() {
+        CategoryTreeSnapshot next = CategoryTreeSnapshot.build(
+                versionSequence.incrementAndGet(),
+                categoryRepository.findAllByOrderBySortOrderAsc(),
+                closureRepository.findAll()
+        );
+        snapshot = next;
+        log.debug("Category tree snapshot rebuilt: version={}, size={}", next.version(), next.categories().size());
+        return next;
+    }
+}
@@ -0,0 +1,99 @@
+package com.fasoo.cs_doc.category.service;
+
+import com.fasoo.cs_doc.category.domain.Category;
+import com.fasoo.cs_doc.category.domain.CategoryClosure;
+import com.fasoo.cs_doc.category.dto.CategoryResponse;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 카테고리 트리의 불변 스냅샷.
+ * 목록/사이드바 응답, 하위 카테고리 ID 집합, 부모 label, depth를 DB 조회 없이 제공함.
+ * 쓰기가 커밋될 때마다 CategoryTreeCache가 새 스냅샷으로 통째로 교체함 (부분 수정 없음).
+ */
+public final class CategoryTreeSnapshot {
+
+    private final long version;
+    private final List<CategoryResponse> categories;
+    private final Map<Long, CategoryResponse> byId;
+    private final Map<Long, String> labels;
+    private final Map<Long, List<Long>> selfAndDescendantIds;
+
+    private CategoryTreeSnapshot(long version,
+                                 List<CategoryResponse> categories,
+                                 Map<Long, CategoryResponse> byId,
+                                 Map<Long, String> labels,
+                                 Map<Long, List<Long>> selfAndDescendantIds) {
+        this.version = version;
+        this.categories = categories;
+        this.byId = byId;
+        this.labels = labels;
+        this.selfAndDescendantIds = selfAndDescendantIds;
+    }
+
+    /**
+     * @param sorted   sortOrder 오름차순 카테고리 목록
+     * @param closures category_closure 전체 행
+     */
+    static CategoryTreeSnapshot build(long version, List<Category> sorted, List<CategoryClosure> closures) {
+        List<Category> valid = sorted.stream()
+                .filter(c -> c.getId() != null && c.getLabel() != null)
+                .toList();
+
+        Map<Long, String> labels = new HashMap<>();
+        for (Category c : valid) {
+            labels.put(c.getId(), c.getLabel());
+        }
+
+        List<CategoryResponse> categories = new ArrayList<>(valid.size());
+        Map<Long, CategoryResponse> byId = new LinkedHashMap<>();
+        for (Category c : valid) {
+            CategoryResponse response = CategoryResponse.from(c, labels);
+            categories.add(response);
+            byId.put(c.getId(), response);
+        }
+
+        Map<Long, List<Long>> descendants = new HashMap<>();
+        for (CategoryClosure path : closures) {
+            if (byId.containsKey(path.getAncestorId()) && byId.containsKey(path.getDescendantId())) {
+                descendants.computeIfAbsent(path.getAncestorId(), k -> new ArrayList<>()).add(path.getDescendantId());
+            }
+        }
+        Map<Long, List<Long>> selfAndDescendantIds = new HashMap<>();
+        for (Long id : byId.keySet()) {
+            List<Long> ids = descendants.getOrDefault(id, List.of());
+            // closure가 아직 없는 카테고리도 최소한 자기 자신은 포함
+            selfAndDescendantIds.put(id, ids.isEmpty() ? List.of(id) : List.copyOf(ids));
+        }
+
+        return new CategoryTreeSnapshot(
+                version,
+                List.copyOf(categories),
+                Map.copyOf(byId),
+                Map.copyOf(labels),
+                Map.copyOf(selfAndDescendantIds)
+        );
+    }
+
+    public long version() { return version; }
+
+    /** sortOrder 오름차순 전체 목록 (사이드바/관리 화면용) */
+    public List<CategoryResponse> categories() { return categories; }
+
+    public Optional<CategoryResponse> find(Long id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(byId.get(id));
+    }
+
+    /** id -> label (CategoryResponse.from의 parentLabels 인자로 사용) */
+    public Map<Long, String> labels() { return labels; }
+
+    /** 자기 자신을 포함한 하위 카테고리 ID 목록 (없는 카테고리면 빈 목록) */
+    public List<Long> selfAndDescendantIds(Long id) {
+        return selfAndDescendantIds.getOrDefault(id, List.of());
+    }
+}
@@ -0,0 +1,33 @@
+package com.fasoo.cs_doc.global.config;
+
+import com.fasoo.cs_doc.global.file.ShardedLayout;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.Resource;
+import org.springframework.web.servlet.resource.ResourceResolver;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+import java.util.List;
+
+/**
+ * /uploads/** 예전 URL 호환. 요청 경로에 파일이 없고 예전 평면 경로({파일명}, attachments/{파일명})이면
+ * PostContentLayoutMigration이 옮겨 둔 샤딩 경로(ab/cd/{파일명})에서 다시 찾음.
+ * 본문의 이미지/첨부파일 링크는 고치지 않아도 됨.
+ */
+class LegacyUploadPathResolver implements ResourceResolver {
+
+    @Override
+    public Resource resolveResource(HttpServletRequest request, String requestPath,
+                                    List<? extends Resource> locations, ResourceResolverChain chain) {
+        Resource resource = chain.resolveResource(request, requestPath, locations);
+        if (resource != null) {
+            return resource;
+        }
+        String sharded = ShardedLayout.shardedUploadPath(requestPath);
+        return sharded == null ? null : chain.resolveResource(request, sharded, locations);
+    }
+
+    @Override
+    public String resolveUrlPath(String resourcePath, List<? extends Resource> locations, ResourceResolverChain chain) {
+        return chain.resolveUrlPath(resourcePath, locations);
+    }
+}
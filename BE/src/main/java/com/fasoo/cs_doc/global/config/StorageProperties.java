@@ -2,8 +2,60 @@ package com.fasoo.cs_doc.global.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
 @ConfigurationProperties(prefix = "app.storage")
 public record StorageProperties(
         String mdRoot,
-        String uploadDir
-) {}
+        String uploadDir,
+        Long contentCacheMaxBytes, // 본문 읽기 캐시 상한 (바이트, 미설정 시 64MB, 0이면 캐시 끔)
+        Boolean compressContent, // true면 본문을 posts/{id}.md.gz (gzip)로 저장
+        String contentBackend, // 본문 저장 방식: files(기본, 글마다 파일) | segments(세그먼트 파일에 append)
+        Long segmentMaxBytes, // segments: 세그먼트 파일 하나의 최대 크기 (미설정 시 64MB)
+        Double segmentCompactionRatio, // segments: 닫힌 세그먼트의 죽은 바이트 비율이 이 값 이상이면 컴팩션 (미설정 시 0.5)
+        Boolean contentJournal, // true면 본문 쓰기를 저널에 모아 fsync 한 번으로 확정한 뒤 백그라운드로 반영
+        Long journalCheckpointBytes, // 저널이 이 크기를 넘으면 반영분을 fsync하고 비움 (미설정 시 64MB)
+        Integer versionKeyframeInterval // 버전 본문: 이 수의 버전마다 전체 본문(키프레임), 사이는 이전 버전 delta (미설정 시 20, 1이면 모두 전체)
+) {
+    public static final long DEFAULT_CONTENT_CACHE_MAX_BYTES = 64L * 1024 * 1024;
+    public static final String CONTENT_BACKEND_SEGMENTS = "segments";
+    public static final long DEFAULT_SEGMENT_MAX_BYTES = 64L * 1024 * 1024;
+    public static final double DEFAULT_SEGMENT_COMPACTION_RATIO = 0.5;
+    public static final long DEFAULT_JOURNAL_CHECKPOINT_BYTES = 64L * 1024 * 1024;
+    public static final int DEFAULT_VERSION_KEYFRAME_INTERVAL = 20;
+
+    public boolean useContentSegments() {
+        return CONTENT_BACKEND_SEGMENTS.equalsIgnoreCase(contentBackend);
+    }
+
+    public long segmentMaxBytesOrDefault() {
+        return segmentMaxBytes == null ? DEFAULT_SEGMENT_MAX_BYTES : segmentMaxBytes;
+    }
+
+    public double segmentCompactionRatioOrDefault() {
+        return segmentCompactionRatio == null ? DEFAULT_SEGMENT_COMPACTION_RATIO : segmentCompactionRatio;
+    }
+
+    public long journalCheckpointBytesOrDefault() {
+        return journalCheckpointBytes == null ? DEFAULT_JOURNAL_CHECKPOINT_BYTES : journalCheckpointBytes;
+    }
+
+    public int versionKeyframeIntervalOrDefault() {
+        return versionKeyframeInterval == null || versionKeyframeInterval < 1
+                ? DEFAULT_VERSION_KEYFRAME_INTERVAL
+                : versionKeyframeInterval;
+    }
+
+    public long contentCacheMaxBytesOrDefault() {
+        return contentCacheMaxBytes == null ? DEFAULT_CONTENT_CACHE_MAX_BYTES : contentCacheMaxBytes;
+    }
+
+    /** 업로드 루트 (upload-dir 미설정 시 md-root 옆 uploads) */
+    public Path uploadRoot() {
+        String dir = (uploadDir == null || uploadDir.isBlank())
+                ? Paths.get(mdRoot).getParent().resolve("uploads").toString()
+                : uploadDir;
+        return Paths.get(dir).toAbsolutePath().normalize();
+    }
+}
@@ -1,12 +1,12 @@
 package com.fasoo.cs_doc.global.config;
 
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class WebMvcConfig implements WebMvcConfigurer {
@@ -19,13 +19,18 @@ public class WebMvcConfig implements WebMvcConfigurer {
 
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        String uploadDir = storageProperties.uploadDir();
-        if (uploadDir == null || uploadDir.isBlank()) {
-            uploadDir = Paths.get(storageProperties.mdRoot()).getParent().resolve("uploads").toString();
+        String location = storageProperties.uploadRoot().toUri().toString();
+        if (!location.endsWith("/")) {
+            location = location + "/";
         }
-        Path path = Paths.get(uploadDir).toAbsolutePath().normalize();
-        String location = path.toUri().toString();
+        // 내용 주소(SHA-256) 파일은 URL이 같으면 내용도 같으므로 오래 캐시
+        registry.addResourceHandler("/uploads/blobs/**")
+                .addResourceLocations(location + "blobs/")
+                .setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable());
+        // 예전 평면 경로 URL은 파일이 샤딩 디렉터리로 옮겨졌으면 그쪽에서 찾음
         registry.addResourceHandler("/uploads/**")
-                .addResourceLocations(location.endsWith("/") ? location : location + "/");
+                .addResourceLocations(location)
+                .resourceChain(false)
+                .addResolver(new LegacyUploadPathResolver());
     }
 }
@@ -0,0 +1,15 @@
+package com.fasoo.cs_doc.global.exception;
+
+/**
+ * 다른 요청과 충돌해서 처리하지 못한 요청 (같은 게시글 동시 수정 등, 최신 상태를 다시 읽은 뒤 재시도)
+ */
+public class ConflictException extends RuntimeException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+
+    public ConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
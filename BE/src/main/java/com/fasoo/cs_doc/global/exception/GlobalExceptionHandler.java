@@ -1,6 +1,7 @@
 package com.fasoo.cs_doc.global.exception;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 import lombok.extern.slf4j.Slf4j;
@@ -22,6 +23,18 @@ public class GlobalExceptionHandler {
         return new ErrorResponse("BAD_REQUEST", e.getMessage());
     }
 
+    @ExceptionHandler({ConflictException.class, PessimisticLockingFailureException.class})
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleConflict(RuntimeException e) {
+        return new ErrorResponse("CONFLICT", e.getMessage());
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleServiceUnavailable(ServiceUnavailableException e) {
+        return new ErrorResponse("SERVICE_UNAVAILABLE", e.getMessage());
+    }
+
     @ExceptionHandler(IllegalStateException.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ErrorResponse handleIllegalState(IllegalStateException e) {
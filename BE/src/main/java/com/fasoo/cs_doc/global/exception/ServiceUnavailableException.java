@@ -0,0 +1,11 @@
+package com.fasoo.cs_doc.global.exception;
+
+/**
+ * 일시적으로 처리할 수 없는 요청 (기동 직후 색인 재구성 중 등, 잠시 후 다시 시도)
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
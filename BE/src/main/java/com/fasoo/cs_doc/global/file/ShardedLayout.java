@@ -0,0 +1,60 @@
+package com.fasoo.cs_doc.global.file;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 파일을 2단계 해시 디렉터리(ab/cd/)로 나눠 두기 위한 경로 규칙.
+ * 한 디렉터리에 파일이 수십만 개 쌓이면 목록 조회/백업이 느려지므로 디렉터리당 파일 수를 1/65536로 줄임.
+ *
+ * - 게시글 본문: posts/{sha256(id) 앞 2자리}/{다음 2자리}/{id}.md
+ * - 업로드 blob: blobs/{hash 앞 2자리}/{다음 2자리}/{hash}.{ext} (이미 해시 이름이므로 이름에서 바로 나눔)
+ * - 예전 평면 업로드 파일: {sha256(파일명)으로 나눈 디렉터리}/{파일명}
+ */
+public final class ShardedLayout {
+
+    /** 예전 첨부파일 디렉터리 (uploads/attachments) */
+    public static final String ATTACHMENTS_DIR = "attachments";
+
+    private ShardedLayout() {}
+
+    /** 키의 SHA-256으로 만든 "ab/cd/" 접두 경로 */
+    public static String shardOf(String key) {
+        return prefixOf(sha256Hex(key));
+    }
+
+    /**
+     * 예전 평면 업로드 URL 경로({파일명} 또는 attachments/{파일명})의 샤딩 경로. 해당 형태가 아니면 null.
+     */
+    public static String shardedUploadPath(String legacyPath) {
+        if (legacyPath == null || legacyPath.isBlank() || legacyPath.contains("..")) {
+            return null;
+        }
+        int slash = legacyPath.indexOf('/');
+        if (slash < 0) {
+            return shardOf(legacyPath) + legacyPath;
+        }
+        String dir = legacyPath.substring(0, slash);
+        String name = legacyPath.substring(slash + 1);
+        if (dir.equals(ATTACHMENTS_DIR) && !name.isEmpty() && name.indexOf('/') < 0) {
+            return dir + "/" + shardOf(name) + name;
+        }
+        return null;
+    }
+
+    /** 이미 16진수 해시인 이름의 앞 4자리로 만든 "ab/cd/" 접두 경로 */
+    public static String prefixOf(String hexHash) {
+        return hexHash.substring(0, 2) + "/" + hexHash.substring(2, 4) + "/";
+    }
+
+    private static String sha256Hex(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -6,11 +6,21 @@ public record PageResponse<T>(
         List<T> items,
         int page,          // 0-based
         int size,
-        long totalElements,
-        int totalPages,
+        long totalElements, // totalType이 OMITTED면 -1
+        int totalPages,     // totalType이 OMITTED면 -1
+        TotalType totalType,
         boolean hasNext,
-        boolean hasPrevious
+        boolean hasPrevious,
+        String nextCursor  // 커서 모드에서 다음 페이지 요청용 (offset 모드/마지막 페이지면 null)
 ) {
+    /**
+     * totalElements/totalPages의 정확도
+     * - EXACT: COUNT 쿼리 결과
+     * - APPROXIMATE: 카테고리별 카운터 합계 (실제와 약간 다를 수 있음)
+     * - OMITTED: 세지 않음 (hasNext만 신뢰)
+     */
+    public enum TotalType { EXACT, APPROXIMATE, OMITTED }
+
     public static <T> PageResponse<T> of(
             List<T> items,
             int page,
@@ -20,6 +30,46 @@ public record PageResponse<T>(
             boolean hasNext,
             boolean hasPrevious
     ) {
-        return new PageResponse<>(items, page, size, totalElements, totalPages, hasNext, hasPrevious);
+        return new PageResponse<>(items, page, size, totalElements, totalPages, TotalType.EXACT, hasNext, hasPrevious, null);
+    }
+
+    /**
+     * 근사 개수 응답 (totalElements는 카운터 기반, hasNext는 실제 조회 결과 기준)
+     */
+    public static <T> PageResponse<T> ofApproximate(
+            List<T> items,
+            int page,
+            int size,
+            long approximateTotalElements,
+            int approximateTotalPages,
+            boolean hasNext,
+            boolean hasPrevious
+    ) {
+        return new PageResponse<>(items, page, size, approximateTotalElements, approximateTotalPages, TotalType.APPROXIMATE, hasNext, hasPrevious, null);
+    }
+
+    /**
+     * 개수 생략(Slice) 응답
+     */
+    public static <T> PageResponse<T> ofSlice(
+            List<T> items,
+            int page,
+            int size,
+            boolean hasNext,
+            boolean hasPrevious
+    ) {
+        return new PageResponse<>(items, page, size, -1L, -1, TotalType.OMITTED, hasNext, hasPrevious, null);
+    }
+
+    /**
+     * 커서 모드 응답. 전체 개수는 세지 않으므로 totalElements/totalPages는 -1.
+     */
+    public static <T> PageResponse<T> ofCursor(
+            List<T> items,
+            int size,
+            boolean hasPrevious,
+            String nextCursor
+    ) {
+        return new PageResponse<>(items, 0, size, -1L, -1, TotalType.OMITTED, nextCursor != null, hasPrevious, nextCursor);
     }
 }
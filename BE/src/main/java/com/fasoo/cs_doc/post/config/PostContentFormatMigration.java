@@ -0,0 +1,78 @@
+package com.fasoo.cs_doc.post.config;
+
+import com.fasoo.cs_doc.post.service.PostContentStorage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 기존 본문 파일을 현재 설정된 저장 형식(app.storage.compress-content)으로 일괄 변환.
+ * compress-content=true면 posts/ 아래 .md를 .md.gz로, false면 .md.gz를 .md로 바꿈.
+ *
+ * app.storage.migrate-content-format=true일 때만 실행. 파일 단위로 원자적으로 교체하므로
+ * 중간에 중단되어도 다시 실행하면 남은 파일만 변환됨. 변환 중에도 두 형식 모두 읽을 수 있음.
+ */
+@Component
+@Order(3)
+@ConditionalOnProperty(prefix = "app.storage", name = "migrate-content-format", havingValue = "true")
+public class PostContentFormatMigration implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(PostContentFormatMigration.class);
+
+    private final PostContentStorage storage;
+
+    public PostContentFormatMigration(PostContentStorage storage) {
+        this.storage = storage;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Path postsRoot = storage.postsRoot();
+        if (!Files.isDirectory(postsRoot)) {
+            log.info("Content format migration skipped: {} not found", postsRoot);
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(postsRoot)) {
+            files = walk.filter(Files::isRegularFile)
+                    .filter(p -> {
+                        String name = p.getFileName().toString();
+                        return name.endsWith(".md") || name.endsWith(".md" + PostContentStorage.GZIP_SUFFIX);
+                    })
+                    .toList();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to list md files: " + postsRoot, e);
+        }
+
+        int converted = 0;
+        int failed = 0;
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            Path plainPath = name.endsWith(PostContentStorage.GZIP_SUFFIX)
+                    ? file.resolveSibling(name.substring(0, name.length() - PostContentStorage.GZIP_SUFFIX.length()))
+                    : file;
+            try {
+                if (storage.convertToConfiguredFormat(plainPath)) {
+                    converted++;
+                }
+            } catch (IOException | RuntimeException e) {
+                failed++;
+                log.warn("Content format migration failed for {}: {}", file, e.getMessage());
+            }
+        }
+        log.info("Content format migration done: compressed={}, files={}, converted={}, failed={}, took={}ms",
+                storage.isCompressed(), files.size(), converted, failed, System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,149 @@
+package com.fasoo.cs_doc.post.config;
+
+import com.fasoo.cs_doc.global.config.StorageProperties;
+import com.fasoo.cs_doc.global.file.ShardedLayout;
+import com.fasoo.cs_doc.post.service.PostContentLayoutMigrator;
+import com.fasoo.cs_doc.post.service.PostContentLayoutMigrator.Batch;
+import com.fasoo.cs_doc.post.service.PostContentStorage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 평면 디렉터리에 쌓인 파일을 2단계 해시 디렉터리(ab/cd/)로 옮기는 온라인 마이그레이션.
+ *
+ * - 본문: posts/{id}.md → posts/ab/cd/{id}.md. id 순으로 배치마다 복사 → DB 경로 변경(커밋) → 예전 파일 삭제
+ *   옮기는 중에도 PostContentStorage가 두 경로를 모두 읽고, 쓰기는 항상 샤딩 경로로 감
+ * - 업로드: uploads/{파일명}, uploads/attachments/{파일명} → 같은 디렉터리의 ab/cd/{파일명}
+ *   본문 속 예전 URL은 LegacyUploadPathResolver가 샤딩 경로로 찾아 줌
+ *
+ * app.storage.migrate-layout=true일 때만 실행. 기동을 막지 않도록 별도 스레드에서 배치 사이에 쉬면서 진행.
+ * 중단돼도 다시 실행하면 남은 파일만 옮김.
+ */
+@Component
+@Order(9)
+@ConditionalOnProperty(prefix = "app.storage", name = "migrate-layout", havingValue = "true")
+public class PostContentLayoutMigration implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(PostContentLayoutMigration.class);
+
+    private static final int BATCH_SIZE = 200;
+    private static final long PAUSE_MILLIS = 50;
+
+    private final PostContentLayoutMigrator migrator;
+    private final PostContentStorage storage;
+    private final StorageProperties storageProperties;
+
+    public PostContentLayoutMigration(PostContentLayoutMigrator migrator,
+                                      PostContentStorage storage,
+                                      StorageProperties storageProperties) {
+        this.migrator = migrator;
+        this.storage = storage;
+        this.storageProperties = storageProperties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Thread worker = new Thread(this::migrate, "content-layout-migration");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private void migrate() {
+        try {
+            migratePosts();
+            Path uploadRoot = storageProperties.uploadRoot();
+            migrateUploads(uploadRoot, "");
+            migrateUploads(uploadRoot.resolve(ShardedLayout.ATTACHMENTS_DIR), ShardedLayout.ATTACHMENTS_DIR + "/");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.info("Content layout migration interrupted");
+        } catch (RuntimeException e) {
+            log.warn("Content layout migration stopped: {}", e.getMessage(), e);
+        }
+    }
+
+    private void migratePosts() throws InterruptedException {
+        long start = System.currentTimeMillis();
+        long lastId = 0;
+        int scanned = 0;
+        int moved = 0;
+        int failed = 0;
+        while (true) {
+            Batch batch = migrator.migrateBatch(lastId, BATCH_SIZE);
+            if (batch.scanned() == 0) {
+                break;
+            }
+            // DB 경로 변경이 커밋된 뒤에만 예전 파일 삭제
+            for (String oldPath : batch.movedPaths()) {
+                try {
+                    storage.deleteLegacyFiles(oldPath);
+                } catch (IOException e) {
+                    log.warn("Failed to delete legacy content file {}: {}", oldPath, e.getMessage());
+                }
+            }
+            lastId = batch.lastId();
+            scanned += batch.scanned();
+            moved += batch.movedPaths().size();
+            failed += batch.failed();
+            Thread.sleep(PAUSE_MILLIS);
+        }
+        log.info("Content layout migration done: posts={}, moved={}, failed={}, took={}ms",
+                scanned, moved, failed, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * dir 바로 아래 파일만 dir/ab/cd/{파일명}으로 이동 (하위 디렉터리는 그대로)
+     *
+     * @param urlPrefix /uploads/ 기준 dir의 상대 경로 (로그용)
+     */
+    private void migrateUploads(Path dir, String urlPrefix) throws InterruptedException {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        List<Path> files;
+        try (Stream<Path> list = Files.list(dir)) {
+            files = list.filter(Files::isRegularFile).toList();
+        } catch (IOException e) {
+            log.warn("Upload layout migration skipped: failed to list {}: {}", dir, e.getMessage());
+            return;
+        }
+
+        int moved = 0;
+        int failed = 0;
+        int processed = 0;
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            Path target = dir.resolve(ShardedLayout.shardOf(name) + name);
+            try {
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+                moved++;
+            } catch (IOException e) {
+                failed++;
+                log.warn("Upload layout migration failed for {}{}: {}", urlPrefix, name, e.getMessage());
+            }
+            if (++processed % BATCH_SIZE == 0) {
+                Thread.sleep(PAUSE_MILLIS);
+            }
+        }
+        log.info("Upload layout migration done: dir=/uploads/{}, files={}, moved={}, failed={}",
+                urlPrefix, files.size(), moved, failed);
+    }
+}
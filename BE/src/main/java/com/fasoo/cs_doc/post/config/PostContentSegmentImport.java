@@ -0,0 +1,78 @@
+package com.fasoo.cs_doc.post.config;
+
+import com.fasoo.cs_doc.post.service.PostContentStorage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 파일로 저장된 기존 본문(posts/ 아래 .md, .md.gz)을 세그먼트 저장소로 일괄 가져오기.
+ *
+ * app.storage.content-backend=segments이고 app.storage.import-segments=true일 때만 실행.
+ * 세그먼트에 이미 있는 본문(가져온 뒤 수정된 글 포함)은 건너뛰므로 여러 번 실행해도 됨.
+ * 가져오지 않은 본문도 파일에서 읽히므로 실행 전에도 서비스에는 문제 없음. 원본 파일은 지우지 않음.
+ */
+@Component
+@Order(10)
+@ConditionalOnProperty(prefix = "app.storage", name = "import-segments", havingValue = "true")
+public class PostContentSegmentImport implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(PostContentSegmentImport.class);
+
+    private final PostContentStorage storage;
+
+    public PostContentSegmentImport(PostContentStorage storage) {
+        this.storage = storage;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Path postsRoot = storage.postsRoot();
+        if (!Files.isDirectory(postsRoot)) {
+            log.info("Content segment import skipped: {} not found", postsRoot);
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        List<Path> plainPaths;
+        try (Stream<Path> walk = Files.walk(postsRoot)) {
+            plainPaths = walk.filter(Files::isRegularFile)
+                    .map(p -> {
+                        String name = p.getFileName().toString();
+                        return name.endsWith(".md" + PostContentStorage.GZIP_SUFFIX)
+                                ? p.resolveSibling(name.substring(0, name.length() - PostContentStorage.GZIP_SUFFIX.length()))
+                                : p;
+                    })
+                    .filter(p -> p.getFileName().toString().endsWith(".md"))
+                    .distinct()
+                    .toList();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to list md files: " + postsRoot, e);
+        }
+
+        int imported = 0;
+        int failed = 0;
+        for (Path plainPath : plainPaths) {
+            try {
+                if (storage.importIntoSegments(plainPath)) {
+                    imported++;
+                }
+            } catch (IOException | RuntimeException e) {
+                failed++;
+                log.warn("Content segment import failed for {}: {}", plainPath, e.getMessage());
+            }
+        }
+        log.info("Content segment import done: files={}, imported={}, failed={}, took={}ms",
+                plainPaths.size(), imported, failed, System.currentTimeMillis() - start);
+    }
+}
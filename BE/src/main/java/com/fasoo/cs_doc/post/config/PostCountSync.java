@@ -0,0 +1,35 @@
+package com.fasoo.cs_doc.post.config;
+
+import com.fasoo.cs_doc.post.service.PostCountService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * 애플리케이션 기동 시 카테고리별 글 수 카운터를 실제 개수로 재계산.
+ * 커밋 후 반영 실패나 외부에서 직접 수정된 데이터로 생긴 오차를 정리합니다.
+ */
+@Component
+@Order(5)
+public class PostCountSync implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(PostCountSync.class);
+
+    private final PostCountService postCountService;
+
+    public PostCountSync(PostCountService postCountService) {
+        this.postCountService = postCountService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            postCountService.rebuild();
+        } catch (Exception e) {
+            log.warn("Category post counter rebuild failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.fasoo.cs_doc.post.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * PostRepository 목록 쿼리들이 PostSchemaMigration의 복합 인덱스를 실제로 타는지 EXPLAIN으로 확인.
+ * app.db.verify-indexes=true 일 때만 기동 시 실행되며, 결과는 로그로만 남김 (실패해도 기동은 계속).
+ *
+ * H2는 EXPLAIN 결과(PLAN)에 사용 인덱스명이, MySQL은 key 컬럼에 인덱스명이 나오므로
+ * 결과 행 전체를 문자열로 합쳐 기대 인덱스명이 포함되는지만 봄.
+ * 데이터가 거의 없으면 옵티마이저가 전체 스캔을 고를 수 있으므로 운영 규모 데이터에서 확인할 것.
+ */
+@Component
+@Order(6)
+@ConditionalOnProperty(prefix = "app.db", name = "verify-indexes", havingValue = "true")
+public class PostIndexVerification implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(PostIndexVerification.class);
+
+    /**
+     * 검증 대상 쿼리 형태 (JPQL이 생성하는 SQL과 같은 WHERE/ORDER BY 모양, 파라미터는 리터럴로 대체)
+     */
+    record QueryShape(String name, String sql, List<String> expectedIndexes) {}
+
+    static final List<QueryShape> SHAPES = List.of(
+            new QueryShape("findListingPage (all, createdAt)",
+                    "SELECT id, title FROM post WHERE is_notice = FALSE AND deleted = FALSE ORDER BY created_at DESC, id DESC LIMIT 10",
+                    List.of("idx_post_list_created_at")),
+            new QueryShape("findListingPage count",
+                    "SELECT COUNT(*) FROM post WHERE is_notice = FALSE AND deleted = FALSE",
+                    List.of("idx_post_list_created_at", "idx_post_list_updated_at", "idx_post_list_title",
+                            "idx_post_list_category_created_at", "idx_post_deleted_updated_at")),
+            new QueryShape("findListingPage (all, updatedAt)",
+                    "SELECT id, title FROM post WHERE is_notice = FALSE AND deleted = FALSE ORDER BY updated_at DESC, id DESC LIMIT 10",
+                    List.of("idx_post_list_updated_at")),
+            new QueryShape("findListingPage (all, title)",
+                    "SELECT id, title FROM post WHERE is_notice = FALSE AND deleted = FALSE ORDER BY title ASC, id ASC LIMIT 10",
+                    List.of("idx_post_list_title")),
+            new QueryShape("findListingPage (category)",
+                    "SELECT id, title FROM post WHERE is_notice = FALSE AND deleted = FALSE AND category_id IN (1, 2, 3) ORDER BY created_at DESC, id DESC LIMIT 10",
+                    List.of("idx_post_list_category_created_at")),
+            new QueryShape("findListingAfter (keyset, createdAt)",
+                    "SELECT id, title FROM post WHERE is_notice = FALSE AND deleted = FALSE"
+                            + " AND (created_at < CURRENT_TIMESTAMP OR (created_at = CURRENT_TIMESTAMP AND id < 1000))"
+                            + " ORDER BY created_at DESC, id DESC LIMIT 11",
+                    List.of("idx_post_list_created_at")),
+            new QueryShape("findNoticeItems",
+                    "SELECT id, title FROM post WHERE is_notice = TRUE AND deleted = FALSE ORDER BY created_at DESC",
+                    List.of("idx_post_list_created_at")),
+            new QueryShape("countListableByCategory",
+                    "SELECT category_id, COUNT(*) FROM post WHERE is_notice = FALSE AND deleted = FALSE AND category_id IS NOT NULL GROUP BY category_id",
+                    List.of("idx_post_list_category_created_at")),
+            new QueryShape("findByDeletedTrue (updatedAt)",
+                    "SELECT id, title FROM post WHERE deleted = TRUE ORDER BY updated_at DESC LIMIT 10",
+                    List.of("idx_post_deleted_updated_at")),
+            new QueryShape("findByDeletedTrueOrderByUpdatedAtDesc",
+                    "SELECT id, title FROM post WHERE deleted = TRUE ORDER BY updated_at DESC",
+                    List.of("idx_post_deleted_updated_at"))
+    );
+
+    private final DataSource dataSource;
+
+    public PostIndexVerification(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try (Connection connection = dataSource.getConnection()) {
+            String product = connection.getMetaData().getDatabaseProductName();
+            int mismatches = 0;
+            for (QueryShape shape : SHAPES) {
+                try {
+                    String plan = explain(connection, shape.sql());
+                    String lowerPlan = plan.toLowerCase(Locale.ROOT);
+                    String used = shape.expectedIndexes().stream()
+                            .filter(lowerPlan::contains)
+                            .findFirst()
+                            .orElse(null);
+                    if (used != null) {
+                        log.info("[{}] {} uses {}", product, shape.name(), used);
+                    } else {
+                        mismatches++;
+                        log.warn("[{}] {} does not use expected index {}: {}", product, shape.name(), shape.expectedIndexes(), plan);
+                    }
+                } catch (SQLException e) {
+                    mismatches++;
+                    log.warn("[{}] {} could not be explained: {}", product, shape.name(), e.getMessage());
+                }
+            }
+            log.info("Post index verification finished on {}: {} of {} query shapes use the expected index",
+                    product, SHAPES.size() - mismatches, SHAPES.size());
+        } catch (SQLException e) {
+            log.warn("Post index verification skipped: {}", e.getMessage());
+        }
+    }
+
+    private String explain(Connection connection, String sql) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("EXPLAIN " + sql)) {
+            ResultSetMetaData meta = rs.getMetaData();
+            while (rs.next()) {
+                for (int i = 1; i <= meta.getColumnCount(); i++) {
+                    // MySQL의 possible_keys는 후보일 뿐 실제 사용 인덱스(key)가 아니므로 제외
+                    if ("possible_keys".equalsIgnoreCase(meta.getColumnLabel(i))) continue;
+                    plan.append(meta.getColumnLabel(i)).append('=').append(rs.getString(i)).append(' ');
+                }
+                plan.append('\n');
+            }
+        }
+        return plan.toString().trim();
+    }
+}
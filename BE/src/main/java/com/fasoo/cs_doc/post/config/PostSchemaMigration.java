@@ -10,6 +10,15 @@ import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * 애플리케이션 기동 시 Post 테이블의 스키마 마이그레이션 수행.
  * - category 컬럼을 nullable로 변경
@@ -19,16 +28,65 @@ import org.springframework.transaction.annotation.Transactional;
  * - deleted 컬럼 추가 (soft delete)
  * - current_version_id 컬럼 추가 (버전 관리)
  * - post_version 테이블 생성 (버전 관리)
+ * - 목록 쿼리용 복합 인덱스 생성 (ddl-auto=validate인 MySQL에서도 생성되도록)
+ * - post_version delta 저장/추가·삭제 줄 수 컬럼 추가, content_md를 nullable로 변경 (PostVersionStore)
+ * - post_blame, category_closure, category_post_counter, stored_blob 테이블과 post.content_hash 컬럼 추가
+ *   (ddl-auto=validate인 MySQL에서도 생기도록. upsert(ON DUPLICATE KEY UPDATE)가 쓰는 기본키/유니크 키 포함)
+ *
+ * category_closure를 재구성하는 CategoryDataLoader보다 먼저 실행.
  */
 @Component
-@Order(2)
+@Order(0)
 public class PostSchemaMigration implements ApplicationRunner {
 
     private static final Logger log = LoggerFactory.getLogger(PostSchemaMigration.class);
 
+    /**
+     * 목록 쿼리 형태별 복합 인덱스 (이름 → 컬럼). Post 엔티티의 @Table(indexes)와 동일하게 유지할 것.
+     * 조건 컬럼(deleted, is_notice[, category_id]) 다음에 정렬 컬럼과 id를 두어 정렬까지 인덱스 순서로 처리.
+     */
+    static final Map<String, String> LISTING_INDEXES = new LinkedHashMap<>();
+    static {
+        LISTING_INDEXES.put("idx_post_list_created_at", "deleted, is_notice, created_at, id");
+        LISTING_INDEXES.put("idx_post_list_updated_at", "deleted, is_notice, updated_at, id");
+        LISTING_INDEXES.put("idx_post_list_title", "deleted, is_notice, title, id");
+        LISTING_INDEXES.put("idx_post_list_category_created_at", "deleted, is_notice, category_id, created_at, id");
+        LISTING_INDEXES.put("idx_post_deleted_updated_at", "deleted, updated_at");
+    }
+
+    /**
+     * post_version에 추가되는 컬럼 (이름 → 타입). PostVersion 엔티티와 동일하게 유지할 것.
+     */
+    static final Map<String, String> VERSION_DELTA_COLUMNS = new LinkedHashMap<>();
+    static {
+        VERSION_DELTA_COLUMNS.put("storage_type", "VARCHAR(8) NULL");
+        VERSION_DELTA_COLUMNS.put("delta_md", "CLOB NULL");
+        VERSION_DELTA_COLUMNS.put("keyframe_version", "INT NULL");
+        VERSION_DELTA_COLUMNS.put("content_hash", "VARCHAR(64) NULL");
+        VERSION_DELTA_COLUMNS.put("content_size", "BIGINT NULL");
+        VERSION_DELTA_COLUMNS.put("lines_added", "INT NULL");
+        VERSION_DELTA_COLUMNS.put("lines_removed", "INT NULL");
+    }
+
+    /**
+     * post에 추가되는 버전 카운터 컬럼 (이름 → 타입). Post 엔티티와 동일하게 유지할 것.
+     */
+    static final Map<String, String> VERSION_HEAD_COLUMNS = new LinkedHashMap<>();
+    static {
+        VERSION_HEAD_COLUMNS.put("version_count", "INT DEFAULT 0 NOT NULL");
+        VERSION_HEAD_COLUMNS.put("version_keyframe", "INT NULL");
+        VERSION_HEAD_COLUMNS.put("version_hash", "VARCHAR(64) NULL");
+    }
+
     @PersistenceContext
     private EntityManager entityManager;
 
+    private final DataSource dataSource;
+
+    public PostSchemaMigration(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
     @Override
     @Transactional
     public void run(ApplicationArguments args) {
@@ -156,8 +214,243 @@ public class PostSchemaMigration implements ApplicationRunner {
             } catch (Exception e) {
                 log.debug("Post category column migration skipped (may not be H2 database or already nullable): {}", e.getMessage());
             }
+
+            // 8. 목록 쿼리용 복합 인덱스 생성
+            // JPA 트랜잭션과 분리된 JDBC 연결에서 처리 (존재 확인은 DatabaseMetaData로 H2/MySQL 공통)
+            try (Connection connection = dataSource.getConnection()) {
+                for (Map.Entry<String, String> index : LISTING_INDEXES.entrySet()) {
+                    try {
+                        if (indexExists(connection.getMetaData(), "post", index.getKey())) {
+                            log.debug("Post index {} already exists", index.getKey());
+                            continue;
+                        }
+                        try (Statement statement = connection.createStatement()) {
+                            statement.executeUpdate("CREATE INDEX " + index.getKey() + " ON post(" + index.getValue() + ")");
+                        }
+                        log.info("Post index {} created ({})", index.getKey(), index.getValue());
+                    } catch (SQLException e) {
+                        log.warn("Post index {} migration failed: {}", index.getKey(), e.getMessage());
+                    }
+                }
+            } catch (SQLException e) {
+                log.warn("Post index migration failed: {}", e.getMessage());
+            }
+
+            // 9. post_version delta 저장 컬럼 추가 + delta 행은 content_md가 비므로 nullable로 변경
+            try (Connection connection = dataSource.getConnection()) {
+                for (Map.Entry<String, String> column : VERSION_DELTA_COLUMNS.entrySet()) {
+                    try {
+                        if (columnExists(connection.getMetaData(), "post_version", column.getKey())) {
+                            log.debug("Post version column {} already exists", column.getKey());
+                            continue;
+                        }
+                        try (Statement statement = connection.createStatement()) {
+                            statement.executeUpdate("ALTER TABLE post_version ADD COLUMN " + column.getKey() + " " + column.getValue());
+                        }
+                        log.info("Post version column {} added", column.getKey());
+                    } catch (SQLException e) {
+                        log.warn("Post version column {} migration failed: {}", column.getKey(), e.getMessage());
+                    }
+                }
+                try (Statement statement = connection.createStatement()) {
+                    statement.executeUpdate("ALTER TABLE post_version ALTER COLUMN content_md SET NULL");
+                } catch (SQLException e) {
+                    // MySQL 문법
+                    try (Statement statement = connection.createStatement()) {
+                        statement.executeUpdate("ALTER TABLE post_version MODIFY content_md LONGTEXT NULL");
+                    } catch (SQLException mysqlError) {
+                        log.debug("Post version content_md nullable migration skipped: {}", mysqlError.getMessage());
+                    }
+                }
+            } catch (SQLException e) {
+                log.warn("Post version column migration failed: {}", e.getMessage());
+            }
+
+            // 10. 줄별 blame 테이블 생성 (게시글당 한 행)
+            try (Connection connection = dataSource.getConnection()) {
+                if (tableExists(connection.getMetaData(), "post_blame")) {
+                    log.debug("Post post_blame table already exists");
+                } else {
+                    try (Statement statement = connection.createStatement()) {
+                        statement.executeUpdate(createBlameTableSql("CLOB"));
+                    } catch (SQLException e) {
+                        // MySQL 문법
+                        try (Statement statement = connection.createStatement()) {
+                            statement.executeUpdate(createBlameTableSql("LONGTEXT"));
+                        }
+                    }
+                    log.info("Post post_blame table created");
+                }
+            } catch (SQLException e) {
+                log.warn("Post post_blame table migration failed: {}", e.getMessage());
+            }
+
+            // 11. post 버전 카운터 컬럼 추가 + 기존 게시글은 마지막 버전 번호로 채움, post_version (post_id, version_number) 유니크
+            // version_keyframe/version_hash는 비워 둠: 다음 수정 때 이전 버전을 한 번 조회하거나 migrate-version-deltas 실행 시 채워짐
+            try (Connection connection = dataSource.getConnection()) {
+                for (Map.Entry<String, String> column : VERSION_HEAD_COLUMNS.entrySet()) {
+                    try {
+                        if (columnExists(connection.getMetaData(), "post", column.getKey())) {
+                            log.debug("Post column {} already exists", column.getKey());
+                            continue;
+                        }
+                        try (Statement statement = connection.createStatement()) {
+                            statement.executeUpdate("ALTER TABLE post ADD COLUMN " + column.getKey() + " " + column.getValue());
+                        }
+                        log.info("Post column {} added", column.getKey());
+                    } catch (SQLException e) {
+                        log.warn("Post column {} migration failed: {}", column.getKey(), e.getMessage());
+                    }
+                }
+                try (Statement statement = connection.createStatement()) {
+                    int backfilled = statement.executeUpdate("""
+                            UPDATE post SET version_count =
+                                (SELECT MAX(v.version_number) FROM post_version v WHERE v.post_id = post.id)
+                            WHERE version_count = 0 AND EXISTS (SELECT 1 FROM post_version v WHERE v.post_id = post.id)
+                            """);
+                    if (backfilled > 0) {
+                        log.info("Post version_count backfilled for {} posts", backfilled);
+                    }
+                }
+                if (indexExists(connection.getMetaData(), "post_version", "uk_post_version_post_number")) {
+                    log.debug("Post version unique index already exists");
+                } else {
+                    try (Statement statement = connection.createStatement()) {
+                        statement.executeUpdate(
+                                "CREATE UNIQUE INDEX uk_post_version_post_number ON post_version(post_id, version_number)");
+                    }
+                    log.info("Post version unique index created");
+                }
+            } catch (SQLException e) {
+                // 중복된 버전 번호가 이미 있으면 유니크 인덱스를 만들 수 없음 (정리 후 재기동)
+                log.warn("Post version counter migration failed: {}", e.getMessage());
+            }
+
+            // 12. 카테고리 closure 테이블 생성 (ancestor, descendant) 유니크 + descendant 인덱스
+            createTableIfMissing("category_closure", """
+                    CREATE TABLE category_closure (
+                        id BIGINT PRIMARY KEY AUTO_INCREMENT,
+                        ancestor_id BIGINT NOT NULL,
+                        descendant_id BIGINT NOT NULL,
+                        depth INT NOT NULL,
+                        CONSTRAINT uk_category_closure_ancestor_descendant UNIQUE (ancestor_id, descendant_id)
+                    )
+                    """,
+                    "CREATE INDEX idx_category_closure_descendant ON category_closure(descendant_id)");
+
+            // 13. 카테고리별 글 수 테이블 생성 (category_id 기본키: upsertIncrement의 ON DUPLICATE KEY 대상)
+            createTableIfMissing("category_post_counter", """
+                    CREATE TABLE category_post_counter (
+                        category_id BIGINT PRIMARY KEY,
+                        post_count BIGINT NOT NULL
+                    )
+                    """);
+
+            // 14. 업로드 blob 테이블 생성 (path 기본키: addReference의 ON DUPLICATE KEY 대상)
+            createTableIfMissing("stored_blob", """
+                    CREATE TABLE stored_blob (
+                        path VARCHAR(100) PRIMARY KEY,
+                        sha256 VARCHAR(64) NOT NULL,
+                        size_bytes BIGINT NOT NULL,
+                        ref_count BIGINT NOT NULL,
+                        created_at TIMESTAMP NOT NULL
+                    )
+                    """,
+                    "CREATE INDEX idx_stored_blob_ref_count ON stored_blob(ref_count)");
+
+            // 15. post.content_hash 컬럼 추가 (같은 본문 수정 생략용, 기존 글은 다음 수정 때 채워짐)
+            try (Connection connection = dataSource.getConnection()) {
+                if (columnExists(connection.getMetaData(), "post", "content_hash")) {
+                    log.debug("Post column content_hash already exists");
+                } else {
+                    try (Statement statement = connection.createStatement()) {
+                        statement.executeUpdate("ALTER TABLE post ADD COLUMN content_hash VARCHAR(64) NULL");
+                    }
+                    log.info("Post column content_hash added");
+                }
+            } catch (SQLException e) {
+                log.warn("Post content_hash column migration failed: {}", e.getMessage());
+            }
         } catch (Exception e) {
             log.warn("Post schema migration failed: {}", e.getMessage());
         }
     }
+
+    /**
+     * 테이블이 없으면 생성 (H2/MySQL 공통 문법, 이어지는 문장은 인덱스 생성 등)
+     */
+    private void createTableIfMissing(String table, String createSql, String... followUps) {
+        try (Connection connection = dataSource.getConnection()) {
+            if (tableExists(connection.getMetaData(), table)) {
+                log.debug("Table {} already exists", table);
+                return;
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate(createSql);
+                for (String sql : followUps) {
+                    statement.executeUpdate(sql);
+                }
+            }
+            log.info("Table {} created", table);
+        } catch (SQLException e) {
+            log.warn("Table {} migration failed: {}", table, e.getMessage());
+        }
+    }
+
+    private static String createBlameTableSql(String textType) {
+        return """
+                CREATE TABLE post_blame (
+                    post_id BIGINT PRIMARY KEY,
+                    version_number INT NOT NULL,
+                    line_versions %s NOT NULL,
+                    CONSTRAINT fk_post_blame_post FOREIGN KEY (post_id) REFERENCES post(id) ON DELETE CASCADE
+                )
+                """.formatted(textType);
+    }
+
+    /**
+     * 테이블이 있는지 확인 (H2는 대문자, MySQL은 소문자로 보관)
+     */
+    private boolean tableExists(DatabaseMetaData metaData, String table) throws SQLException {
+        for (String t : new String[] {table.toUpperCase(), table}) {
+            try (ResultSet rs = metaData.getTables(null, null, t, new String[] {"TABLE"})) {
+                if (rs.next()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 테이블에 컬럼이 있는지 확인 (H2는 대문자, MySQL은 소문자로 보관)
+     */
+    private boolean columnExists(DatabaseMetaData metaData, String table, String column) throws SQLException {
+        for (String t : new String[] {table.toUpperCase(), table}) {
+            for (String c : new String[] {column.toUpperCase(), column}) {
+                try (ResultSet rs = metaData.getColumns(null, null, t, c)) {
+                    if (rs.next()) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 테이블에 인덱스가 있는지 확인 (H2는 테이블명을 대문자, MySQL은 소문자로 보관)
+     */
+    private boolean indexExists(DatabaseMetaData metaData, String table, String indexName) throws SQLException {
+        for (String t : new String[] {table.toUpperCase(), table}) {
+            try (ResultSet rs = metaData.getIndexInfo(null, null, t, false, true)) {
+                while (rs.next()) {
+                    if (indexName.equalsIgnoreCase(rs.getString("INDEX_NAME"))) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
 }
@@ -0,0 +1,86 @@
+package com.fasoo.cs_doc.post.config;
+
+import com.fasoo.cs_doc.post.domain.Post;
+import com.fasoo.cs_doc.post.repository.PostRepository;
+import com.fasoo.cs_doc.post.search.PostSearchIndex;
+import com.fasoo.cs_doc.post.search.SearchDocument;
+import com.fasoo.cs_doc.post.search.TitleSuggestIndex;
+import com.fasoo.cs_doc.post.service.PostContentStorage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 애플리케이션 기동 시 삭제되지 않은 게시글의 제목과 .md 파일 본문으로 검색 색인을 재구성.
+ * 파일을 읽지 못한 게시글은 제목만 색인합니다. 제목 자동완성 트라이도 함께 구성합니다.
+ *
+ * 전체를 한 번에 메모리에 올리지 않도록 id 순 BATCH_SIZE건씩 읽어 색인에 추가 (배치마다 별도 조회, 영속성 컨텍스트에 쌓이지 않음).
+ * 재구성 중 커밋된 수정/삭제는 색인이 기록해 두고 배치로 덮어쓰지 않음. 완료 전 본문 검색은 503 (PostService)
+ */
+@Component
+@Order(7)
+public class PostSearchIndexLoader implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(PostSearchIndexLoader.class);
+
+    private static final int BATCH_SIZE = 200;
+
+    private final PostRepository postRepository;
+    private final PostContentStorage storage;
+    private final PostSearchIndex searchIndex;
+    private final TitleSuggestIndex suggestIndex;
+
+    public PostSearchIndexLoader(PostRepository postRepository, PostContentStorage storage, PostSearchIndex searchIndex, TitleSuggestIndex suggestIndex) {
+        this.postRepository = postRepository;
+        this.storage = storage;
+        this.searchIndex = searchIndex;
+        this.suggestIndex = suggestIndex;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.currentTimeMillis();
+        searchIndex.beginRebuild();
+        suggestIndex.beginRebuild();
+        int indexed = 0;
+        int unreadable = 0;
+        long lastId = 0;
+        while (true) {
+            List<Post> posts = postRepository.findByDeletedFalseAndIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, BATCH_SIZE));
+            if (posts.isEmpty()) {
+                break;
+            }
+            List<SearchDocument> documents = new ArrayList<>(posts.size());
+            List<TitleSuggestIndex.Suggestion> titles = new ArrayList<>(posts.size());
+            for (Post post : posts) {
+                String md = null;
+                String mdPath = post.getContentMdPath();
+                if (mdPath != null && !mdPath.isBlank()) {
+                    try {
+                        md = storage.read(mdPath);
+                    } catch (Exception e) {
+                        unreadable++;
+                        log.debug("Search index: failed to read {} for post {}: {}", mdPath, post.getId(), e.getMessage());
+                    }
+                }
+                documents.add(SearchDocument.of(post, md));
+                titles.add(new TitleSuggestIndex.Suggestion(post.getId(), post.getTitle(), post.getViewCount()));
+            }
+            searchIndex.loadBatch(documents);
+            suggestIndex.loadBatch(titles);
+            indexed += posts.size();
+            lastId = posts.get(posts.size() - 1).getId();
+        }
+        searchIndex.finishRebuild();
+        suggestIndex.finishRebuild();
+        log.info("Post search index rebuilt: posts={}, unreadable={}, took={}ms",
+                indexed, unreadable, System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,84 @@
+package com.fasoo.cs_doc.post.config;
+
+import com.fasoo.cs_doc.post.repository.PostVersionRepository;
+import com.fasoo.cs_doc.post.service.PostVersionStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 전체 본문으로 저장된 기존 버전을 키프레임 + delta로 변환하는 온라인 마이그레이션.
+ *
+ * 게시글 하나씩 별도 트랜잭션으로 처리 (PostVersionStore.compactPost). 이미 변환된 게시글은 바뀌는 행이 없으므로
+ * 여러 번 실행해도 되고, 중단돼도 변환된 게시글은 그대로 읽힘. 키프레임 간격을 바꾼 뒤 다시 실행하면 새 간격으로 재배치.
+ *
+ * app.storage.migrate-version-deltas=true일 때만 실행. 기동을 막지 않도록 별도 스레드에서 배치 사이에 쉬면서 진행.
+ */
+@Component
+@Order(11)
+@ConditionalOnProperty(prefix = "app.storage", name = "migrate-version-deltas", havingValue = "true")
+public class PostVersionDeltaMigration implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(PostVersionDeltaMigration.class);
+
+    private static final int BATCH_SIZE = 100;
+    private static final long PAUSE_MILLIS = 50;
+
+    private final PostVersionRepository versionRepository;
+    private final PostVersionStore versionStore;
+
+    public PostVersionDeltaMigration(PostVersionRepository versionRepository, PostVersionStore versionStore) {
+        this.versionRepository = versionRepository;
+        this.versionStore = versionStore;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Thread worker = new Thread(this::migrate, "version-delta-migration");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private void migrate() {
+        long start = System.currentTimeMillis();
+        long lastId = 0;
+        int posts = 0;
+        int changed = 0;
+        int failed = 0;
+        try {
+            while (true) {
+                List<Long> postIds = versionRepository.findPostIdsAfter(lastId, PageRequest.of(0, BATCH_SIZE));
+                if (postIds.isEmpty()) {
+                    break;
+                }
+                for (Long postId : postIds) {
+                    try {
+                        changed += versionStore.compactPost(postId);
+                    } catch (RuntimeException e) {
+                        failed++;
+                        log.warn("Version delta migration failed for post {}: {}", postId, e.getMessage());
+                    }
+                    posts++;
+                }
+                lastId = postIds.get(postIds.size() - 1);
+                Thread.sleep(PAUSE_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.info("Version delta migration interrupted");
+            return;
+        } catch (RuntimeException e) {
+            log.warn("Version delta migration stopped: {}", e.getMessage(), e);
+            return;
+        }
+        log.info("Version delta migration done: posts={}, changedVersions={}, failed={}, took={}ms",
+                posts, changed, failed, System.currentTimeMillis() - start);
+    }
+}
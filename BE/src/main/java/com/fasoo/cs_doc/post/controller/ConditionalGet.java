@@ -0,0 +1,26 @@
+package com.fasoo.cs_doc.post.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * 조건부 GET 처리 (If-None-Match / If-Modified-Since)
+ *
+ * - 리비전이 같으면 304로 응답하고 true. 이때 컨트롤러는 본문 없이 null을 반환
+ * - 200일 때도 ETag / Last-Modified를 붙임 (Spring ServletWebRequest.checkNotModified)
+ * - Cache-Control: no-cache로 클라이언트가 휴리스틱 캐시 대신 매번 재검증하게 함
+ */
+final class ConditionalGet {
+
+    private ConditionalGet() {}
+
+    static boolean notModified(ServletWebRequest request, String etag, long lastModified) {
+        HttpServletResponse response = request.getResponse();
+        if (response != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        }
+        return request.checkNotModified(etag, lastModified);
+    }
+}
@@ -6,16 +6,21 @@ import com.fasoo.cs_doc.post.service.PostService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.List;
 
 @CrossOrigin(origins = "http://localhost:5173")
@@ -41,11 +46,12 @@ public class PostController {
 
     @Operation(
             summary = "Get post detail",
-            description = "Get post detail (currently includes markdown)."
+            description = "Get post detail (currently includes markdown). Sends a strong ETag and Last-Modified; If-None-Match / If-Modified-Since matching the current revision returns 304 without reading the markdown file."
     )
     @GetMapping("/{id}")
-    public PostDetailResponse get(@PathVariable Long id) {
-        return postService.getDetail(id);
+    public PostDetailResponse get(@PathVariable Long id, ServletWebRequest webRequest) {
+        return postService.getDetail(id,
+                revision -> ConditionalGet.notModified(webRequest, revision.detailEtag(), revision.lastModifiedMillis()));
     }
 
     @Operation(
@@ -68,9 +74,42 @@ public class PostController {
         return postService.update(id, req);
     }
 
+    @Operation(
+            summary = "Suggest post titles",
+            description = "Title autocomplete. Returns non-deleted posts whose title has a word starting with q, ordered by view count. Served from memory."
+    )
+    @GetMapping("/suggest")
+    public List<PostSuggestResponse> suggest(
+            @Parameter(description = "Typed prefix", example = "신입")
+            @RequestParam String q,
+
+            @Parameter(description = "Max results (1-20). Default 10.")
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return postService.suggest(q, limit);
+    }
+
+    @Operation(
+            summary = "Content cache stats",
+            description = "Hit/miss/eviction counters and byte usage of the in-memory markdown read cache since startup."
+    )
+    @GetMapping("/content-cache/stats")
+    public ContentCacheStatsResponse contentCacheStats() {
+        return postService.contentCacheStats();
+    }
+
+    @Operation(
+            summary = "Search index stats",
+            description = "Size of the in-memory search index: indexed posts, distinct bigrams and packed posting bytes per field, and bytes of the snippet text spill file."
+    )
+    @GetMapping("/search-index/stats")
+    public SearchIndexStatsResponse searchIndexStats() {
+        return postService.searchIndexStats();
+    }
+
     @Operation(
             summary = "List posts",
-            description = "List posts with optional keyword and category filters. Default sort is createdAt desc."
+            description = "List posts with optional keyword and category filters. Default sort is createdAt desc. Supports offset paging (page/size) and keyset paging (paging=cursor, cursor)."
     )
     @GetMapping
     public PageResponse<PostListItemResponse> list(
@@ -89,11 +128,23 @@ public class PostController {
             @Parameter(description = "Category ID filter. If provided, includes the category and all its children.")
             @RequestParam(required = false) Long categoryId,
 
+            @Parameter(description = "Paging mode: offset (default) or cursor. In cursor mode page is ignored, totals are not counted and nextCursor is returned. Cursor mode rejects searchIn=content/all with a keyword and categories (400).")
+            @RequestParam(required = false) String paging,
+
+            @Parameter(description = "Opaque cursor from the previous response's nextCursor. Implies cursor mode.")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Total count mode for offset paging: exact (default, runs a count query), approximate (per-category counters, no count query) or none (no count, hasNext only). approximate falls back to none when keyword is given.")
+            @RequestParam(required = false) String count,
+
             @ParameterObject
             @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC)
             Pageable pageable
     ) {
-        return postService.list(pageable, keyword, searchIn, categories, categoryId);
+        if ("cursor".equalsIgnoreCase(paging) || cursor != null) {
+            return postService.listByCursor(pageable.getPageSize(), pageable.getSort(), cursor, keyword, searchIn, categories, categoryId);
+        }
+        return postService.list(pageable, keyword, searchIn, categories, categoryId, countMode(count));
     }
 
     @Operation(
@@ -131,11 +182,36 @@ public class PostController {
 
     @Operation(
             summary = "Get post markdown content",
-            description = "Returns markdown content for a post."
+            description = "Returns markdown content for a post. The ETag follows the content version only, so title or view count changes do not invalidate it; a matching If-None-Match returns 304."
     )
     @GetMapping("/{id}/content")
-    public PostContentResponse getContent(@PathVariable Long id) {
-        return postService.getContent(id);
+    public PostContentResponse getContent(@PathVariable Long id, ServletWebRequest webRequest) {
+        return postService.getContent(id,
+                revision -> ConditionalGet.notModified(webRequest, revision.contentEtag(), revision.lastModifiedMillis()));
+    }
+
+    @Operation(
+            summary = "Get raw post markdown",
+            description = "Streams the stored markdown file as text/markdown without JSON wrapping. Sends Content-Length and supports a single byte range (Range: bytes=start-end, If-Range with the ETag). Conditional GETs return 304 like /content."
+    )
+    @GetMapping("/{id}/content/raw")
+    public void getRawContent(@PathVariable Long id, ServletWebRequest webRequest,
+                              HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        PostService.ContentFile content = postService.getContentFile(id,
+                file -> ConditionalGet.notModified(webRequest, rawEtag(file, acceptEncoding), file.revision().lastModifiedMillis()));
+        if (content == null) {
+            return;
+        }
+        RawContentWriter.write(content.stored(), rawEtag(content, acceptEncoding), request, response);
+    }
+
+    /**
+     * gzip 그대로 보내는 응답은 바이트가 다르므로 다른 ETag (저장 설정이 아니라 이 글의 실제 저장 형식 기준)
+     */
+    private static String rawEtag(PostService.ContentFile content, String acceptEncoding) {
+        boolean gzip = content.gzip() && RawContentWriter.acceptsGzip(acceptEncoding);
+        return content.revision().contentEtag(gzip ? "gzip" : null);
     }
 
     @Operation(
@@ -174,25 +250,62 @@ public class PostController {
 
     @Operation(
             summary = "Get post versions",
-            description = "Get all versions of a post (including deleted posts)."
+            description = "List versions of a post (including deleted posts), newest first, without content. Keyset paging by version number: pass the previous response's nextCursor as before. Content is fetched per version from /versions/{versionNumber}."
     )
     @GetMapping("/{id}/versions")
-    public List<com.fasoo.cs_doc.post.dto.PostVersionResponse> getVersions(@PathVariable Long id) {
-        return postService.getVersions(id).stream()
-                .map(com.fasoo.cs_doc.post.dto.PostVersionResponse::from)
-                .toList();
+    public PageResponse<PostVersionSummary> getVersions(
+            @PathVariable Long id,
+
+            @Parameter(description = "Return versions with a smaller version number (previous response's nextCursor)")
+            @RequestParam(required = false) Integer before,
+
+            @Parameter(description = "Page size (max 100)")
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return postService.getVersions(id, before, size);
+    }
+
+    @Operation(
+            summary = "Diff two versions",
+            description = "Line diff from version a to version b (linear-space Myers), with word-level segments for changed line pairs. Only changed lines and 3 lines of context are returned, grouped into hunks. Results are cached per version pair."
+    )
+    @GetMapping("/{id}/versions/{a}/diff/{b}")
+    public VersionDiffResponse getVersionDiff(
+            @PathVariable Long id,
+            @PathVariable Integer a,
+            @PathVariable Integer b
+    ) {
+        return postService.getVersionDiff(id, a, b);
+    }
+
+    @Operation(
+            summary = "Get line blame",
+            description = "For each line of the latest version, the version that last added or changed it, plus metadata (author, time) of the referenced versions. The blame is updated incrementally when a version is saved, so the cost does not grow with the number of versions. Posts whose stored blame predates their latest version are computed from the full history without being saved."
+    )
+    @GetMapping("/{id}/blame")
+    public PostBlameResponse getBlame(@PathVariable Long id) {
+        return postService.getBlame(id);
+    }
+
+    @Operation(
+            summary = "Get version storage report",
+            description = "Stored size of a post's versions (keyframes + line deltas) against full copies, and per-version reconstruction time."
+    )
+    @GetMapping("/{id}/versions/storage")
+    public VersionStorageReport getVersionStorageReport(@PathVariable Long id) {
+        return postService.getVersionStorageReport(id);
     }
 
     @Operation(
             summary = "Get specific version",
-            description = "Get a specific version of a post (including deleted posts)."
+            description = "Get a specific version of a post (including deleted posts). Versions stored as line deltas are reconstructed from the nearest keyframe."
     )
     @GetMapping("/{id}/versions/{versionNumber}")
     public com.fasoo.cs_doc.post.dto.PostVersionResponse getVersion(
             @PathVariable Long id,
             @PathVariable Integer versionNumber
     ) {
-        return com.fasoo.cs_doc.post.dto.PostVersionResponse.from(postService.getVersion(id, versionNumber));
+        return postService.getVersion(id, versionNumber);
     }
 
     @Operation(
@@ -234,4 +347,17 @@ public class PostController {
     ) {
         return postService.getAllChangeHistory(changeType);
     }
+
+    private static PageResponse.TotalType countMode(String count) {
+        if (count == null || count.isBlank() || "exact".equalsIgnoreCase(count)) {
+            return PageResponse.TotalType.EXACT;
+        }
+        if ("approximate".equalsIgnoreCase(count)) {
+            return PageResponse.TotalType.APPROXIMATE;
+        }
+        if ("none".equalsIgnoreCase(count)) {
+            return PageResponse.TotalType.OMITTED;
+        }
+        throw new IllegalArgumentException("Unsupported count mode: " + count);
+    }
 }
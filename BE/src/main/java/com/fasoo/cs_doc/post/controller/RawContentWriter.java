@@ -0,0 +1,256 @@
+package com.fasoo.cs_doc.post.controller;
+
+import com.fasoo.cs_doc.post.service.PostContentStorage.StoredFile;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * .md 파일을 문자열로 읽지 않고 그대로 응답 본문으로 보냄 (text/markdown)
+ *
+ * - Content-Length 설정, Range 요청(단일 구간)은 206 + Content-Range, 시작 위치가 본문 길이 이상이면 416
+ *   해석할 수 없는 Range와 여러 구간 Range는 무시하고 전체(200)로 응답 (RFC 9110상 Range 무시 허용, multipart/byteranges 미생성)
+ * - Tomcat이 sendfile을 지원하면 파일 경로/구간만 요청 속성으로 넘겨 커넥터가 직접 전송 (애플리케이션 힙 복사 없음)
+ * - 그 외에는 FileChannel.transferTo로 응답 스트림에 전송 (파일 내용을 힙 배열로 읽지 않음)
+ * - If-Range가 현재 ETag와 다르면(날짜 형식 포함) Range를 무시하고 전체 전송
+ * - 세그먼트 방식으로 저장된 본문은 세그먼트 파일의 해당 구간만 같은 방식으로 전송
+ * - 저널에만 있고 아직 반영되지 않은 본문(StoredFile.pending)은 메모리의 바이트를 그대로 전송 (반영을 기다리지 않음)
+ * - gzip으로 저장된 본문은 클라이언트가 Accept-Encoding: gzip이면 저장된 바이트를 그대로 Content-Encoding: gzip으로 보내고
+ *   (Range도 압축된 바이트 기준), 아니면 스트림으로 풀면서 전송 (길이는 gzip 트레일러의 원본 크기)
+ */
+final class RawContentWriter {
+
+    static final String MEDIA_TYPE = "text/markdown;charset=UTF-8";
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private RawContentWriter() {}
+
+    /**
+     * @param stored 본문 파일 (null이면 빈 본문)
+     * @param etag   이 응답의 ETag (If-Range 비교용)
+     */
+    static void write(StoredFile stored, String etag, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MEDIA_TYPE);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (stored == null) {
+            response.setContentLengthLong(0);
+            return;
+        }
+        if (stored.isPending()) {
+            byte[] bytes = stored.pending();
+            long[] span = beginBody(bytes.length, etag, request, response);
+            if (span != null) {
+                response.getOutputStream().write(bytes, (int) span[0], (int) span[1]);
+            }
+            return;
+        }
+
+        Path file = stored.path();
+        long base = stored.offset();
+        boolean decode = stored.gzip() && !acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        if (stored.gzip() && !decode) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // 열어 둔 채널 기준 길이 (원자적 교체로 덮어써도 이 요청은 열린 파일을 끝까지 보냄)
+            long storedLength = stored.isWholeFile() ? channel.size() : stored.length();
+            long length = decode ? gzipDecodedLength(channel, base, storedLength) : storedLength;
+            long[] span = beginBody(length, etag, request, response);
+            if (span == null) {
+                return;
+            }
+            long start = span[0];
+            long count = span[1];
+
+            if (decode) {
+                copyDecoded(regionStream(channel, base, storedLength), start, count, response.getOutputStream());
+                return;
+            }
+
+            // sendfile은 응답 시점에 경로로 다시 열므로 그 사이 본문이 교체되면 연결이 끊길 수 있음 (Tomcat DefaultServlet과 동일)
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+                request.setAttribute(SENDFILE_START, base + start);
+                request.setAttribute(SENDFILE_END, base + start + count);
+                return;
+            }
+
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = base + start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break; // 파일이 줄어든 경우
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    /**
+     * Range/If-Range를 해석해 상태, Content-Range, Content-Length를 설정하고 보낼 {시작, 바이트 수} 반환
+     * 보낼 본문이 없으면(416, 길이 0, HEAD) null
+     */
+    private static long[] beginBody(long length, String etag, HttpServletRequest request, HttpServletResponse response) {
+        long start = 0;
+        long end = length - 1;
+
+        HttpRange range;
+        try {
+            String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+            boolean rangeApplies = ifRange == null || ifRange.equals(etag);
+            range = rangeApplies ? singleRange(request.getHeader(HttpHeaders.RANGE), length) : null;
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+            response.setContentLengthLong(0);
+            return null;
+        }
+        if (range != null) {
+            start = range.getRangeStart(length);
+            end = range.getRangeEnd(length);
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if (count == 0 || "HEAD".equals(request.getMethod())) {
+            return null;
+        }
+        return new long[] {start, count};
+    }
+
+    /**
+     * Accept-Encoding에 gzip(또는 *)이 q=0이 아닌 값으로 있는지
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String coding = tokens[0].trim().toLowerCase(Locale.ROOT);
+            if (!coding.equals("gzip") && !coding.equals("*")) {
+                continue;
+            }
+            boolean rejected = false;
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim().toLowerCase(Locale.ROOT);
+                if (param.startsWith("q=")) {
+                    try {
+                        rejected = Double.parseDouble(param.substring(2)) == 0.0;
+                    } catch (NumberFormatException e) {
+                        rejected = true;
+                    }
+                }
+            }
+            if (!rejected) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * gzip 트레일러(마지막 4바이트, ISIZE)의 원본 크기. PostContentStorage는 단일 멤버로만 쓰고 본문은 4GB 미만.
+     */
+    private static long gzipDecodedLength(FileChannel channel, long base, long size) throws IOException {
+        if (size < 18) {
+            throw new IOException("Invalid gzip content: too short");
+        }
+        ByteBuffer trailer = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+        channel.read(trailer, base + size - 4);
+        return Integer.toUnsignedLong(trailer.getInt(0));
+    }
+
+    private static void copyDecoded(InputStream stored, long start, long count, OutputStream out) throws IOException {
+        try (InputStream in = new GZIPInputStream(stored, 8192)) {
+            in.skipNBytes(start);
+            byte[] buffer = new byte[8192];
+            long remaining = count;
+            while (remaining > 0) {
+                int n = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (n < 0) {
+                    break;
+                }
+                out.write(buffer, 0, n);
+                remaining -= n;
+            }
+        }
+    }
+
+    /**
+     * 채널의 [base, base + length) 구간만 읽는 스트림 (세그먼트 안의 gzip 레코드 뒤를 읽지 않도록)
+     */
+    private static InputStream regionStream(FileChannel channel, long base, long length) {
+        return new InputStream() {
+            private long position = base;
+            private final long limit = base + length;
+
+            @Override
+            public int read() throws IOException {
+                byte[] one = new byte[1];
+                return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                if (position >= limit) {
+                    return -1;
+                }
+                int n = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, limit - position)), position);
+                if (n > 0) {
+                    position += n;
+                }
+                return n;
+            }
+        };
+    }
+
+    /**
+     * 단일 byte 구간이면 해당 구간, Range가 없거나 해석할 수 없거나 여러 구간이면 null(전체)
+     *
+     * @throws IllegalArgumentException 해석은 되지만 파일 범위를 벗어난 단일 구간 (416)
+     */
+    private static HttpRange singleRange(String header, long length) {
+        if (header == null || header.isBlank()) {
+            return null;
+        }
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(header);
+        } catch (IllegalArgumentException e) {
+            return null; // 잘못된 형식, bytes 외 단위, 끝이 시작보다 앞선 구간 등
+        }
+        if (ranges.size() != 1) {
+            return null;
+        }
+        HttpRange range = ranges.get(0);
+        range.getRangeStart(length); // 범위 밖이면 IllegalArgumentException
+        return range;
+    }
+}
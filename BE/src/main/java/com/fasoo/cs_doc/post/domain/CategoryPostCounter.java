@@ -0,0 +1,31 @@
+package com.fasoo.cs_doc.post.domain;
+
+import jakarta.persistence.*;
+
+/**
+ * 카테고리별 목록 노출 대상 글 수 (삭제되지 않은 일반 글, 공지사항 제외)
+ * 목록의 근사 전체 개수(count=approximate)용. 글 생성/삭제/카테고리 이동/공지 전환 시 커밋 후 갱신되며,
+ * 기동 시 PostCountSync가 실제 개수로 다시 맞춤.
+ * category_id가 null인 기존 게시글은 집계하지 않음.
+ */
+@Entity
+@Table(name = "category_post_counter")
+public class CategoryPostCounter {
+
+    @Id
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    @Column(name = "post_count", nullable = false)
+    private long postCount;
+
+    protected CategoryPostCounter() {}
+
+    public CategoryPostCounter(Long categoryId, long postCount) {
+        this.categoryId = categoryId;
+        this.postCount = postCount;
+    }
+
+    public Long getCategoryId() { return categoryId; }
+    public long getPostCount() { return postCount; }
+}
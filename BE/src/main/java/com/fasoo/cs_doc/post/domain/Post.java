@@ -1,15 +1,25 @@
 package com.fasoo.cs_doc.post.domain;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(
         name = "post",
         indexes = {
-                @Index(name = "idx_posts_created_at", columnList = "createdAt")
+                @Index(name = "idx_posts_created_at", columnList = "createdAt"),
+                // 키셋 페이지네이션: WHERE deleted/is_notice + (정렬 키, id) seek 순서와 동일
+                @Index(name = "idx_post_list_created_at", columnList = "deleted, is_notice, created_at, id"),
+                @Index(name = "idx_post_list_updated_at", columnList = "deleted, is_notice, updated_at, id"),
+                @Index(name = "idx_post_list_title", columnList = "deleted, is_notice, title, id"),
+                // 카테고리별 목록: category_id IN (...) 후 created_at 정렬
+                @Index(name = "idx_post_list_category_created_at", columnList = "deleted, is_notice, category_id, created_at, id"),
+                // 삭제된 게시글 목록/삭제 이력 (updated_at = 삭제 시각)
+                @Index(name = "idx_post_deleted_updated_at", columnList = "deleted, updated_at")
         }
 )
+@DynamicUpdate // 바뀐 컬럼만 UPDATE (잠그지 않는 조회수/삭제 flush가 수정 트랜잭션의 버전 컬럼을 예전 값으로 덮지 않도록)
 public class Post {
 
     private static final int TITLE_MAX_LENGTH = 200;
@@ -51,10 +61,36 @@ public class Post {
     /**
      * 현재 버전 ID (PostVersion 테이블 참조)
      * 게시글 내용이 변경될 때마다 새로운 버전이 생성되고 이 필드가 업데이트됩니다.
+     * 버전 관련 컬럼(current_version_id, version_*)은 행을 잠근 수정 요청에서만 바뀌고, 제목/content_hash/updated_at과 같은 UPDATE로 저장
      */
     @Column(name = "current_version_id", nullable = true)
     private Long currentVersionId;
 
+    /**
+     * 마지막 버전 번호 (버전이 없으면 0). 다음 버전 번호 = versionCount + 1
+     */
+    @Column(name = "version_count", nullable = false)
+    private Integer versionCount = 0;
+
+    /**
+     * 마지막 버전이 기대는 키프레임 버전 번호 (다음 버전을 delta로 저장할지 판단, 모르면 null)
+     */
+    @Column(name = "version_keyframe", nullable = true)
+    private Integer versionKeyframe;
+
+    /**
+     * 마지막 버전 본문의 SHA-256 (이전 본문이 마지막 버전과 같은지 확인, 모르면 null)
+     */
+    @Column(name = "version_hash", nullable = true, length = 64)
+    private String versionHash;
+
+    /**
+     * 현재 본문의 SHA-256 (PostContentStorage.contentHash, 정규화 후 UTF-8 기준)
+     * 같은 본문으로 수정하면 파일 쓰기와 버전 생성을 생략하는 데 사용. 기존 글은 null (다음 수정 시 채워짐)
+     */
+    @Column(name = "content_hash", nullable = true, length = 64)
+    private String contentHash;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -90,6 +126,10 @@ public class Post {
     public String getAttachments() { return attachments; }
     public Boolean getDeleted() { return deleted != null ? deleted : false; }
     public Long getCurrentVersionId() { return currentVersionId; }
+    public int getVersionCount() { return versionCount != null ? versionCount : 0; }
+    public Integer getVersionKeyframe() { return versionKeyframe; }
+    public String getVersionHash() { return versionHash; }
+    public String getContentHash() { return contentHash; }
     public LocalDateTime getCreatedAt() { return createdAt; }
     public LocalDateTime getUpdatedAt() { return updatedAt; }
 
@@ -162,7 +202,17 @@ public class Post {
         this.deleted = false;
     }
 
-    public void changeCurrentVersionId(Long currentVersionId) {
+    /**
+     * 새 버전을 현재 버전으로 (PostVersionStore.append, 트랜잭션 끝 flush에서 다른 변경과 함께 UPDATE 한 번)
+     */
+    public void recordVersion(Long currentVersionId, int versionCount, Integer versionKeyframe, String versionHash) {
         this.currentVersionId = currentVersionId;
+        this.versionCount = versionCount;
+        this.versionKeyframe = versionKeyframe;
+        this.versionHash = versionHash;
+    }
+
+    public void changeContentHash(String contentHash) {
+        this.contentHash = contentHash;
     }
 }
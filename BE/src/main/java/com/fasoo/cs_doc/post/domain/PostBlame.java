@@ -0,0 +1,41 @@
+package com.fasoo.cs_doc.post.domain;
+
+import jakarta.persistence.*;
+
+/**
+ * 게시글 최신 버전의 줄별 blame (각 줄을 마지막으로 바꾼 버전 번호)
+ * 새 버전을 저장할 때 그 버전의 줄 diff로 갱신되며(PostBlameService), 전체 버전 수와 무관한 비용.
+ * versionNumber가 최신 버전이 아니면 조회 시 버전 이력 전체로 계산하고, 버전 재배치 때 다시 만들어 저장.
+ */
+@Entity
+@Table(name = "post_blame")
+public class PostBlame {
+
+    @Id
+    @Column(name = "post_id")
+    private Long postId;
+
+    /**
+     * 이 blame이 가리키는 버전 번호
+     */
+    @Column(name = "version_number", nullable = false)
+    private Integer versionNumber;
+
+    /**
+     * 줄 순서대로 버전 번호를 run-length로 저장 ("버전*줄수,버전*줄수,...", 빈 본문이면 빈 문자열)
+     */
+    @Column(name = "line_versions", nullable = false, columnDefinition = "CLOB")
+    private String lineVersions;
+
+    protected PostBlame() {}
+
+    public PostBlame(Long postId, Integer versionNumber, String lineVersions) {
+        this.postId = postId;
+        this.versionNumber = versionNumber;
+        this.lineVersions = lineVersions;
+    }
+
+    public Long getPostId() { return postId; }
+    public Integer getVersionNumber() { return versionNumber; }
+    public String getLineVersions() { return lineVersions; }
+}
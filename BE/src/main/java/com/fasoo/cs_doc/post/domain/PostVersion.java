@@ -11,6 +11,10 @@ import java.time.LocalDateTime;
 @Entity
 @Table(
         name = "post_version",
+        uniqueConstraints = {
+                // 같은 게시글에 같은 버전 번호가 두 번 저장되지 않도록 (동시 수정)
+                @UniqueConstraint(name = "uk_post_version_post_number", columnNames = {"post_id", "version_number"})
+        },
         indexes = {
                 @Index(name = "idx_post_version_post_id", columnList = "postId"),
                 @Index(name = "idx_post_version_created_at", columnList = "createdAt")
@@ -32,11 +36,52 @@ public class PostVersion {
     private Integer versionNumber;
 
     /**
-     * 해당 버전의 마크다운 내용
+     * 해당 버전의 마크다운 내용 (키프레임만, delta로 저장된 버전은 null)
+     * 엔티티를 읽으면 함께 읽히므로 목록/이력 조회는 PostVersionSummary 프로젝션을 쓸 것.
      */
-    @Column(name = "content_md", nullable = false, columnDefinition = "CLOB")
+    @Column(name = "content_md", nullable = true, columnDefinition = "CLOB")
     private String contentMd;
 
+    /**
+     * 저장 방식. null은 이 컬럼이 생기기 전 행으로 FULL과 같음
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "storage_type", nullable = true, length = 8)
+    private Storage storageType;
+
+    /**
+     * 바로 이전 버전 본문 → 이 버전 본문의 줄 단위 delta (DELTA일 때만)
+     */
+    @Column(name = "delta_md", nullable = true, columnDefinition = "CLOB")
+    private String deltaMd;
+
+    /**
+     * 복원할 때 시작하는 키프레임의 버전 번호 (FULL이면 자기 자신)
+     */
+    @Column(name = "keyframe_version", nullable = true)
+    private Integer keyframeVersion;
+
+    /**
+     * 복원된 본문의 SHA-256 (hex). delta를 이어 붙일 수 있는지, 복원 결과가 맞는지 확인용
+     */
+    @Column(name = "content_hash", nullable = true, length = 64)
+    private String contentHash;
+
+    /**
+     * 복원된 본문의 UTF-8 바이트 수 (저장 용량 보고용)
+     */
+    @Column(name = "content_size", nullable = true)
+    private Long contentSize;
+
+    /**
+     * 이전 버전 대비 추가/삭제된 줄 수 (첫 버전은 전체 줄 수/0, 이전 버전을 복원할 수 없으면 null)
+     */
+    @Column(name = "lines_added", nullable = true)
+    private Integer linesAdded;
+
+    @Column(name = "lines_removed", nullable = true)
+    private Integer linesRemoved;
+
     /**
      * 변경을 일으킨 사용자 정보 (추후 확장)
      * 현재는 null이지만, 사용자 인증 시스템이 추가되면 사용자 ID를 저장할 수 있습니다.
@@ -47,6 +92,8 @@ public class PostVersion {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    public enum Storage { FULL, DELTA }
+
     protected PostVersion() {}
 
     public PostVersion(Long postId, Integer versionNumber, String contentMd) {
@@ -55,6 +102,55 @@ public class PostVersion {
         this.contentMd = contentMd;
     }
 
+    /** 본문 전체를 저장하는 버전 (키프레임) */
+    public static PostVersion full(Long postId, Integer versionNumber, String contentMd, String contentHash, long contentSize) {
+        PostVersion version = new PostVersion(postId, versionNumber, contentMd);
+        version.storeFull(contentMd, contentHash, contentSize);
+        return version;
+    }
+
+    /** 이전 버전에 대한 delta만 저장하는 버전 */
+    public static PostVersion delta(Long postId, Integer versionNumber, String deltaMd, Integer keyframeVersion,
+                                    String contentHash, long contentSize) {
+        PostVersion version = new PostVersion(postId, versionNumber, null);
+        version.storeDelta(deltaMd, keyframeVersion, contentHash, contentSize);
+        return version;
+    }
+
+    public void storeFull(String contentMd, String contentHash, long contentSize) {
+        this.storageType = Storage.FULL;
+        this.contentMd = contentMd;
+        this.deltaMd = null;
+        this.keyframeVersion = versionNumber;
+        this.contentHash = contentHash;
+        this.contentSize = contentSize;
+    }
+
+    public void storeDelta(String deltaMd, Integer keyframeVersion, String contentHash, long contentSize) {
+        this.storageType = Storage.DELTA;
+        this.contentMd = null;
+        this.deltaMd = deltaMd;
+        this.keyframeVersion = keyframeVersion;
+        this.contentHash = contentHash;
+        this.contentSize = contentSize;
+    }
+
+    /**
+     * @return 값이 바뀌었으면 true
+     */
+    public boolean recordLineChanges(int added, int removed) {
+        if (linesAdded != null && linesAdded == added && linesRemoved != null && linesRemoved == removed) {
+            return false;
+        }
+        this.linesAdded = added;
+        this.linesRemoved = removed;
+        return true;
+    }
+
+    public boolean isDelta() {
+        return storageType == Storage.DELTA;
+    }
+
     @PrePersist
     void onCreate() {
         this.createdAt = LocalDateTime.now();
@@ -63,7 +159,15 @@ public class PostVersion {
     public Long getId() { return id; }
     public Long getPostId() { return postId; }
     public Integer getVersionNumber() { return versionNumber; }
+    /** 저장된 본문 (delta로 저장된 버전은 null, 복원은 PostVersionStore) */
     public String getContentMd() { return contentMd; }
+    public Storage getStorageType() { return storageType; }
+    public String getDeltaMd() { return deltaMd; }
+    public Integer getKeyframeVersion() { return isDelta() ? keyframeVersion : versionNumber; }
+    public String getContentHash() { return contentHash; }
+    public Long getContentSize() { return contentSize; }
+    public Integer getLinesAdded() { return linesAdded; }
+    public Integer getLinesRemoved() { return linesRemoved; }
     public String getCreatedBy() { return createdBy; }
     public LocalDateTime getCreatedAt() { return createdAt; }
 
@@ -0,0 +1,22 @@
+package com.fasoo.cs_doc.post.dto;
+
+/**
+ * 본문 캐시 통계 (기동 이후 누적)
+ */
+public record ContentCacheStatsResponse(
+        long hits,
+        long misses,
+        double hitRate,
+        long evictions,
+        long invalidations,
+        int entries,
+        long weightedBytes,
+        long maxBytes
+) {
+    public static ContentCacheStatsResponse of(long hits, long misses, long evictions, long invalidations,
+                                               int entries, long weightedBytes, long maxBytes) {
+        long total = hits + misses;
+        double hitRate = total == 0 ? 0.0 : (double) hits / total;
+        return new ContentCacheStatsResponse(hits, misses, hitRate, evictions, invalidations, entries, weightedBytes, maxBytes);
+    }
+}
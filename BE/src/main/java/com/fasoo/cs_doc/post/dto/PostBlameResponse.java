@@ -0,0 +1,23 @@
+package com.fasoo.cs_doc.post.dto;
+
+import java.util.List;
+
+/**
+ * 최신 버전 본문의 줄별 blame (각 줄을 마지막으로 추가/수정한 버전)
+ *
+ * @param versionNumber blame 기준 버전 (최신 버전)
+ * @param versions      lines에 나오는 버전들의 메타데이터 (작성자, 시각), 버전 번호 내림차순
+ */
+public record PostBlameResponse(
+        Long postId,
+        int versionNumber,
+        List<Line> lines,
+        List<PostVersionSummary> versions
+) {
+    /**
+     * @param lineNumber    줄 번호 (1부터)
+     * @param versionNumber 이 줄을 마지막으로 바꾼 버전
+     * @param text          줄 내용 (줄바꿈 제외)
+     */
+    public record Line(int lineNumber, int versionNumber, String text) {}
+}
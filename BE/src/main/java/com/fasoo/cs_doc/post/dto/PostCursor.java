@@ -0,0 +1,58 @@
+package com.fasoo.cs_doc.post.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 키셋(커서) 페이지네이션 위치.
+ * 마지막으로 내려준 글의 (정렬 키 값, id)를 담으며, 클라이언트에는 base64url 문자열로만 노출됨.
+ * 정렬 키/방향도 함께 담아 다음 페이지가 항상 같은 순서로 이어지도록 함.
+ */
+public record PostCursor(
+        PostListQuery.SortKey sortKey,
+        PostListQuery.SortDir dir,
+        Object value,   // LocalDateTime(CREATED_AT/UPDATED_AT), String(TITLE), null(ID)
+        Long id
+) {
+    private static final String SEPARATOR = "|";
+
+    public static PostCursor after(PostListQuery.SortKey sortKey, PostListQuery.SortDir dir, PostListItemResponse last) {
+        Object value = switch (sortKey) {
+            case CREATED_AT -> last.createdAt();
+            case UPDATED_AT -> last.updatedAt();
+            case TITLE -> last.title();
+            case ID -> null;
+        };
+        return new PostCursor(sortKey, dir, value, last.id());
+    }
+
+    /** 형식: SORT_KEY|DIR|id|value (title에 구분자가 들어갈 수 있으므로 value를 마지막에 둠) */
+    public String encode() {
+        String raw = sortKey.name() + SEPARATOR + dir.name() + SEPARATOR + id + SEPARATOR + (value == null ? "" : value.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PostCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 4);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            PostListQuery.SortKey sortKey = PostListQuery.SortKey.valueOf(parts[0]);
+            PostListQuery.SortDir dir = PostListQuery.SortDir.valueOf(parts[1]);
+            Long id = Long.valueOf(parts[2]);
+            Object value = switch (sortKey) {
+                case CREATED_AT, UPDATED_AT -> LocalDateTime.parse(parts[3]);
+                case TITLE -> parts[3];
+                case ID -> null;
+            };
+            return new PostCursor(sortKey, dir, value, id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // Base64/enum/숫자 파싱 실패 포함
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
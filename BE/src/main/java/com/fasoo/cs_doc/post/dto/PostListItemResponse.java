@@ -13,5 +13,32 @@ public record PostListItemResponse(
         Long viewCount,
         String attachments, // JSON array of attachment URLs
         LocalDateTime createdAt,
-        LocalDateTime updatedAt
-) {}
+        LocalDateTime updatedAt,
+        PostSnippet snippet // 검색어가 있을 때만 본문 발췌, 없으면 null
+) {
+    /**
+     * 발췌 없는 목록 항목 (JPQL 생성자 표현식에서 사용)
+     */
+    public PostListItemResponse(Long id, String title, PostCategory category, Long categoryId, Boolean isNotice,
+                                Long viewCount, String attachments, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, title, category, categoryId, isNotice, viewCount, attachments, createdAt, updatedAt, null);
+    }
+
+    public PostListItemResponse withSnippet(PostSnippet snippet) {
+        return new PostListItemResponse(id, title, category, categoryId, isNotice, viewCount, attachments, createdAt, updatedAt, snippet);
+    }
+
+    public static PostListItemResponse from(com.fasoo.cs_doc.post.domain.Post p) {
+        return new PostListItemResponse(
+                p.getId(),
+                p.getTitle(),
+                p.getCategory(), // nullable
+                p.getCategoryId(),
+                p.getIsNotice(),
+                p.getViewCount(),
+                p.getAttachments(),
+                p.getCreatedAt(),
+                p.getUpdatedAt()
+        );
+    }
+}
@@ -30,7 +30,46 @@ public record PostListQuery(
 
     public boolean hasQuery() { return q != null && !q.isBlank(); }
 
-    public enum SortKey { CREATED_AT, UPDATED_AT, TITLE, ID }
+    public enum SortKey {
+        CREATED_AT("createdAt"),
+        UPDATED_AT("updatedAt"),
+        TITLE("title"),
+        ID("id");
+
+        private final String property;
+
+        SortKey(String property) { this.property = property; }
+
+        /** Post 엔티티 필드명 (Pageable sort 속성과 동일) */
+        public String property() { return property; }
+
+        public static SortKey fromProperty(String property) {
+            for (SortKey key : values()) {
+                if (key.property.equals(property)) {
+                    return key;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported sort property: " + property);
+        }
+    }
     public enum SortDir { ASC, DESC }
-    public enum SearchField { TITLE, CONTENT, TITLE_CONTENT }
+    public enum SearchField {
+        TITLE, CONTENT, TITLE_CONTENT;
+
+        /**
+         * 목록 API의 searchIn 값(title, content, all)을 매핑. 없으면 TITLE.
+         * author는 작성자 정보가 아직 없으므로 TITLE로 처리.
+         */
+        public static SearchField fromSearchIn(String searchIn) {
+            if (searchIn == null || searchIn.isBlank()) {
+                return TITLE;
+            }
+            return switch (searchIn.trim().toLowerCase(java.util.Locale.ROOT)) {
+                case "title", "author" -> TITLE;
+                case "content" -> CONTENT;
+                case "all" -> TITLE_CONTENT;
+                default -> throw new IllegalArgumentException("Unsupported searchIn: " + searchIn);
+            };
+        }
+    }
 }
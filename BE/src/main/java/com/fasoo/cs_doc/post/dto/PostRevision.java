@@ -0,0 +1,54 @@
+package com.fasoo.cs_doc.post.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 조건부 GET(ETag / Last-Modified) 판단용 글 리비전. 본문 파일을 읽기 전에 엔티티 값만으로 만듦.
+ *
+ * - 본문 ETag: content_hash 기준 (빈 본문으로 바꾸면 버전은 생기지 않지만 해시는 바뀜).
+ *   해시가 없는 예전 글은 currentVersionId, 버전도 없으면 updatedAt 기준
+ * - 상세 ETag: 본문 ETag + updatedAt (제목/카테고리/조회수/첨부파일이 바뀌어도 updatedAt이 바뀜)
+ * - Last-Modified: updatedAt (초 단위라 ETag가 우선)
+ */
+public record PostRevision(Long postId, Long versionId, String contentHash, LocalDateTime updatedAt) {
+
+    /** ETag에 쓰는 content_hash 앞부분 길이 (hex) */
+    private static final int HASH_TAG_LENGTH = 16;
+
+    public String contentEtag() {
+        return contentEtag(null);
+    }
+
+    /**
+     * @param variant 같은 리비전의 다른 표현(예: gzip 인코딩)을 구분하는 접미사 (없으면 null)
+     */
+    public String contentEtag(String variant) {
+        String tag = contentTag();
+        return quote(variant == null ? tag : tag + "-" + variant);
+    }
+
+    public String detailEtag() {
+        return quote(contentTag() + "-t" + updatedMillis());
+    }
+
+    /** Last-Modified 값 (updatedAt이 없으면 -1, 헤더 생략) */
+    public long lastModifiedMillis() {
+        return updatedAt == null ? -1 : updatedMillis();
+    }
+
+    private String contentTag() {
+        if (contentHash != null && contentHash.length() >= HASH_TAG_LENGTH) {
+            return postId + "-h" + contentHash.substring(0, HASH_TAG_LENGTH);
+        }
+        return versionId != null ? postId + "-v" + versionId : postId + "-t" + updatedMillis();
+    }
+
+    private long updatedMillis() {
+        return updatedAt == null ? 0 : updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static String quote(String tag) {
+        return "\"" + tag + "\"";
+    }
+}
@@ -0,0 +1,15 @@
+package com.fasoo.cs_doc.post.dto;
+
+import java.util.List;
+
+/**
+ * 목록 검색 결과의 본문 발췌
+ * @param text       평문 발췌 (앞뒤가 잘렸으면 … 포함)
+ * @param highlights text 안에서 검색어가 일치한 구간 [start, end) (겹치지 않고 오름차순)
+ */
+public record PostSnippet(
+        String text,
+        List<Highlight> highlights
+) {
+    public record Highlight(int start, int end) {}
+}
@@ -0,0 +1,13 @@
+package com.fasoo.cs_doc.post.dto;
+
+import com.fasoo.cs_doc.post.search.TitleSuggestIndex;
+
+public record PostSuggestResponse(
+        Long id,
+        String title,
+        Long viewCount
+) {
+    public static PostSuggestResponse from(TitleSuggestIndex.Suggestion suggestion) {
+        return new PostSuggestResponse(suggestion.postId(), suggestion.title(), suggestion.viewCount());
+    }
+}
@@ -10,12 +10,15 @@ public record PostVersionResponse(
         String createdBy,
         LocalDateTime createdAt
 ) {
-    public static PostVersionResponse from(com.fasoo.cs_doc.post.domain.PostVersion version) {
+    /**
+     * @param contentMd 복원된 본문 (delta로 저장된 버전은 PostVersionStore로 복원한 값)
+     */
+    public static PostVersionResponse from(com.fasoo.cs_doc.post.domain.PostVersion version, String contentMd) {
         return new PostVersionResponse(
                 version.getId(),
                 version.getPostId(),
                 version.getVersionNumber(),
-                version.getContentMd(),
+                contentMd,
                 version.getCreatedBy(),
                 version.getCreatedAt()
         );
@@ -0,0 +1,20 @@
+package com.fasoo.cs_doc.post.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 버전 목록 항목 (본문 없이 메타데이터만, JPQL 생성자 조회). 본문은 GET /api/posts/{id}/versions/{versionNumber}
+ *
+ * contentSize: 복원된 본문의 UTF-8 바이트 수 (delta 저장 이전 행은 마이그레이션 전까지 null)
+ * linesAdded/linesRemoved: 이전 버전 대비 추가/삭제된 줄 수 (저장 시 계산, 예전 행은 마이그레이션 전까지 null)
+ */
+public record PostVersionSummary(
+        Long id,
+        Long postId,
+        Integer versionNumber,
+        Long contentSize,
+        Integer linesAdded,
+        Integer linesRemoved,
+        String createdBy,
+        LocalDateTime createdAt
+) {}
@@ -0,0 +1,15 @@
+package com.fasoo.cs_doc.post.dto;
+
+/**
+ * 검색 색인 크기 (posting 바이트는 압축된 posting 배열 + serial 표, 발췌 바이트는 임시 파일의 살아 있는 평문)
+ */
+public record SearchIndexStatsResponse(
+        boolean ready,
+        int documents,
+        int titleGrams,
+        long titlePostingBytes,
+        int contentGrams,
+        long contentPostingBytes,
+        long excerptBytes
+) {
+}
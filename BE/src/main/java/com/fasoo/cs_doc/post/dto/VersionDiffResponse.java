@@ -0,0 +1,39 @@
+package com.fasoo.cs_doc.post.dto;
+
+import java.util.List;
+
+/**
+ * 두 버전 본문의 줄 단위 diff (변경된 줄 앞뒤 문맥만 hunk로 묶음)
+ *
+ * @param linesAdded   to에만 있는 줄 수
+ * @param linesRemoved from에만 있는 줄 수
+ */
+public record VersionDiffResponse(
+        Long postId,
+        int fromVersion,
+        int toVersion,
+        int linesAdded,
+        int linesRemoved,
+        List<Hunk> hunks
+) {
+    public enum ChangeType { EQUAL, DELETE, INSERT }
+
+    /**
+     * @param oldStart from 기준 시작 줄 번호 (1부터, oldLines가 0이면 그 앞에 삽입)
+     * @param newStart to 기준 시작 줄 번호 (1부터)
+     */
+    public record Hunk(int oldStart, int oldLines, int newStart, int newLines, List<Line> lines) {}
+
+    /**
+     * @param oldNumber from 기준 줄 번호 (INSERT면 null)
+     * @param newNumber to 기준 줄 번호 (DELETE면 null)
+     * @param text      줄 내용 (줄바꿈 제외)
+     * @param segments  바뀐 줄끼리 짝지은 경우 단어 단위 변경 구간 (그 외 null)
+     */
+    public record Line(ChangeType type, Integer oldNumber, Integer newNumber, String text, List<Segment> segments) {}
+
+    /**
+     * 줄 안의 단어 단위 구간. DELETE 줄에는 EQUAL/DELETE, INSERT 줄에는 EQUAL/INSERT만 들어감
+     */
+    public record Segment(ChangeType type, String text) {}
+}
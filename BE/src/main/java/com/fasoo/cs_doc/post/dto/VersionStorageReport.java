@@ -0,0 +1,29 @@
+package com.fasoo.cs_doc.post.dto;
+
+/**
+ * 게시글 하나의 버전 저장 용량과 복원 시간
+ *
+ * fullBytes: 모든 버전 본문을 그대로 저장했을 때 크기, storedBytes: 실제 저장된 키프레임 본문 + delta 크기 (UTF-8)
+ * longestChain: 키프레임 뒤로 이어 붙는 delta 수의 최댓값 (복원 시 적용 횟수)
+ * reconstruct*Micros: 버전별 복원 시간 (이미 읽은 행에 delta를 적용하는 시간, DB 조회 제외)
+ */
+public record VersionStorageReport(
+        Long postId,
+        int versions,
+        int keyframes,
+        int keyframeInterval,
+        long fullBytes,
+        long storedBytes,
+        double compressionRatio,
+        int longestChain,
+        long reconstructAvgMicros,
+        long reconstructMaxMicros
+) {
+    public static VersionStorageReport of(Long postId, int versions, int keyframes, int keyframeInterval,
+                                          long fullBytes, long storedBytes, int longestChain,
+                                          long reconstructAvgMicros, long reconstructMaxMicros) {
+        double ratio = fullBytes == 0 ? 1.0 : (double) storedBytes / fullBytes;
+        return new VersionStorageReport(postId, versions, keyframes, keyframeInterval, fullBytes, storedBytes, ratio,
+                longestChain, reconstructAvgMicros, reconstructMaxMicros);
+    }
+}
@@ -0,0 +1,30 @@
+package com.fasoo.cs_doc.post.repository;
+
+import com.fasoo.cs_doc.post.domain.CategoryPostCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+
+public interface CategoryPostCounterRepository extends JpaRepository<CategoryPostCounter, Long> {
+
+    @Modifying
+    @Query("UPDATE CategoryPostCounter c SET c.postCount = c.postCount + :delta WHERE c.categoryId = :categoryId")
+    int increment(@Param("categoryId") Long categoryId, @Param("delta") long delta);
+
+    /**
+     * 행이 없으면 delta로 추가, 있으면 delta만큼 증감 (MySQL 문법, H2는 MODE=MySQL에서 지원)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO category_post_counter (category_id, post_count) VALUES (:categoryId, :delta)"
+            + " ON DUPLICATE KEY UPDATE post_count = post_count + :delta", nativeQuery = true)
+    int upsertIncrement(@Param("categoryId") Long categoryId, @Param("delta") long delta);
+
+    @Query("SELECT COALESCE(SUM(c.postCount), 0) FROM CategoryPostCounter c WHERE c.categoryId IN :categoryIds")
+    long sumByCategoryIdIn(@Param("categoryIds") Collection<Long> categoryIds);
+
+    @Query("SELECT COALESCE(SUM(c.postCount), 0) FROM CategoryPostCounter c")
+    long sumAll();
+}
@@ -0,0 +1,24 @@
+package com.fasoo.cs_doc.post.repository;
+
+import com.fasoo.cs_doc.post.domain.PostBlame;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface PostBlameRepository extends JpaRepository<PostBlame, Long> {
+
+    /**
+     * 행이 없으면 추가, 있으면 versionNumber가 더 최신일 때만 덮어씀 (먼저 읽고 쓰지 않는 한 문장)
+     * MySQL 문법이며 H2는 MODE=MySQL에서 지원. line_versions를 먼저 대입해야 기존 version_number와 비교함
+     */
+    @Modifying
+    @Query(value = "INSERT INTO post_blame (post_id, version_number, line_versions)"
+            + " VALUES (:postId, :versionNumber, :lineVersions)"
+            + " ON DUPLICATE KEY UPDATE"
+            + " line_versions = CASE WHEN version_number < :versionNumber THEN :lineVersions ELSE line_versions END,"
+            + " version_number = GREATEST(version_number, :versionNumber)", nativeQuery = true)
+    int upsert(@Param("postId") Long postId,
+               @Param("versionNumber") int versionNumber,
+               @Param("lineVersions") String lineVersions);
+}
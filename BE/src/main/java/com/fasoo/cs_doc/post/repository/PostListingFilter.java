@@ -0,0 +1,36 @@
+package com.fasoo.cs_doc.post.repository;
+
+import com.fasoo.cs_doc.post.domain.PostCategory;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 목록 조회 공통 필터 (공지사항 제외, 삭제되지 않은 글 대상)
+ * @param categoryIds    null이면 카테고리 조건 없음
+ * @param legacyCategory category_id가 null인 기존 게시글 매칭용 (categoryIds가 있을 때만 의미 있음)
+ * @param keyword        제목 포함 검색어 (null/blank면 조건 없음, DB LIKE로 처리)
+ * @param postIds        검색 색인으로 미리 찾은 글 id (null이면 조건 없음, 비어 있으면 결과 없음)
+ */
+public record PostListingFilter(
+        List<Long> categoryIds,
+        PostCategory legacyCategory,
+        String keyword,
+        Collection<Long> postIds
+) {
+    public PostListingFilter(List<Long> categoryIds, PostCategory legacyCategory, String keyword) {
+        this(categoryIds, legacyCategory, keyword, null);
+    }
+
+    public boolean hasCategory() { return categoryIds != null; }
+    public boolean hasKeyword() { return keyword != null && !keyword.isBlank(); }
+    public boolean hasPostIds() { return postIds != null; }
+
+    /** 검색 조건이 있는지 (카테고리별 카운터로 전체 개수를 알 수 없음) */
+    public boolean isSearch() { return hasKeyword() || hasPostIds(); }
+
+    /** 제목 LIKE 대신 검색 색인 결과 id로 제한한 필터 */
+    public PostListingFilter withPostIds(Collection<Long> ids) {
+        return new PostListingFilter(categoryIds, legacyCategory, null, ids);
+    }
+}
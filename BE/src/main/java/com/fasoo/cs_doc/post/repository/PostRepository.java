@@ -1,15 +1,21 @@
 package com.fasoo.cs_doc.post.repository;
 
 import com.fasoo.cs_doc.post.domain.Post;
+import com.fasoo.cs_doc.post.dto.PostListItemResponse;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface PostRepository extends JpaRepository<Post, Long> {
+public interface PostRepository extends JpaRepository<Post, Long>, PostRepositoryCustom {
     Page<Post> findByTitleContainingIgnoreCase(String keyword, Pageable pageable);
     
     // categoryId 기반 쿼리
@@ -23,15 +29,78 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     // 공지사항 제외 조회 (삭제되지 않은 것만)
     Page<Post> findByIsNoticeFalseAndDeletedFalse(Pageable pageable);
     Page<Post> findByIsNoticeFalseAndDeletedFalseAndTitleContainingIgnoreCase(String keyword, Pageable pageable);
-    Page<Post> findByIsNoticeFalseAndDeletedFalseAndCategoryIdIn(List<Long> categoryIds, Pageable pageable);
-    Page<Post> findByIsNoticeFalseAndDeletedFalseAndCategoryIdInAndTitleContainingIgnoreCase(List<Long> categoryIds, String keyword, Pageable pageable);
-    
-    // category(enum) 기반 조회 (기존 데이터 호환성, 삭제되지 않은 것만)
-    Page<Post> findByIsNoticeFalseAndDeletedFalseAndCategory(com.fasoo.cs_doc.post.domain.PostCategory category, Pageable pageable);
-    Page<Post> findByIsNoticeFalseAndDeletedFalseAndCategoryAndTitleContainingIgnoreCase(com.fasoo.cs_doc.post.domain.PostCategory category, String keyword, Pageable pageable);
     
+    /**
+     * 수정용 조회 (SELECT ... FOR UPDATE). 같은 게시글의 다른 수정은 이 트랜잭션이 끝날 때까지 기다림
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Post p WHERE p.id = :id")
+    Optional<Post> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * 카테고리별 목록 노출 대상 글 수 (CategoryPostCounter 재계산용) - [categoryId, count]
+     */
+    @Query("""
+            SELECT p.categoryId, COUNT(p) FROM Post p
+            WHERE p.isNotice = false AND p.deleted = false AND p.categoryId IS NOT NULL
+            GROUP BY p.categoryId
+            """)
+    List<Object[]> countListableByCategory();
+
     // 공지사항 조회 (삭제되지 않은 것만)
     List<Post> findByIsNoticeTrueAndDeletedFalseOrderByCreatedAtDesc();
+
+    /**
+     * 삭제되지 않은 글을 afterId 다음부터 id 순으로 한 배치 (검색 색인 재구성용)
+     */
+    List<Post> findByDeletedFalseAndIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    /**
+     * id 순 본문 경로 페이지 (PostContentLayoutMigration용) - [id, contentMdPath]
+     */
+    @Query("SELECT p.id, p.contentMdPath FROM Post p WHERE p.id > :afterId ORDER BY p.id")
+    List<Object[]> findContentPathsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * 본문 경로만 변경 (경로가 그대로일 때만). 벌크 UPDATE라 @PreUpdate(updatedAt)가 돌지 않음
+     */
+    @Modifying
+    @Query("UPDATE Post p SET p.contentMdPath = :newPath WHERE p.id = :id AND p.contentMdPath = :oldPath")
+    int updateContentMdPath(@Param("id") Long id, @Param("oldPath") String oldPath, @Param("newPath") String newPath);
+
+    /**
+     * 마지막 버전의 키프레임/해시만 변경 (버전 재배치 후, 그 사이 새 버전이 없을 때만)
+     */
+    @Modifying
+    @Query("""
+            UPDATE Post p SET p.versionKeyframe = :keyframe, p.versionHash = :hash
+            WHERE p.id = :id AND p.versionCount = :versionCount
+            """)
+    int updateVersionHead(@Param("id") Long id, @Param("versionCount") int versionCount,
+                          @Param("keyframe") Integer keyframe, @Param("hash") String hash);
+
+    /**
+     * 공지사항 목록 항목 (삭제되지 않은 것만, 최신순) - 목록 컬럼만 DTO로 조회
+     */
+    @Query("""
+            SELECT new com.fasoo.cs_doc.post.dto.PostListItemResponse(
+                p.id, p.title, p.category, p.categoryId, p.isNotice, p.viewCount, p.attachments, p.createdAt, p.updatedAt)
+            FROM Post p
+            WHERE p.isNotice = true AND p.deleted = false
+            ORDER BY p.createdAt DESC
+            """)
+    List<PostListItemResponse> findNoticeItems();
+
+    /**
+     * id 목록의 목록 항목 (삭제되지 않은 것만, 순서 보장 안 됨) - 검색 색인 결과 페이지 조회용
+     */
+    @Query("""
+            SELECT new com.fasoo.cs_doc.post.dto.PostListItemResponse(
+                p.id, p.title, p.category, p.categoryId, p.isNotice, p.viewCount, p.attachments, p.createdAt, p.updatedAt)
+            FROM Post p
+            WHERE p.id IN :ids AND p.deleted = false
+            """)
+    List<PostListItemResponse> findListItemsByIdIn(@Param("ids") Collection<Long> ids);
     
     // 삭제된 게시글 조회 (버전 이력 페이지용)
     Page<Post> findByDeletedTrue(Pageable pageable);
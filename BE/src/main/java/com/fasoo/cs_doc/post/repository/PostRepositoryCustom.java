@@ -0,0 +1,39 @@
+package com.fasoo.cs_doc.post.repository;
+
+import com.fasoo.cs_doc.post.dto.PostCursor;
+import com.fasoo.cs_doc.post.dto.PostListItemResponse;
+import com.fasoo.cs_doc.post.dto.PostListQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * 조건에 따라 JPQL을 조립해야 하는 목록 쿼리 (Spring Data fragment, 구현: PostRepositoryCustomImpl)
+ * 목록 컬럼만 PostListItemResponse로 바로 조회하며 Post 엔티티는 만들지 않음 (읽기 전용)
+ */
+public interface PostRepositoryCustom {
+
+    /**
+     * 키셋(커서) 페이지네이션. after 이후의 글을 (정렬 키, id) 순서로 최대 limit건 조회.
+     * OFFSET 없이 인덱스 seek만 하므로 몇 번째 페이지든 비용이 같음.
+     * @param after null이면 첫 페이지
+     */
+    List<PostListItemResponse> findListingAfter(PostListingFilter filter,
+                                                PostListQuery.SortKey sortKey,
+                                                PostListQuery.SortDir dir,
+                                                PostCursor after,
+                                                int limit);
+
+    /**
+     * offset 페이지네이션 (공지사항 제외, 삭제되지 않은 것만). 정렬/offset/limit/count 모두 DB에서 처리.
+     * 카테고리 필터는 category_id IN (...) 이거나 category_id가 null인 기존 게시글 중 category(enum)이 일치하는 글.
+     */
+    Page<PostListItemResponse> findListingPage(PostListingFilter filter, Pageable pageable);
+
+    /**
+     * offset 페이지네이션이지만 COUNT 쿼리 없이 size + 1건만 조회해 hasNext 판단 (Slice)
+     */
+    Slice<PostListItemResponse> findListingSlice(PostListingFilter filter, Pageable pageable);
+}
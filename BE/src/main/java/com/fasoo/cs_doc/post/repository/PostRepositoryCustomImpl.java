@@ -0,0 +1,155 @@
+package com.fasoo.cs_doc.post.repository;
+
+import com.fasoo.cs_doc.post.dto.PostCursor;
+import com.fasoo.cs_doc.post.dto.PostListItemResponse;
+import com.fasoo.cs_doc.post.dto.PostListQuery;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+public class PostRepositoryCustomImpl implements PostRepositoryCustom {
+
+    /**
+     * 목록 컬럼만 DTO 생성자로 바로 조회 (엔티티를 영속성 컨텍스트에 올리지 않으므로 스냅샷/dirty checking 없음)
+     */
+    private static final String LIST_ITEM_SELECT = "SELECT new com.fasoo.cs_doc.post.dto.PostListItemResponse("
+            + "p.id, p.title, p.category, p.categoryId, p.isNotice, p.viewCount, p.attachments, p.createdAt, p.updatedAt)"
+            + " FROM Post p WHERE p.isNotice = false AND p.deleted = false";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<PostListItemResponse> findListingAfter(PostListingFilter filter,
+                                       PostListQuery.SortKey sortKey,
+                                       PostListQuery.SortDir dir,
+                                       PostCursor after,
+                                       int limit) {
+        String field = "p." + sortKey.property();
+        boolean desc = dir == PostListQuery.SortDir.DESC;
+        String cmp = desc ? "<" : ">";
+        String order = desc ? " DESC" : " ASC";
+
+        StringBuilder jpql = new StringBuilder(LIST_ITEM_SELECT);
+        appendFilter(jpql, filter);
+        if (after != null) {
+            if (sortKey == PostListQuery.SortKey.ID) {
+                jpql.append(" AND p.id ").append(cmp).append(" :afterId");
+            } else {
+                // (field, id) 튜플 비교: field가 같으면 id로 순서 결정
+                jpql.append(" AND (").append(field).append(' ').append(cmp).append(" :afterValue")
+                        .append(" OR (").append(field).append(" = :afterValue AND p.id ").append(cmp).append(" :afterId))");
+            }
+        }
+        jpql.append(" ORDER BY ");
+        if (sortKey != PostListQuery.SortKey.ID) {
+            jpql.append(field).append(order).append(", ");
+        }
+        jpql.append("p.id").append(order);
+
+        TypedQuery<PostListItemResponse> query = entityManager.createQuery(jpql.toString(), PostListItemResponse.class);
+        bindFilter(query, filter);
+        if (after != null) {
+            query.setParameter("afterId", after.id());
+            if (sortKey != PostListQuery.SortKey.ID) {
+                query.setParameter("afterValue", after.value());
+            }
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public Page<PostListItemResponse> findListingPage(PostListingFilter filter, Pageable pageable) {
+        StringBuilder jpql = new StringBuilder(LIST_ITEM_SELECT);
+        appendFilter(jpql, filter);
+        appendOrderBy(jpql, pageable.getSort());
+
+        TypedQuery<PostListItemResponse> query = entityManager.createQuery(jpql.toString(), PostListItemResponse.class);
+        bindFilter(query, filter);
+        List<PostListItemResponse> content = query
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        StringBuilder countJpql = new StringBuilder("SELECT COUNT(p) FROM Post p WHERE p.isNotice = false AND p.deleted = false");
+        appendFilter(countJpql, filter);
+        TypedQuery<Long> countQuery = entityManager.createQuery(countJpql.toString(), Long.class);
+        bindFilter(countQuery, filter);
+        return new PageImpl<>(content, pageable, countQuery.getSingleResult());
+    }
+
+    @Override
+    public Slice<PostListItemResponse> findListingSlice(PostListingFilter filter, Pageable pageable) {
+        StringBuilder jpql = new StringBuilder(LIST_ITEM_SELECT);
+        appendFilter(jpql, filter);
+        appendOrderBy(jpql, pageable.getSort());
+
+        TypedQuery<PostListItemResponse> query = entityManager.createQuery(jpql.toString(), PostListItemResponse.class);
+        bindFilter(query, filter);
+        List<PostListItemResponse> rows = query
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        List<PostListItemResponse> content = hasNext ? rows.subList(0, pageable.getPageSize()) : rows;
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    /**
+     * Pageable sort를 ORDER BY로 변환 (허용된 정렬 키만, 마지막에 id로 순서 고정)
+     */
+    private void appendOrderBy(StringBuilder jpql, Sort sort) {
+        jpql.append(" ORDER BY ");
+        boolean hasId = false;
+        for (Sort.Order order : sort) {
+            PostListQuery.SortKey key = PostListQuery.SortKey.fromProperty(order.getProperty());
+            jpql.append("p.").append(key.property()).append(order.isAscending() ? " ASC" : " DESC").append(", ");
+            hasId |= key == PostListQuery.SortKey.ID;
+        }
+        if (hasId) {
+            jpql.setLength(jpql.length() - 2);
+        } else {
+            jpql.append("p.id DESC");
+        }
+    }
+
+    private void appendFilter(StringBuilder jpql, PostListingFilter filter) {
+        if (filter.hasCategory() && filter.legacyCategory() == null) {
+            // enum 매핑이 없으면 OR 조건을 빼서 (deleted, is_notice, category_id, ...) 인덱스 범위 조회가 되도록 함
+            jpql.append(" AND p.categoryId IN :categoryIds");
+        } else if (filter.hasCategory()) {
+            jpql.append(" AND (p.categoryId IN :categoryIds OR (p.categoryId IS NULL AND p.category = :legacyCategory))");
+        }
+        if (filter.hasKeyword()) {
+            jpql.append(" AND LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%'))");
+        }
+        if (filter.hasPostIds()) {
+            // 빈 IN 목록은 DB마다 처리가 달라 항상 거짓인 조건으로 대체
+            jpql.append(filter.postIds().isEmpty() ? " AND p.id IS NULL" : " AND p.id IN :postIds");
+        }
+    }
+
+    private void bindFilter(TypedQuery<?> query, PostListingFilter filter) {
+        if (filter.hasCategory()) {
+            query.setParameter("categoryIds", filter.categoryIds());
+            if (filter.legacyCategory() != null) {
+                query.setParameter("legacyCategory", filter.legacyCategory());
+            }
+        }
+        if (filter.hasKeyword()) {
+            query.setParameter("keyword", filter.keyword());
+        }
+        if (filter.hasPostIds() && !filter.postIds().isEmpty()) {
+            query.setParameter("postIds", filter.postIds());
+        }
+    }
+}
@@ -1,16 +1,32 @@
 package com.fasoo.cs_doc.post.repository;
 
 import com.fasoo.cs_doc.post.domain.PostVersion;
+import com.fasoo.cs_doc.post.dto.PostVersionSummary;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface PostVersionRepository extends JpaRepository<PostVersion, Long> {
     /**
-     * 특정 게시글의 모든 버전을 버전 번호 내림차순으로 조회
+     * 특정 게시글의 모든 버전을 버전 번호 오름차순으로 조회 (delta를 차례로 적용할 때)
      */
-    List<PostVersion> findByPostIdOrderByVersionNumberDesc(Long postId);
+    List<PostVersion> findByPostIdOrderByVersionNumberAsc(Long postId);
+
+    /**
+     * 특정 게시글의 버전 번호 구간 조회 (키프레임부터 대상 버전까지 복원용)
+     */
+    List<PostVersion> findByPostIdAndVersionNumberBetweenOrderByVersionNumberAsc(Long postId, Integer from, Integer to);
+
+    /**
+     * 버전이 있는 게시글 ID를 afterId 다음부터 오름차순으로 (delta 변환 마이그레이션 배치용)
+     */
+    @Query("select distinct v.postId from PostVersion v where v.postId > :afterId order by v.postId")
+    List<Long> findPostIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
 
     /**
      * 특정 게시글의 최신 버전 조회
@@ -23,15 +39,38 @@ public interface PostVersionRepository extends JpaRepository<PostVersion, Long>
     Optional<PostVersion> findByPostIdAndVersionNumber(Long postId, Integer versionNumber);
 
     /**
-     * 특정 게시글의 다음 버전 번호 계산
+     * 버전 목록 한 페이지 (본문 제외, 버전 번호 내림차순). before보다 작은 번호만 (키셋, 첫 페이지는 Integer.MAX_VALUE)
+     */
+    @Query("""
+            SELECT new com.fasoo.cs_doc.post.dto.PostVersionSummary(
+                v.id, v.postId, v.versionNumber, v.contentSize, v.linesAdded, v.linesRemoved, v.createdBy, v.createdAt)
+            FROM PostVersion v
+            WHERE v.postId = :postId AND v.versionNumber < :before
+            ORDER BY v.versionNumber DESC
+            """)
+    List<PostVersionSummary> findSummaries(@Param("postId") Long postId, @Param("before") Integer before, Pageable pageable);
+
+    /**
+     * 특정 게시글의 여러 버전 메타데이터 (본문 제외, 버전 번호 내림차순, blame에 나오는 버전용)
      */
-    default Integer getNextVersionNumber(Long postId) {
-        Optional<PostVersion> latest = findFirstByPostIdOrderByVersionNumberDesc(postId);
-        return latest.map(v -> v.getVersionNumber() + 1).orElse(1);
-    }
+    @Query("""
+            SELECT new com.fasoo.cs_doc.post.dto.PostVersionSummary(
+                v.id, v.postId, v.versionNumber, v.contentSize, v.linesAdded, v.linesRemoved, v.createdBy, v.createdAt)
+            FROM PostVersion v
+            WHERE v.postId = :postId AND v.versionNumber IN :versionNumbers
+            ORDER BY v.versionNumber DESC
+            """)
+    List<PostVersionSummary> findSummariesByVersionNumbers(@Param("postId") Long postId,
+                                                           @Param("versionNumbers") Collection<Integer> versionNumbers);
 
     /**
-     * 모든 버전을 생성일 내림차순으로 조회 (전체 변경 이력용)
+     * 모든 버전을 생성일 내림차순으로 조회 (전체 변경 이력용, 본문 제외)
      */
-    List<PostVersion> findAllByOrderByCreatedAtDesc();
+    @Query("""
+            SELECT new com.fasoo.cs_doc.post.dto.PostVersionSummary(
+                v.id, v.postId, v.versionNumber, v.contentSize, v.linesAdded, v.linesRemoved, v.createdBy, v.createdAt)
+            FROM PostVersion v
+            ORDER BY v.createdAt DESC
+            """)
+    List<PostVersionSummary> findAllSummariesByOrderByCreatedAtDesc();
 }
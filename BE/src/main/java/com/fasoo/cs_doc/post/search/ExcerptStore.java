@@ -0,0 +1,192 @@
+package com.fasoo.cs_doc.post.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 발췌용 본문 평문 저장 (PostSearchIndex 전용, 임시 파일)
+ *
+ * - 글마다 평문을 UTF-16BE(문자당 2바이트)로 파일 끝에 이어 쓰고 메모리에는 위치(offset, 길이)만 둠
+ * - 문자 위치가 곧 바이트 위치라 발췌 구간만 positional read로 읽음 (본문 전체를 읽거나 평문 변환을 다시 하지 않음)
+ * - 덮어쓰기/삭제로 죽은 바이트가 살아 있는 바이트보다 많아지면 살아 있는 구간만 새 파일로 옮김
+ * - 색인과 함께 기동 시마다 새로 만드는 파일이라 종료 시 삭제
+ *
+ * 동기화는 호출 측(PostSearchIndex의 ReadWriteLock)이 담당: put/remove/clear는 쓰기 락, read는 읽기 락 안에서.
+ * 파일 오류가 나면 해당 글의 발췌만 없음(null)으로 처리.
+ */
+final class ExcerptStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ExcerptStore.class);
+
+    private static final int BYTES_PER_CHAR = 2;
+    private static final long MIN_COMPACTION_DEAD_BYTES = 16L * 1024 * 1024;
+
+    private record Entry(long offset, int length) {}
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private Path path;
+    private FileChannel channel;
+    private long end;
+    private long liveBytes;
+
+    ExcerptStore() {
+        try {
+            open();
+        } catch (IOException e) {
+            log.warn("Search excerpt file could not be created, snippets disabled: {}", e.getMessage());
+        }
+    }
+
+    void put(Long postId, String text) {
+        remove(postId);
+        if (channel == null) {
+            return;
+        }
+        ByteBuffer buf = StandardCharsets.UTF_16BE.encode(text);
+        long offset = end;
+        try {
+            while (buf.hasRemaining()) {
+                channel.write(buf, offset + buf.position());
+            }
+        } catch (IOException e) {
+            log.warn("Search excerpt write failed for post {}: {}", postId, e.getMessage());
+            return;
+        }
+        long bytes = (long) text.length() * BYTES_PER_CHAR;
+        end += bytes;
+        liveBytes += bytes;
+        entries.put(postId, new Entry(offset, text.length()));
+        compactIfNeeded();
+    }
+
+    void remove(Long postId) {
+        Entry removed = entries.remove(postId);
+        if (removed != null) {
+            liveBytes -= (long) removed.length() * BYTES_PER_CHAR;
+        }
+    }
+
+    /** 모든 글 삭제 (재구성 시작 시), 파일도 비움 */
+    void clear() {
+        entries.clear();
+        liveBytes = 0;
+        end = 0;
+        if (channel != null) {
+            try {
+                channel.truncate(0);
+            } catch (IOException e) {
+                log.warn("Search excerpt file truncate failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    boolean contains(Long postId) {
+        return entries.containsKey(postId);
+    }
+
+    /** 평문 길이 (없으면 -1) */
+    int length(Long postId) {
+        Entry entry = entries.get(postId);
+        return entry == null ? -1 : entry.length();
+    }
+
+    /**
+     * 평문의 [from, to) 구간 (없거나 범위를 벗어나거나 읽기 실패면 null)
+     */
+    String read(Long postId, int from, int to) {
+        Entry entry = entries.get(postId);
+        if (entry == null || from < 0 || to > entry.length() || from > to) {
+            return null;
+        }
+        ByteBuffer buf = ByteBuffer.allocate((to - from) * BYTES_PER_CHAR);
+        long position = entry.offset() + (long) from * BYTES_PER_CHAR;
+        try {
+            while (buf.hasRemaining()) {
+                if (channel.read(buf, position + buf.position()) < 0) {
+                    return null;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Search excerpt read failed for post {}: {}", postId, e.getMessage());
+            return null;
+        }
+        buf.flip();
+        return StandardCharsets.UTF_16BE.decode(buf).toString();
+    }
+
+    /** 살아 있는 평문 바이트 수 (통계용) */
+    long liveBytes() {
+        return liveBytes;
+    }
+
+    void close() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.debug("Search excerpt file not deleted {}: {}", path, e.getMessage());
+        }
+        channel = null;
+    }
+
+    private void open() throws IOException {
+        path = Files.createTempFile("post-search-excerpts-", ".bin");
+        path.toFile().deleteOnExit();
+        channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        end = 0;
+    }
+
+    private void compactIfNeeded() {
+        long dead = end - liveBytes;
+        if (dead < MIN_COMPACTION_DEAD_BYTES || dead < liveBytes) {
+            return;
+        }
+        Path oldPath = path;
+        FileChannel oldChannel = channel;
+        long oldEnd = end;
+        Map<Long, Entry> moved = new HashMap<>(entries.size());
+        try {
+            open();
+            for (Map.Entry<Long, Entry> e : entries.entrySet()) {
+                Entry entry = e.getValue();
+                long bytes = (long) entry.length() * BYTES_PER_CHAR;
+                long copied = 0;
+                while (copied < bytes) {
+                    copied += oldChannel.transferTo(entry.offset() + copied, bytes - copied, channel);
+                }
+                moved.put(e.getKey(), new Entry(end, entry.length()));
+                end += bytes;
+            }
+        } catch (IOException e) {
+            // 옮기던 파일을 버리고 예전 파일을 계속 사용
+            log.warn("Search excerpt compaction failed: {}", e.getMessage());
+            if (channel != oldChannel) {
+                close();
+            }
+            path = oldPath;
+            channel = oldChannel;
+            end = oldEnd;
+            return;
+        }
+        entries.putAll(moved);
+        try {
+            oldChannel.close();
+            Files.deleteIfExists(oldPath);
+        } catch (IOException e) {
+            log.debug("Old search excerpt file not deleted {}: {}", oldPath, e.getMessage());
+        }
+    }
+}
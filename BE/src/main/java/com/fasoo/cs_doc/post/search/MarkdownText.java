@@ -0,0 +1,36 @@
+package com.fasoo.cs_doc.post.search;
+
+import java.util.regex.Pattern;
+
+/**
+ * 마크다운을 검색/발췌용 평문으로 변환 (완전한 파서는 아니고 검색에 방해되는 문법만 제거)
+ * - 이미지/링크는 대체 텍스트만 남기고 URL 제거
+ * - HTML 태그, 헤더/인용/목록 기호, 강조/코드 표시 문자, 표 구분자 제거
+ */
+public final class MarkdownText {
+
+    private static final Pattern IMAGE = Pattern.compile("!\\[([^\\]]*)\\]\\([^)]*\\)");
+    private static final Pattern LINK = Pattern.compile("\\[([^\\]]*)\\]\\([^)]*\\)");
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]+>");
+    private static final Pattern LINE_PREFIX = Pattern.compile("(?m)^\\s{0,3}(?:#{1,6}|>+|[-*+]|\\d+\\.)\\s+");
+    private static final Pattern FENCE = Pattern.compile("(?m)^\\s*(```|~~~).*$");
+    private static final Pattern DECORATION = Pattern.compile("[*_`~|]+");
+    private static final Pattern TABLE_RULE = Pattern.compile("(?m)^[\\s:|-]+$");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private MarkdownText() {}
+
+    public static String toPlainText(String markdown) {
+        if (markdown == null || markdown.isEmpty()) {
+            return "";
+        }
+        String s = IMAGE.matcher(markdown).replaceAll("$1");
+        s = LINK.matcher(s).replaceAll("$1");
+        s = HTML_TAG.matcher(s).replaceAll(" ");
+        s = FENCE.matcher(s).replaceAll(" ");
+        s = TABLE_RULE.matcher(s).replaceAll(" ");
+        s = LINE_PREFIX.matcher(s).replaceAll("");
+        s = DECORATION.matcher(s).replaceAll(" ");
+        return WHITESPACE.matcher(s).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,62 @@
+package com.fasoo.cs_doc.post.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * 문자 bigram 분석기 (한국어 복합어처럼 띄어쓰기로 나눌 수 없는 텍스트의 부분 문자열 검색용)
+ *
+ * - normalize: NFKC 정규화 + 연속 공백을 공백 하나로 + 소문자. 색인과 질의 모두 이 결과의 문자 위치를 기준으로 함
+ * - 위치 i의 bigram은 text[i..i+2), 마지막 문자는 END 문자를 붙여 bigram으로 만듦 (한 글자 질의도 찾을 수 있도록)
+ * - 길이 m인 질의는 위치 p, p+1, ..., p+m-2에서 연속된 bigram이 모두 나오면 위치 p에서 일치
+ *   (bigram이 겹치므로 이 조건이면 원문에 질의 문자열이 그대로 있음 - LIKE '%kw%'와 같은 결과)
+ */
+public class NGramAnalyzer {
+
+    /** 텍스트 끝 표시 (정규화된 텍스트에는 나오지 않는 문자) */
+    static final char END = '\u0000';
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    public String normalize(String text) {
+        return displayForm(text).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 대소문자를 유지한 정규화 결과 (발췌 표시용). 보통 normalize와 길이가 같아 색인 위치를 그대로 쓸 수 있음
+     */
+    public String displayForm(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC);
+        return WHITESPACE.matcher(normalized.replace(END, ' ')).replaceAll(" ").trim();
+    }
+
+    /**
+     * 정규화된 텍스트의 위치 i에서 시작하는 bigram
+     */
+    public String gramAt(String normalized, int i) {
+        return i + 1 < normalized.length()
+                ? normalized.substring(i, i + 2)
+                : normalized.charAt(i) + String.valueOf(END);
+    }
+
+    /**
+     * 질의를 공백 기준 검색어 목록으로 (정규화, 중복 제거)
+     */
+    public List<String> queryTerms(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String term : normalize(query).split(" ")) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return new ArrayList<>(terms);
+    }
+}
@@ -0,0 +1,574 @@
+package com.fasoo.cs_doc.post.search;
+
+import com.fasoo.cs_doc.post.domain.PostCategory;
+import com.fasoo.cs_doc.post.dto.PostListQuery;
+import com.fasoo.cs_doc.post.dto.PostSnippet;
+import com.fasoo.cs_doc.post.dto.SearchIndexStatsResponse;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 게시글 제목/본문 n-gram 위치 색인 (메모리)
+ *
+ * - 문자 bigram별로 글별 출현 위치를 보관해 부분 문자열 질의를 정확히 처리 (NGramAnalyzer 참고)
+ *   bigram마다 바이트 배열 하나에 차이값 varint로 압축해 둠 (PostingList). 크기는 stats()
+ * - search: 공백으로 나눈 검색어가 모두 포함된 글을 BM25 순으로 (검색어별 출현 횟수를 tf로 사용)
+ * - matchingIds: 검색어 전체를 하나의 부분 문자열로 찾음 (제목 LIKE '%kw%' 대체)
+ * - snippet: 위치 색인으로 첫 일치 위치를 찾고 그 주변 구간만 평문 파일에서 읽음 (ExcerptStore, 메모리에는 위치만)
+ * - search/matchingIds/snippet은 .md 파일이나 DB를 읽지 않음
+ * - PostService가 글 생성/수정/삭제 커밋 후 put/remove로 증분 갱신
+ * - 기동 시 PostSearchIndexLoader가 저장된 .md 파일로부터 배치 단위로 전체 재구성 (beginRebuild → loadBatch → finishRebuild).
+ *   재구성 중 들어온 put/remove는 바로 반영하고 기록해 두어, 그보다 먼저 읽힌 배치 내용이 덮어쓰지 않도록 함.
+ *   재구성이 끝나기 전에는 isReady() == false
+ * - 읽기는 동시에, 쓰기는 하나씩 (ReadWriteLock)
+ */
+@Component
+public class PostSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    // 제목에만 있는 단어가 본문에 한 번 나온 단어보다 앞서도록 가중치
+    private static final double TITLE_BOOST = 2.0;
+
+    // 발췌 길이와 첫 일치 위치 앞에 보여줄 문맥 길이 (문자 수)
+    private static final int SNIPPET_LENGTH = 160;
+    private static final int SNIPPET_CONTEXT_BEFORE = 40;
+    private static final char ELLIPSIS = '…';
+
+    private final NGramAnalyzer analyzer = new NGramAnalyzer();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private FieldIndex title = new FieldIndex();
+    private FieldIndex content = new FieldIndex();
+    private Map<Long, DocInfo> docs = new HashMap<>();
+    // 발췌용 본문 평문 (대소문자 유지, 위치는 content 색인과 동일)
+    private final ExcerptStore excerpts = new ExcerptStore();
+    private volatile boolean ready;
+    /** 재구성 중 증분 갱신된 글 (재구성 중이 아니면 null) */
+    private Map<Long, Touch> rebuildTouched;
+
+    private record DocInfo(Long categoryId, PostCategory legacyCategory, boolean notice) {}
+
+    /** 재구성 중 증분 갱신 종류: META는 제목/메타만(본문 유지), CONTENT는 본문까지, REMOVED는 삭제 */
+    private enum Touch { META, CONTENT, REMOVED }
+
+    /**
+     * 게시글 색인 추가/갱신 (contentMd가 null이면 기존 본문 색인 유지)
+     */
+    public void put(SearchDocument doc) {
+        String titleText = analyzer.normalize(doc.title());
+        String excerpt = doc.contentMd() == null ? null : excerptOf(doc.contentMd());
+        lock.writeLock().lock();
+        try {
+            title.put(doc.postId(), titleText, analyzer);
+            if (excerpt != null) {
+                content.put(doc.postId(), excerpt.toLowerCase(Locale.ROOT), analyzer);
+                excerpts.put(doc.postId(), excerpt);
+            }
+            docs.put(doc.postId(), new DocInfo(doc.categoryId(), doc.legacyCategory(), doc.notice()));
+            if (rebuildTouched != null) {
+                rebuildTouched.merge(doc.postId(), excerpt != null ? Touch.CONTENT : Touch.META,
+                        (prev, next) -> prev == Touch.CONTENT && next == Touch.META ? prev : next);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long postId) {
+        lock.writeLock().lock();
+        try {
+            title.remove(postId);
+            content.remove(postId);
+            docs.remove(postId);
+            excerpts.remove(postId);
+            if (rebuildTouched != null) {
+                rebuildTouched.put(postId, Touch.REMOVED);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 전체 재구성 시작: 색인을 비우고 이후 put/remove를 기록 (finishRebuild까지 isReady() == false)
+     */
+    public void beginRebuild() {
+        lock.writeLock().lock();
+        try {
+            title = new FieldIndex();
+            content = new FieldIndex();
+            docs = new HashMap<>();
+            excerpts.clear();
+            rebuildTouched = new HashMap<>();
+            ready = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 재구성 배치 추가. 재구성 중 이미 증분 갱신된 글은 배치(더 오래된 스냅샷일 수 있음)로 덮어쓰지 않음
+     * (제목/메타만 갱신된 글은 본문만 채움). 본문 평문 변환은 락 밖에서.
+     */
+    public void loadBatch(Collection<SearchDocument> documents) {
+        List<SearchDocument> batch = new ArrayList<>(documents);
+        List<String> batchExcerpts = new ArrayList<>(batch.size());
+        for (SearchDocument doc : batch) {
+            batchExcerpts.add(doc.contentMd() == null ? null : excerptOf(doc.contentMd()));
+        }
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < batch.size(); i++) {
+                SearchDocument doc = batch.get(i);
+                Touch touched = rebuildTouched == null ? null : rebuildTouched.get(doc.postId());
+                if (touched == Touch.CONTENT || touched == Touch.REMOVED) {
+                    continue;
+                }
+                if (touched == null) {
+                    title.put(doc.postId(), analyzer.normalize(doc.title()), analyzer);
+                    docs.put(doc.postId(), new DocInfo(doc.categoryId(), doc.legacyCategory(), doc.notice()));
+                }
+                String excerpt = batchExcerpts.get(i);
+                if (excerpt != null) {
+                    content.put(doc.postId(), excerpt.toLowerCase(Locale.ROOT), analyzer);
+                    excerpts.put(doc.postId(), excerpt);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 재구성 완료 (이후 질의에 색인 사용)
+     */
+    public void finishRebuild() {
+        lock.writeLock().lock();
+        try {
+            title.trim();
+            content.trim();
+            rebuildTouched = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 기동 시 전체 재구성이 끝났는지 (그 전에는 호출 측에서 DB 검색으로 대체할 것)
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 색인 크기 (글 수, bigram 수, posting 압축 바이트, 발췌 평문 파일 바이트)
+     */
+    public SearchIndexStatsResponse stats() {
+        lock.readLock().lock();
+        try {
+            return new SearchIndexStatsResponse(ready, docs.size(),
+                    title.gramCount(), title.postingBytes(),
+                    content.gramCount(), content.postingBytes(),
+                    excerpts.liveBytes());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 검색어 전체를 부분 문자열로 포함하는 글 id (대소문자 무시, 순서 없음)
+     * @param field TITLE이면 제목만, CONTENT면 본문만, TITLE_CONTENT면 둘 중 하나
+     */
+    public Set<Long> matchingIds(String keyword, PostListQuery.SearchField field) {
+        String term = analyzer.normalize(keyword);
+        if (term.isEmpty()) {
+            return Set.of();
+        }
+        lock.readLock().lock();
+        try {
+            Set<Long> ids = new HashSet<>();
+            if (field != PostListQuery.SearchField.CONTENT) {
+                ids.addAll(title.occurrences(term).keySet());
+            }
+            if (field != PostListQuery.SearchField.TITLE) {
+                ids.addAll(content.occurrences(term).keySet());
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * BM25 점수 내림차순 검색 (공백으로 나눈 검색어가 모두 포함된 글, 같은 점수면 최신 id 우선)
+     * @param field TITLE이면 제목만, CONTENT면 본문만, TITLE_CONTENT면 둘 다 (제목 가중치 적용)
+     */
+    public List<SearchHit> search(String query, PostListQuery.SearchField field) {
+        List<String> terms = analyzer.queryTerms(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        boolean inTitle = field != PostListQuery.SearchField.CONTENT;
+        boolean inContent = field != PostListQuery.SearchField.TITLE;
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            for (String term : terms) {
+                Map<Long, Double> termScores = new HashMap<>();
+                if (inTitle) {
+                    title.score(title.occurrences(term), TITLE_BOOST, termScores);
+                }
+                if (inContent) {
+                    content.score(content.occurrences(term), 1.0, termScores);
+                }
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    // 모든 검색어를 포함한 글만 남김
+                    scores.keySet().retainAll(termScores.keySet());
+                    for (Map.Entry<Long, Double> e : scores.entrySet()) {
+                        e.setValue(e.getValue() + termScores.get(e.getKey()));
+                    }
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            List<SearchHit> hits = new ArrayList<>(scores.size());
+            for (Map.Entry<Long, Double> e : scores.entrySet()) {
+                DocInfo info = docs.get(e.getKey());
+                if (info != null) {
+                    hits.add(new SearchHit(e.getKey(), e.getValue(), info.categoryId(), info.legacyCategory(), info.notice()));
+                }
+            }
+            hits.sort(Comparator.comparingDouble(SearchHit::score).reversed()
+                    .thenComparing(SearchHit::postId, Comparator.reverseOrder()));
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 본문에서 검색어가 처음 나오는 곳 주변 발췌 (본문에 없으면 null)
+     * 검색어별 일치 위치는 위치 색인에서 바로 얻고, 발췌 구간(SNIPPET_LENGTH자)만 평문 파일에서 읽음
+     */
+    public PostSnippet snippet(Long postId, String query) {
+        List<String> terms = analyzer.queryTerms(query);
+        if (terms.isEmpty()) {
+            return null;
+        }
+        int textLength;
+        int first = Integer.MAX_VALUE;
+        List<int[]> matches = new ArrayList<>();
+        int from;
+        int to;
+        String text;
+        lock.readLock().lock();
+        try {
+            textLength = excerpts.length(postId);
+            if (textLength < 0) {
+                return null;
+            }
+            for (String term : terms) {
+                for (int start : content.matchStarts(term, postId)) {
+                    matches.add(new int[] {start, start + term.length()});
+                    first = Math.min(first, start);
+                }
+            }
+            if (matches.isEmpty()) {
+                return null;
+            }
+            from = Math.max(0, first - SNIPPET_CONTEXT_BEFORE);
+            to = Math.min(textLength, from + SNIPPET_LENGTH);
+            text = excerpts.read(postId, from, to);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (text == null) {
+            return null;
+        }
+
+        StringBuilder snippet = new StringBuilder();
+        int offset = -from;
+        if (from > 0) {
+            snippet.append(ELLIPSIS);
+            offset++;
+        }
+        snippet.append(text);
+        if (to < textLength) {
+            snippet.append(ELLIPSIS);
+        }
+
+        // 발췌 범위 안의 일치 구간만, 겹치면 합쳐서
+        matches.sort((a, b) -> Integer.compare(a[0], b[0]));
+        List<PostSnippet.Highlight> highlights = new ArrayList<>();
+        int lastEnd = -1;
+        for (int[] m : matches) {
+            int start = Math.max(m[0], from);
+            int end = Math.min(m[1], to);
+            if (start >= end) {
+                continue;
+            }
+            if (start <= lastEnd && !highlights.isEmpty()) {
+                PostSnippet.Highlight prev = highlights.remove(highlights.size() - 1);
+                start = prev.start() - offset;
+                end = Math.max(end, prev.end() - offset);
+            }
+            highlights.add(new PostSnippet.Highlight(start + offset, end + offset));
+            lastEnd = end;
+        }
+        return new PostSnippet(snippet.toString(), highlights);
+    }
+
+    @PreDestroy
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            excerpts.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 발췌용 본문 평문. 소문자로 바꿔도 길이가 같으면 대소문자를 유지하고, 아니면 색인 텍스트와 같은 소문자 평문
+     */
+    private String excerptOf(String contentMd) {
+        String display = analyzer.displayForm(MarkdownText.toPlainText(contentMd));
+        String lower = display.toLowerCase(Locale.ROOT);
+        return lower.length() == display.length() ? display : lower;
+    }
+
+    /**
+     * 필드 하나의 위치 색인: bigram -> PostingList(글별 정렬된 출현 위치, 압축), 글별 serial/길이/bigram 목록(삭제용)
+     * bigram 키는 정렬해 두어 한 글자 질의를 그 글자로 시작하는 bigram 범위 조회로 처리
+     * put마다 새 serial을 붙이고 posting에는 serial로 기록 (serialPosts로 글 id를 찾음, 대체된 serial은 NO_POST)
+     */
+    private static final class FieldIndex {
+        private static final long NO_POST = -1;
+
+        private final NavigableMap<String, PostingList> postings = new TreeMap<>();
+        private final Map<Long, Doc> docs = new HashMap<>();
+        private long[] serialPosts = new long[64];
+        private int nextSerial;
+        private long totalLength;
+
+        private record Doc(int serial, int length, PostingList[] grams) {}
+
+        void put(Long postId, String text, NGramAnalyzer analyzer) {
+            remove(postId);
+            Map<String, List<Integer>> positions = new HashMap<>();
+            for (int i = 0; i < text.length(); i++) {
+                positions.computeIfAbsent(analyzer.gramAt(text, i), k -> new ArrayList<>()).add(i);
+            }
+            int serial = nextSerial++;
+            if (serial == serialPosts.length) {
+                serialPosts = Arrays.copyOf(serialPosts, serial * 2);
+            }
+            serialPosts[serial] = postId;
+            PostingList[] grams = new PostingList[positions.size()];
+            int g = 0;
+            for (Map.Entry<String, List<Integer>> e : positions.entrySet()) {
+                int[] array = e.getValue().stream().mapToInt(Integer::intValue).toArray();
+                PostingList posting = postings.computeIfAbsent(e.getKey(), PostingList::new);
+                posting.append(serial, array);
+                grams[g++] = posting;
+            }
+            docs.put(postId, new Doc(serial, text.length(), grams));
+            totalLength += text.length();
+        }
+
+        void remove(Long postId) {
+            Doc doc = docs.remove(postId);
+            if (doc == null) {
+                return;
+            }
+            serialPosts[doc.serial()] = NO_POST;
+            for (PostingList posting : doc.grams()) {
+                posting.markDead(this::isLive);
+                if (posting.isEmpty()) {
+                    postings.remove(posting.gram, posting);
+                }
+            }
+            totalLength -= doc.length();
+        }
+
+        /** 남는 용량 정리 (전체 재구성 후) */
+        void trim() {
+            for (PostingList posting : postings.values()) {
+                posting.trim();
+            }
+            serialPosts = Arrays.copyOf(serialPosts, Math.max(nextSerial, 1));
+        }
+
+        int gramCount() {
+            return postings.size();
+        }
+
+        /** posting 압축 바이트 + serial 표 (통계용) */
+        long postingBytes() {
+            long bytes = 8L * serialPosts.length;
+            for (PostingList posting : postings.values()) {
+                bytes += posting.bytes();
+            }
+            return bytes;
+        }
+
+        private boolean isLive(int serial) {
+            return serialPosts[serial] != NO_POST;
+        }
+
+        /**
+         * 정규화된 검색어의 글별 출현 횟수
+         */
+        Map<Long, Integer> occurrences(String term) {
+            Map<Long, Integer> counts = new HashMap<>();
+            if (term.length() == 1) {
+                // 한 글자: 그 글자로 시작하는 모든 bigram의 위치 수 합계
+                for (PostingList posting : singleCharPostings(term)) {
+                    posting.forEachCount((serial, count) -> {
+                        long postId = serialPosts[serial];
+                        if (postId != NO_POST) {
+                            counts.merge(postId, count, Integer::sum);
+                        }
+                    });
+                }
+                return counts;
+            }
+
+            List<PostingList> gramPostings = gramPostings(term);
+            if (gramPostings == null) {
+                return counts;
+            }
+            PostingList smallest = gramPostings.get(0);
+            for (PostingList posting : gramPostings) {
+                if (posting.live() < smallest.live()) {
+                    smallest = posting;
+                }
+            }
+            smallest.forEachCount((serial, ignored) -> {
+                long postId = serialPosts[serial];
+                if (postId != NO_POST) {
+                    int count = matchStarts(gramPostings, serial).length;
+                    if (count > 0) {
+                        counts.put(postId, count);
+                    }
+                }
+            });
+            return counts;
+        }
+
+        /**
+         * 글 하나에서 검색어가 시작하는 위치 (오름차순)
+         */
+        int[] matchStarts(String term, Long postId) {
+            Doc doc = docs.get(postId);
+            if (doc == null) {
+                return new int[0];
+            }
+            if (term.length() == 1) {
+                // 그 글의 bigram 중 검색어 글자로 시작하는 것만
+                List<Integer> starts = new ArrayList<>();
+                for (PostingList posting : doc.grams()) {
+                    if (posting.gram.charAt(0) == term.charAt(0)) {
+                        for (int p : posting.positions(doc.serial())) starts.add(p);
+                    }
+                }
+                return starts.stream().mapToInt(Integer::intValue).sorted().toArray();
+            }
+            List<PostingList> gramPostings = gramPostings(term);
+            return gramPostings == null ? new int[0] : matchStarts(gramPostings, doc.serial());
+        }
+
+        private Collection<PostingList> singleCharPostings(String term) {
+            return postings.subMap(term + NGramAnalyzer.END, true, term + Character.MAX_VALUE, true).values();
+        }
+
+        /**
+         * 검색어를 이루는 bigram들의 posting (하나라도 없으면 null)
+         */
+        private List<PostingList> gramPostings(String term) {
+            int gramCount = term.length() - 1;
+            List<PostingList> result = new ArrayList<>(gramCount);
+            for (int k = 0; k < gramCount; k++) {
+                PostingList posting = postings.get(term.substring(k, k + 2));
+                if (posting == null) {
+                    return null;
+                }
+                result.add(posting);
+            }
+            return result;
+        }
+
+        /**
+         * k번째 bigram이 시작 위치 + k에 모두 있는 시작 위치 (첫 bigram 위치 수 x bigram 수 만큼의 이진 탐색)
+         */
+        private static int[] matchStarts(List<PostingList> gramPostings, int serial) {
+            int gramCount = gramPostings.size();
+            int[][] arrays = new int[gramCount][];
+            for (int k = 0; k < gramCount; k++) {
+                arrays[k] = gramPostings.get(k).positions(serial);
+                if (arrays[k] == null) {
+                    return new int[0];
+                }
+            }
+            int[] starts = new int[arrays[0].length];
+            int count = 0;
+            for (int start : arrays[0]) {
+                boolean match = true;
+                for (int k = 1; k < gramCount && match; k++) {
+                    match = Arrays.binarySearch(arrays[k], start + k) >= 0;
+                }
+                if (match) {
+                    starts[count++] = start;
+                }
+            }
+            return Arrays.copyOf(starts, count);
+        }
+
+        /**
+         * 검색어 하나의 BM25 점수를 scores에 더함 (tf = 출현 횟수, df = 검색어가 나오는 글 수)
+         */
+        void score(Map<Long, Integer> occurrences, double boost, Map<Long, Double> scores) {
+            int docCount = docs.size();
+            if (docCount == 0 || occurrences.isEmpty()) {
+                return;
+            }
+            double avgLength = Math.max(1.0, (double) totalLength / docCount);
+            double idf = Math.log(1 + (docCount - occurrences.size() + 0.5) / (occurrences.size() + 0.5));
+            for (Map.Entry<Long, Integer> e : occurrences.entrySet()) {
+                int tf = e.getValue();
+                double norm = tf + K1 * (1 - B + B * docs.get(e.getKey()).length() / avgLength);
+                scores.merge(e.getKey(), boost * idf * tf * (K1 + 1) / norm, Double::sum);
+            }
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.fasoo.cs_doc.post.search;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * bigram 하나의 posting 목록 (PostSearchIndex.FieldIndex 전용). 글마다 int[]와 Map 항목을 두지 않고 바이트 배열 하나에 이어 씀
+ *
+ * 기록: varint(serial 차이) varint(나머지 바이트 수) varint(출현 수) varint(첫 위치) varint(위치 차이)...
+ * - serial은 FieldIndex가 put마다 늘려 붙이는 번호라 기록은 항상 serial 오름차순 (차이와 위치 차이가 작아 대부분 1~2바이트)
+ * - 나머지 바이트 수를 앞에 두어 다른 글의 기록은 위치를 풀지 않고 건너뜀
+ * - SKIP_INTERVAL개마다 (직전 serial, 바이트 위치)를 두어 글 하나의 위치는 이진 탐색 후 그 구간 안에서만 찾음
+ * - 수정/삭제된 글의 기록은 바로 지우지 않고 죽은 기록으로 세다가 살아 있는 기록보다 많아지면 살아 있는 것만 다시 씀
+ */
+final class PostingList {
+
+    private static final int SKIP_INTERVAL = 32;
+
+    /** 기록 하나 (serial, 출현 수) */
+    @FunctionalInterface
+    interface CountConsumer {
+        void accept(int serial, int count);
+    }
+
+    final String gram;
+
+    private byte[] data = new byte[8];
+    private int size;
+    private int lastSerial = -1;
+    private int records;
+    private int dead;
+    // SKIP_INTERVAL * (i + 1)번째 기록의 직전 serial과 시작 바이트 위치
+    private int[] skipSerials;
+    private int[] skipOffsets;
+    private int skipCount;
+
+    PostingList(String gram) {
+        this.gram = gram;
+    }
+
+    /**
+     * 글 하나의 출현 위치(오름차순) 추가. serial은 이전에 추가한 것보다 커야 함
+     */
+    void append(int serial, int[] positions) {
+        if (serial <= lastSerial) {
+            throw new IllegalArgumentException("Serial must increase: " + serial + " <= " + lastSerial);
+        }
+        int payload = varintSize(positions.length);
+        int prev = 0;
+        for (int p : positions) {
+            payload += varintSize(p - prev);
+            prev = p;
+        }
+        int at = beginRecord(serial, payload);
+        at = writeVarint(at, positions.length);
+        prev = 0;
+        for (int p : positions) {
+            at = writeVarint(at, p - prev);
+            prev = p;
+        }
+        size = at;
+    }
+
+    /** 살아 있는 기록 수 (df) */
+    int live() {
+        return records - dead;
+    }
+
+    boolean isEmpty() {
+        return live() == 0;
+    }
+
+    /**
+     * 기록 하나가 수정/삭제로 대체됨. 죽은 기록이 더 많아지면 alive(serial)인 기록만 남기고 다시 씀
+     */
+    void markDead(IntPredicate alive) {
+        dead++;
+        if (dead > live() && !isEmpty()) {
+            compact(alive);
+        }
+    }
+
+    /**
+     * 모든 기록의 (serial, 출현 수). 죽은 기록도 포함하므로 호출 측이 serial로 거름
+     */
+    void forEachCount(CountConsumer consumer) {
+        int at = 0;
+        int serial = -1;
+        while (at < size) {
+            long v = readVarint(at);
+            serial += (int) v;
+            at = (int) (v >>> 32);
+            v = readVarint(at);
+            int payload = (int) v;
+            at = (int) (v >>> 32);
+            consumer.accept(serial, (int) readVarint(at));
+            at += payload;
+        }
+    }
+
+    /**
+     * serial 글의 출현 위치 (오름차순, 없으면 null)
+     */
+    int[] positions(int serial) {
+        if (serial > lastSerial) {
+            return null;
+        }
+        int at = 0;
+        int current = -1;
+        int skip = skipCount == 0 ? -1 : lastSkipBefore(serial);
+        if (skip >= 0) {
+            current = skipSerials[skip];
+            at = skipOffsets[skip];
+        }
+        while (at < size) {
+            long v = readVarint(at);
+            current += (int) v;
+            at = (int) (v >>> 32);
+            v = readVarint(at);
+            int payload = (int) v;
+            at = (int) (v >>> 32);
+            if (current == serial) {
+                return decodePositions(at);
+            }
+            if (current > serial) {
+                return null;
+            }
+            at += payload;
+        }
+        return null;
+    }
+
+    /** 할당된 바이트 수 (통계용) */
+    long bytes() {
+        return data.length + (skipSerials == null ? 0 : 8L * skipSerials.length);
+    }
+
+    /** 남는 용량 정리 (전체 재구성 후) */
+    void trim() {
+        if (data.length > size) {
+            data = Arrays.copyOf(data, Math.max(size, 1));
+        }
+        if (skipSerials != null && skipSerials.length > skipCount) {
+            skipSerials = Arrays.copyOf(skipSerials, skipCount);
+            skipOffsets = Arrays.copyOf(skipOffsets, skipCount);
+        }
+    }
+
+    private int[] decodePositions(int at) {
+        long v = readVarint(at);
+        int[] positions = new int[(int) v];
+        at = (int) (v >>> 32);
+        int prev = 0;
+        for (int i = 0; i < positions.length; i++) {
+            v = readVarint(at);
+            prev += (int) v;
+            positions[i] = prev;
+            at = (int) (v >>> 32);
+        }
+        return positions;
+    }
+
+    private void compact(IntPredicate alive) {
+        byte[] old = data;
+        int oldSize = size;
+        data = new byte[Math.max(8, oldSize / 2)];
+        size = 0;
+        lastSerial = -1;
+        records = 0;
+        dead = 0;
+        skipSerials = null;
+        skipOffsets = null;
+        skipCount = 0;
+
+        int at = 0;
+        int serial = -1;
+        while (at < oldSize) {
+            long v = readVarint(old, at);
+            serial += (int) v;
+            at = (int) (v >>> 32);
+            v = readVarint(old, at);
+            int payload = (int) v;
+            at = (int) (v >>> 32);
+            if (alive.test(serial)) {
+                int to = beginRecord(serial, payload);
+                System.arraycopy(old, at, data, to, payload);
+                size = to + payload;
+            }
+            at += payload;
+        }
+    }
+
+    /**
+     * 기록 머리(serial 차이, 나머지 바이트 수)를 쓰고 나머지를 쓸 위치 반환 (용량은 나머지까지 확보)
+     */
+    private int beginRecord(int serial, int payload) {
+        if (records > 0 && records % SKIP_INTERVAL == 0) {
+            addSkip(lastSerial, size);
+        }
+        int delta = serial - lastSerial;
+        ensureCapacity(size + varintSize(delta) + varintSize(payload) + payload);
+        int at = writeVarint(size, delta);
+        at = writeVarint(at, payload);
+        lastSerial = serial;
+        records++;
+        return at;
+    }
+
+    private void addSkip(int serial, int offset) {
+        if (skipSerials == null) {
+            skipSerials = new int[4];
+            skipOffsets = new int[4];
+        } else if (skipCount == skipSerials.length) {
+            skipSerials = Arrays.copyOf(skipSerials, skipCount * 2);
+            skipOffsets = Arrays.copyOf(skipOffsets, skipCount * 2);
+        }
+        skipSerials[skipCount] = serial;
+        skipOffsets[skipCount] = offset;
+        skipCount++;
+    }
+
+    /** 직전 serial이 serial보다 작은 마지막 건너뛰기 지점 (없으면 -1) */
+    private int lastSkipBefore(int serial) {
+        int lo = 0;
+        int hi = skipCount - 1;
+        int found = -1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (skipSerials[mid] < serial) {
+                found = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > data.length) {
+            data = Arrays.copyOf(data, Math.max(required, data.length + (data.length >> 1)));
+        }
+    }
+
+    private int writeVarint(int at, int value) {
+        while ((value & ~0x7F) != 0) {
+            data[at++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[at++] = (byte) value;
+        return at;
+    }
+
+    private long readVarint(int at) {
+        return readVarint(data, at);
+    }
+
+    /** 값(하위 32비트)과 다음 위치(상위 32비트) */
+    private static long readVarint(byte[] buf, int at) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buf[at++];
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return ((long) at << 32) | (value & 0xFFFFFFFFL);
+    }
+
+    private static int varintSize(int value) {
+        int bytes = 1;
+        while ((value & ~0x7F) != 0) {
+            bytes++;
+            value >>>= 7;
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,28 @@
+package com.fasoo.cs_doc.post.search;
+
+import com.fasoo.cs_doc.post.domain.Post;
+import com.fasoo.cs_doc.post.domain.PostCategory;
+
+/**
+ * 색인 대상 게시글 한 건
+ * @param contentMd null이면 본문 색인은 그대로 두고 제목/메타 정보만 갱신
+ */
+public record SearchDocument(
+        Long postId,
+        String title,
+        String contentMd,
+        Long categoryId,
+        PostCategory legacyCategory,
+        boolean notice
+) {
+    public static SearchDocument of(Post post, String contentMd) {
+        return new SearchDocument(
+                post.getId(),
+                post.getTitle(),
+                contentMd,
+                post.getCategoryId(),
+                post.getCategory(),
+                post.getIsNotice()
+        );
+    }
+}
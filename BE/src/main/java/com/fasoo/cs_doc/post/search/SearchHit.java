@@ -0,0 +1,15 @@
+package com.fasoo.cs_doc.post.search;
+
+import com.fasoo.cs_doc.post.domain.PostCategory;
+
+/**
+ * 검색 결과 한 건 (점수 내림차순으로 정렬되어 반환됨)
+ * 목록 필터(카테고리/공지사항)를 DB 조회 없이 적용할 수 있도록 색인 시점의 메타 정보를 함께 가짐
+ */
+public record SearchHit(
+        Long postId,
+        double score,
+        Long categoryId,
+        PostCategory legacyCategory,
+        boolean notice
+) {}
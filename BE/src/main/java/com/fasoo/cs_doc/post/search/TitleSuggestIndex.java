@@ -0,0 +1,296 @@
+package com.fasoo.cs_doc.post.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 제목 자동완성용 접두사 트라이 (메모리, 삭제되지 않은 글)
+ *
+ * - 정규화된 제목의 각 단어 시작 위치부터의 접미사를 MAX_DEPTH 글자까지 트라이에 넣음
+ *   ("신입 교육 자료"는 "신입 교육 자료", "교육 자료", "자료"로 시작하는 입력 모두에 걸림)
+ * - 노드마다 하위 트리의 조회수 상위 MAX_LIMIT건(불변 목록)을 항상 유지
+ *   제목 추가와 조회수 증가는 경로상 노드의 목록에 그 글 하나만 끼워 넣고 (조회수는 증가만 하므로 기존 목록과 비교하면 충분),
+ *   삭제는 그 글이 목록에 있던 노드만 아래에서부터 자식들의 목록으로 다시 계산
+ * - 조회는 락 없이 경로를 따라가 노드의 목록을 그대로 반환 (쓰기는 하나씩, 노드 목록은 통째로 교체하므로 읽기는 항상 완성된 목록을 봄)
+ *   비용은 입력 길이 + 목록 복사 정도라 DB를 거치지 않고 1ms보다 훨씬 짧게 응답
+ * - 기동 시 배치 단위로 재구성 (beginRebuild → loadBatch → finishRebuild). 재구성 중 put/remove된 글은 배치로 덮어쓰지 않음
+ */
+@Component
+public class TitleSuggestIndex {
+
+    /** 한 요청에서 돌려줄 수 있는 최대 건수 (노드별 목록 크기) */
+    public static final int MAX_LIMIT = 20;
+    /** 트라이에 넣는 접미사 최대 길이 (더 긴 입력은 이 깊이의 노드에서 후보를 골라 직접 확인) */
+    private static final int MAX_DEPTH = 20;
+
+    private static final Comparator<Suggestion> BY_VIEW_COUNT = Comparator
+            .comparingLong(Suggestion::viewCount).reversed()
+            .thenComparing(Suggestion::postId, Comparator.reverseOrder());
+
+    private final NGramAnalyzer analyzer = new NGramAnalyzer();
+
+    private final Node root = new Node();
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    /** 재구성 중 put/remove된 글 (재구성 중이 아니면 null) */
+    private Set<Long> rebuildTouched;
+
+    public record Suggestion(Long postId, String title, long viewCount) {}
+
+    private record Entry(Suggestion suggestion, String normalized) {}
+
+    private static final class Node {
+        final Map<Character, Node> children = new ConcurrentHashMap<>();
+        final Set<Long> ends = ConcurrentHashMap.newKeySet();
+        /** 하위 트리의 조회수 상위 MAX_LIMIT건 (루트는 사용 안 함) */
+        volatile List<Suggestion> top = List.of();
+    }
+
+    /**
+     * 글 제목 추가/변경 (제목이 같으면 조회수만 갱신)
+     */
+    public synchronized void put(Long postId, String title, long viewCount) {
+        if (rebuildTouched != null) {
+            rebuildTouched.add(postId);
+        }
+        putLocked(postId, title, viewCount);
+    }
+
+    private void putLocked(Long postId, String title, long viewCount) {
+        Entry existing = entries.get(postId);
+        if (existing != null && existing.suggestion().title().equals(title)) {
+            viewedLocked(postId, viewCount);
+            return;
+        }
+        if (existing != null) {
+            removeLocked(postId, existing);
+        }
+        Entry entry = new Entry(new Suggestion(postId, title, viewCount), analyzer.normalize(title));
+        entries.put(postId, entry);
+        for (int start : wordStarts(entry.normalized())) {
+            Node node = root;
+            int end = Math.min(entry.normalized().length(), start + MAX_DEPTH);
+            for (int i = start; i < end; i++) {
+                node = node.children.computeIfAbsent(entry.normalized().charAt(i), c -> new Node());
+                node.top = withSuggestion(node.top, entry.suggestion());
+            }
+            node.ends.add(postId);
+        }
+    }
+
+    public synchronized void remove(Long postId) {
+        if (rebuildTouched != null) {
+            rebuildTouched.add(postId);
+        }
+        Entry existing = entries.get(postId);
+        if (existing != null) {
+            removeLocked(postId, existing);
+        }
+    }
+
+    /**
+     * 조회수 갱신. 경로상 노드의 상위 목록에서 순위만 조정.
+     */
+    public synchronized void viewed(Long postId, long viewCount) {
+        viewedLocked(postId, viewCount);
+    }
+
+    private void viewedLocked(Long postId, long viewCount) {
+        Entry entry = entries.get(postId);
+        if (entry == null || entry.suggestion().viewCount() == viewCount) {
+            return;
+        }
+        Suggestion updated = new Suggestion(postId, entry.suggestion().title(), viewCount);
+        entries.put(postId, new Entry(updated, entry.normalized()));
+        for (int start : wordStarts(entry.normalized())) {
+            Node node = root;
+            int end = Math.min(entry.normalized().length(), start + MAX_DEPTH);
+            for (int i = start; i < end && node != null; i++) {
+                node = node.children.get(entry.normalized().charAt(i));
+                if (node != null) {
+                    node.top = withSuggestion(node.top, updated);
+                }
+            }
+        }
+    }
+
+    /**
+     * 전체 재구성 시작 (기동 시): 트라이를 비우고 이후 put/remove된 글을 기록
+     */
+    public synchronized void beginRebuild() {
+        root.children.clear();
+        root.ends.clear();
+        entries.clear();
+        rebuildTouched = new HashSet<>();
+    }
+
+    /**
+     * 재구성 배치 추가 (재구성 중 이미 put/remove된 글은 건너뜀)
+     */
+    public synchronized void loadBatch(List<Suggestion> batch) {
+        for (Suggestion s : batch) {
+            if (rebuildTouched == null || !rebuildTouched.contains(s.postId())) {
+                putLocked(s.postId(), s.title(), s.viewCount());
+            }
+        }
+    }
+
+    public synchronized void finishRebuild() {
+        rebuildTouched = null;
+    }
+
+    /**
+     * 입력과 일치하는 단어로 시작하는 제목을 조회수 순으로 최대 limit건 (락 없음)
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String q = analyzer.normalize(prefix);
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+        if (q.isEmpty()) {
+            return List.of();
+        }
+        Node node = root;
+        int depth = Math.min(q.length(), MAX_DEPTH);
+        for (int i = 0; i < depth && node != null; i++) {
+            node = node.children.get(q.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+
+        List<Suggestion> top;
+        if (q.length() <= MAX_DEPTH) {
+            top = node.top;
+        } else {
+            // 트라이 깊이보다 긴 입력: 깊이 제한 노드의 후보 중 실제로 일치하는 것만
+            Set<Long> candidates = new LinkedHashSet<>();
+            collect(node, candidates);
+            top = candidates.stream()
+                    .map(entries::get)
+                    .filter(Objects::nonNull)
+                    .filter(e -> startsWithWordAt(e.normalized(), q))
+                    .map(Entry::suggestion)
+                    .sorted(BY_VIEW_COUNT)
+                    .toList();
+        }
+        return top.size() <= size ? top : List.copyOf(top.subList(0, size));
+    }
+
+    /**
+     * 글의 경로마다 끝 노드에서 빼고, 그 글이 상위 목록에 있던 노드는 아래에서부터 다시 계산 (비게 된 노드는 떼어냄)
+     */
+    private void removeLocked(Long postId, Entry entry) {
+        List<List<Node>> paths = new ArrayList<>();
+        List<Integer> starts = wordStarts(entry.normalized());
+        for (int start : starts) {
+            Node node = root;
+            List<Node> path = new ArrayList<>();
+            int end = Math.min(entry.normalized().length(), start + MAX_DEPTH);
+            for (int i = start; i < end && node != null; i++) {
+                node = node.children.get(entry.normalized().charAt(i));
+                if (node != null) {
+                    path.add(node);
+                }
+            }
+            if (node != null) {
+                node.ends.remove(postId);
+            }
+            paths.add(path);
+        }
+        entries.remove(postId);
+
+        for (int p = 0; p < paths.size(); p++) {
+            List<Node> path = paths.get(p);
+            int start = starts.get(p);
+            for (int i = path.size() - 1; i >= 0; i--) {
+                Node child = path.get(i);
+                Node parent = i == 0 ? root : path.get(i - 1);
+                if (child.ends.isEmpty() && child.children.isEmpty()) {
+                    parent.children.remove(entry.normalized().charAt(start + i), child);
+                } else if (contains(child.top, postId)) {
+                    child.top = computeTop(child);
+                }
+            }
+        }
+    }
+
+    /**
+     * 노드에 끝나는 글과 자식들의 상위 목록을 합친 상위 MAX_LIMIT건 (자식 목록은 이미 최신이어야 함)
+     */
+    private List<Suggestion> computeTop(Node node) {
+        Map<Long, Suggestion> merged = new LinkedHashMap<>();
+        for (Long id : node.ends) {
+            Entry entry = entries.get(id);
+            if (entry != null) {
+                merged.put(id, entry.suggestion());
+            }
+        }
+        for (Node child : node.children.values()) {
+            for (Suggestion s : child.top) {
+                merged.put(s.postId(), s);
+            }
+        }
+        return merged.values().stream().sorted(BY_VIEW_COUNT).limit(MAX_LIMIT).toList();
+    }
+
+    /**
+     * 목록에 글 하나를 넣거나 바꾼 새 목록 (조회수 순, 최대 MAX_LIMIT건)
+     */
+    private static List<Suggestion> withSuggestion(List<Suggestion> top, Suggestion suggestion) {
+        List<Suggestion> next = new ArrayList<>(top.size() + 1);
+        for (Suggestion s : top) {
+            if (!s.postId().equals(suggestion.postId())) {
+                next.add(s);
+            }
+        }
+        if (next.size() == MAX_LIMIT && BY_VIEW_COUNT.compare(suggestion, next.get(MAX_LIMIT - 1)) > 0) {
+            return top; // 꽉 찬 목록의 마지막보다 뒤
+        }
+        next.add(suggestion);
+        next.sort(BY_VIEW_COUNT);
+        return List.copyOf(next.size() > MAX_LIMIT ? next.subList(0, MAX_LIMIT) : next);
+    }
+
+    private static boolean contains(List<Suggestion> top, Long postId) {
+        for (Suggestion s : top) {
+            if (s.postId().equals(postId)) return true;
+        }
+        return false;
+    }
+
+    private void collect(Node node, Set<Long> out) {
+        out.addAll(node.ends);
+        for (Node child : node.children.values()) {
+            collect(child, out);
+        }
+    }
+
+    private static boolean startsWithWordAt(String normalized, String q) {
+        for (int start : wordStarts(normalized)) {
+            if (normalized.startsWith(q, start)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * 단어 시작 위치 (문자/숫자이면서 처음이거나 앞 글자가 문자/숫자가 아닌 위치)
+     */
+    private static List<Integer> wordStarts(String normalized) {
+        List<Integer> starts = new ArrayList<>();
+        for (int i = 0; i < normalized.length(); i++) {
+            if (Character.isLetterOrDigit(normalized.charAt(i))
+                    && (i == 0 || !Character.isLetterOrDigit(normalized.charAt(i - 1)))) {
+                starts.add(i);
+            }
+        }
+        return starts;
+    }
+}
@@ -1,30 +1,34 @@
 package com.fasoo.cs_doc.post.service;
 
+import com.fasoo.cs_doc.blob.service.BlobStore;
 import com.fasoo.cs_doc.global.config.StorageProperties;
+import com.fasoo.cs_doc.global.file.ShardedLayout;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
+/**
+ * 게시글 첨부파일 저장. 새 첨부파일은 BlobStore(내용 주소, 참조 수)에 저장하므로 같은 파일은 한 번만 저장됨.
+ * 예전 /uploads/attachments/{uuid}.ext 형식 URL은 삭제 시 파일을 직접 지움
+ * (평면 경로에 없으면 PostContentLayoutMigration이 옮겨 둔 샤딩 경로에서 지움).
+ */
 @Component
 public class AttachmentStorage {
 
     private static final String ATTACHMENTS_DIR = "attachments";
     private static final long MAX_FILE_SIZE = 50L * 1024 * 1024; // 50MB
     private final Path uploadRoot;
+    private final BlobStore blobStore;
 
-    public AttachmentStorage(StorageProperties props) {
-        String uploadDir = props.uploadDir();
-        if (uploadDir == null || uploadDir.isBlank()) {
-            uploadDir = Path.of(props.mdRoot()).getParent().resolve("uploads").toString();
-        }
-        this.uploadRoot = Path.of(uploadDir).toAbsolutePath().normalize();
+    public AttachmentStorage(StorageProperties props, BlobStore blobStore) {
+        this.blobStore = blobStore;
+        this.uploadRoot = props.uploadRoot();
     }
 
     /**
@@ -36,8 +40,6 @@ public class AttachmentStorage {
         }
 
         List<String> urls = new ArrayList<>();
-        Path attachmentsDir = uploadRoot.resolve(ATTACHMENTS_DIR);
-        Files.createDirectories(attachmentsDir);
 
         for (MultipartFile file : files) {
             if (file == null || file.isEmpty()) {
@@ -57,22 +59,19 @@ public class AttachmentStorage {
             String ext = "";
             int lastDot = originalFilename.lastIndexOf('.');
             if (lastDot >= 0 && lastDot < originalFilename.length() - 1) {
-                ext = originalFilename.substring(lastDot);
+                ext = originalFilename.substring(lastDot + 1);
             }
 
-            String filename = UUID.randomUUID().toString() + ext;
-            Path target = attachmentsDir.resolve(filename);
-            Files.copy(file.getInputStream(), target, StandardCopyOption.REPLACE_EXISTING);
-
-            String url = "/uploads/" + ATTACHMENTS_DIR + "/" + filename;
-            urls.add(url);
+            try (InputStream in = file.getInputStream()) {
+                urls.add(blobStore.store(in, ext));
+            }
         }
 
         return urls;
     }
 
     /**
-     * 첨부파일 삭제 (게시글 삭제 시 사용)
+     * 첨부파일 삭제 (게시글 삭제/첨부파일 교체 시 사용)
      */
     public void deleteAttachments(List<String> urls) {
         if (urls == null || urls.isEmpty()) {
@@ -80,14 +79,24 @@ public class AttachmentStorage {
         }
 
         for (String url : urls) {
+            // blob 첨부파일은 참조만 해제 (같은 파일을 다른 글이 쓰고 있을 수 있음)
+            if (blobStore.release(url)) {
+                continue;
+            }
             if (url == null || !url.startsWith("/uploads/" + ATTACHMENTS_DIR + "/")) {
                 continue;
             }
 
-            String filename = url.substring(("/uploads/" + ATTACHMENTS_DIR + "/").length());
-            Path file = uploadRoot.resolve(ATTACHMENTS_DIR).resolve(filename);
+            String relative = url.substring("/uploads/".length());
+            String sharded = ShardedLayout.shardedUploadPath(relative);
+            if (sharded == null) {
+                continue;
+            }
             try {
-                Files.deleteIfExists(file);
+                // 평면 경로 먼저, 없으면 샤딩 경로 (LegacyUploadPathResolver와 같은 순서)
+                if (!Files.deleteIfExists(uploadRoot.resolve(relative))) {
+                    Files.deleteIfExists(uploadRoot.resolve(sharded));
+                }
             } catch (IOException e) {
                 // 로그만 남기고 계속 진행
                 System.err.println("Failed to delete attachment: " + url + " - " + e.getMessage());
@@ -0,0 +1,32 @@
+package com.fasoo.cs_doc.post.service;
+
+import com.fasoo.cs_doc.post.service.PostContentStorage.StoredFile;
+
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * 본문 저장 방식 (PostContentStorage가 선택해서 사용, app.storage.content-backend)
+ *
+ * 키는 정규화된 논리 경로(posts/ab/cd/{id}.md 또는 예전 posts/{id}.md). 본문은 이미 정규화된 상태로 넘어옴.
+ * 캐시 무효화와 입력 정규화는 PostContentStorage가 담당.
+ */
+interface ContentBackend {
+
+    /** 본문 (없으면 null) */
+    String read(String key) throws IOException;
+
+    /** 스트리밍용 실제 저장 위치 (없으면 null) */
+    StoredFile locate(String key);
+
+    void write(String key, String markdown) throws IOException;
+
+    /** 없으면 그냥 통과 */
+    void delete(String key) throws IOException;
+
+    /** 해당 키들의 본문을 디스크에 내림 (fsync, ContentJournal 체크포인트용) */
+    void force(Collection<String> keys) throws IOException;
+
+    /** 종료 시 정리 (기본은 할 일 없음) */
+    default void close() {}
+}
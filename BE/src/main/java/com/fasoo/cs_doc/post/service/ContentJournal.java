@@ -0,0 +1,410 @@
+package com.fasoo.cs_doc.post.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.zip.CRC32;
+
+/**
+ * 본문 쓰기/삭제 저널 (group commit + write-behind, app.storage.content-journal=true)
+ *
+ * - 요청 스레드는 저널 큐에 넣고 fsync될 때까지만 기다림. 저널 스레드 하나가 쌓인 요청을 한 번에 저널 파일에 쓰고
+ *   fsync 한 번으로 모두 확정한 뒤 응답. 그다음 ContentBackend(파일/세그먼트)에 순서대로 반영
+ *   (요청이 몰리면 앞 배치를 fsync하는 동안 다음 요청들이 쌓여 한 번에 처리됨)
+ * - fsync된 뒤 반영 전인 키는 pending에 남아 있어 읽기(PostContentStorage.read, 원문 스트리밍)는 기다리지 않고 메모리의 새 본문을 봄
+ *   (fsync 전에는 pending에 넣지 않으므로 실패로 응답할 쓰기가 읽히는 일은 없음)
+ * - 응답 대기(ACK_TIMEOUT_SECONDS)가 지나면 아직 큐에 있는 요청은 큐에서 빼고 실패로 응답 (저널에 쓰이지 않으므로 DB 롤백 뒤 반영되는 일 없음)
+ *   저널 스레드가 이미 가져간 요청은 fsync 결과가 정해질 때까지 기다림 (성공이면 확정, 실패면 실패로 응답)
+ * - 반영에 실패한 요청은 저널에 남겨 둔 채 간격을 늘려 가며 다시 반영. 같은 키의 새 요청이 반영되면 대체된 것으로 보고 버림
+ * - 요청이 잠시 없거나 저널이 checkpointBytes를 넘으면 반영한 키를 ContentBackend.force로 디스크에 내린 뒤 저널을 비움
+ *   (다시 반영할 요청이 남아 있으면 비우지 않음)
+ * - 기동 시 저널에 남은 기록(반영 또는 force 전에 종료된 경우)을 순서대로 다시 반영하고 비움. 끝이 깨진 기록은 무시
+ *
+ * 기록: magic(4) keyLen(4) valueLen(4, 삭제는 -1) crc32(key+value, 4) key value
+ */
+final class ContentJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentJournal.class);
+
+    static final String JOURNAL_DIR = "journal";
+    private static final String JOURNAL_FILE = "content.journal";
+
+    private static final int MAGIC = 0x4D444A4C; // "MDJL"
+    private static final int HEADER_BYTES = 16;
+    private static final int MAX_KEY_BYTES = 1024;
+    private static final int DELETE = -1;
+    private static final int MAX_BATCH = 256;
+    private static final long ACK_TIMEOUT_SECONDS = 30;
+    private static final long POLL_MILLIS = 200;
+    private static final long RETRY_MIN_MILLIS = 1000;
+    private static final long RETRY_MAX_MILLIS = 60_000;
+
+    private final ContentBackend target;
+    private final Path file;
+    private final FileChannel channel;
+    private final long checkpointBytes;
+
+    private final BlockingQueue<Op> queue = new LinkedBlockingQueue<>();
+    /** fsync했지만 아직 반영하지 않은 키의 마지막 요청 (예전 평면 경로는 샤딩 경로로 묶음, 저널 스레드만 추가) */
+    private final Map<String, Op> pending = new ConcurrentHashMap<>();
+    /** closed와 큐 추가 순서를 맞추기 위한 락 */
+    private final Object enqueueLock = new Object();
+    private final Thread writer;
+    private volatile boolean closed;
+
+    /** 저널 스레드 전용: 마지막 비운 뒤 반영한 키 (force 대상) */
+    private final Set<String> appliedSinceCheckpoint = new LinkedHashSet<>();
+    /** 저널 스레드 전용: 반영에 실패해 다시 시도할 요청 (pendingKey별 마지막 것). 비어 있을 때만 저널을 비움 */
+    private final Map<String, Op> failed = new LinkedHashMap<>();
+    private long retryDelayMillis = RETRY_MIN_MILLIS;
+    private long retryAtNanos;
+
+    /**
+     * 쓰기(markdown) 또는 삭제(null) 요청
+     */
+    static final class Op {
+        final String key;
+        final String markdown;
+        final CompletableFuture<Void> durable = new CompletableFuture<>();
+
+        Op(String key, String markdown) {
+            this.key = key;
+            this.markdown = markdown;
+        }
+
+        boolean isDelete() {
+            return markdown == null;
+        }
+    }
+
+    ContentJournal(Path mdRoot, ContentBackend target, long checkpointBytes) {
+        this.target = target;
+        this.file = mdRoot.resolve(JOURNAL_DIR).resolve(JOURNAL_FILE);
+        this.checkpointBytes = checkpointBytes;
+        try {
+            Files.createDirectories(file.getParent());
+            this.channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            replay();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to open content journal: " + file, e);
+        }
+        this.writer = new Thread(this::runWriter, "content-journal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /** 쓰기 요청. fsync될 때까지 기다림 */
+    void write(String key, String markdown) throws IOException {
+        submit(new Op(key, markdown));
+    }
+
+    /** 삭제 요청. fsync될 때까지 기다림 */
+    void delete(String key) throws IOException {
+        submit(new Op(key, null));
+    }
+
+    /** 아직 반영되지 않은 요청 (없으면 null) */
+    Op pending(String key) {
+        return pending.get(pendingKey(key));
+    }
+
+    /** 남은 요청을 모두 반영하고 저널 스레드 종료 */
+    void close() {
+        synchronized (enqueueLock) {
+            closed = true;
+        }
+        // FileChannel은 인터럽트되면 닫히므로 interrupt 대신 poll 타임아웃으로 종료를 알아챔
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(ACK_TIMEOUT_SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // 닫기 실패는 무시
+        }
+    }
+
+    private void submit(Op op) throws IOException {
+        synchronized (enqueueLock) {
+            if (closed) {
+                throw new IllegalStateException("Content journal is closed");
+            }
+            queue.add(op);
+        }
+        try {
+            op.durable.get(ACK_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException | InterruptedException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            // 아직 큐에 있으면 취소 (저널에 쓰이지 않으므로 실패로 응답해도 나중에 반영되지 않음)
+            if (queue.remove(op)) {
+                throw new IOException("Content journal write cancelled: " + op.key, e);
+            }
+            // 저널 스레드가 이미 가져갔으면 fsync 결과를 그대로 따름
+            try {
+                op.durable.join();
+            } catch (CompletionException ce) {
+                throw asIOException(ce.getCause());
+            }
+        } catch (ExecutionException e) {
+            throw asIOException(e.getCause());
+        }
+    }
+
+    private static IOException asIOException(Throwable cause) {
+        return cause instanceof IOException io ? io : new IOException(cause);
+    }
+
+    private void runWriter() {
+        List<Op> batch = new ArrayList<>(MAX_BATCH);
+        while (true) {
+            try {
+                synchronized (enqueueLock) {
+                    if (closed && queue.isEmpty()) {
+                        retryFailed(true);
+                        checkpoint();
+                        return;
+                    }
+                }
+                Op first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    retryFailed(false);
+                    checkpoint(); // 한가할 때 비움 (체크포인트의 fsync가 다음 요청의 응답을 늦추지 않도록)
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+                commit(batch);
+                apply(batch);
+                if (channel.size() >= checkpointBytes) {
+                    checkpoint();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | RuntimeException e) {
+                log.error("Content journal writer error: {}", e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /** 배치를 저널 끝에 한 번에 쓰고 fsync 한 번 뒤 요청 스레드에 응답 */
+    private void commit(List<Op> batch) {
+        long start;
+        try {
+            start = channel.size();
+        } catch (IOException e) {
+            fail(batch, e);
+            return;
+        }
+        try {
+            List<ByteBuffer> records = new ArrayList<>(batch.size());
+            for (Op op : batch) {
+                records.add(encode(op));
+            }
+            long pos = start;
+            for (ByteBuffer record : records) {
+                while (record.hasRemaining()) {
+                    pos += channel.write(record, pos);
+                }
+            }
+            channel.force(false);
+        } catch (IOException | RuntimeException e) {
+            try {
+                channel.truncate(start); // 이 배치는 실패로 응답하므로 재기동 시 반영되지 않도록
+            } catch (IOException ignored) {
+                // 끝이 깨진 기록은 replay에서 무시됨
+            }
+            fail(batch, e instanceof IOException io ? io : new IOException(e));
+            return;
+        }
+        for (Op op : batch) {
+            pending.put(pendingKey(op.key), op); // 배치 순서대로 넣으므로 같은 키는 마지막 요청이 남음
+            op.durable.complete(null);
+        }
+    }
+
+    private void fail(List<Op> batch, IOException e) {
+        for (Op op : batch) {
+            op.durable.completeExceptionally(e);
+        }
+        batch.clear();
+    }
+
+    /** 확정된 요청을 순서대로 ContentBackend에 반영 */
+    private void apply(List<Op> batch) {
+        for (Op op : batch) {
+            // 같은 키의 실패한 요청은 이 요청으로 대체됨 (나중에 다시 반영하면 새 본문을 덮어쓰므로 버림)
+            failed.remove(pendingKey(op.key));
+            try {
+                applyOne(op);
+            } catch (IOException | RuntimeException e) {
+                // 저널에는 남아 있으므로 다시 반영할 때까지 읽기는 pending의 새 본문을 봄
+                if (failed.isEmpty()) {
+                    retryDelayMillis = RETRY_MIN_MILLIS;
+                    retryAtNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(retryDelayMillis);
+                }
+                failed.put(pendingKey(op.key), op);
+                log.error("Failed to apply journaled content {}: {}", op.key, e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * 반영에 실패한 요청을 다시 반영 (force면 대기 시간과 무관하게). 또 실패하면 다음 시도까지 간격을 두 배로 (최대 RETRY_MAX_MILLIS)
+     */
+    private void retryFailed(boolean force) {
+        if (failed.isEmpty() || (!force && System.nanoTime() - retryAtNanos < 0)) {
+            return;
+        }
+        for (Iterator<Op> it = failed.values().iterator(); it.hasNext(); ) {
+            Op op = it.next();
+            try {
+                applyOne(op);
+                it.remove();
+            } catch (IOException | RuntimeException e) {
+                log.warn("Retry of journaled content {} failed: {}", op.key, e.getMessage());
+            }
+        }
+        if (failed.isEmpty()) {
+            retryDelayMillis = RETRY_MIN_MILLIS;
+            log.info("Journaled content re-applied");
+        } else {
+            retryDelayMillis = Math.min(retryDelayMillis * 2, RETRY_MAX_MILLIS);
+            retryAtNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(retryDelayMillis);
+        }
+    }
+
+    private void applyOne(Op op) throws IOException {
+        if (op.isDelete()) {
+            target.delete(op.key);
+        } else {
+            target.write(op.key, op.markdown);
+        }
+        appliedSinceCheckpoint.add(op.key);
+        pending.remove(pendingKey(op.key), op);
+    }
+
+    /** 반영한 키를 디스크에 내린 뒤 저널 비우기 */
+    private void checkpoint() throws IOException {
+        if (!failed.isEmpty() || channel.size() == 0) {
+            return;
+        }
+        target.force(appliedSinceCheckpoint);
+        appliedSinceCheckpoint.clear();
+        channel.truncate(0);
+        channel.force(true);
+    }
+
+    /** 기동 시 저널에 남은 기록을 순서대로 반영하고 비움 */
+    private void replay() throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            return;
+        }
+        long pos = 0;
+        int replayed = 0;
+        Set<String> keys = new LinkedHashSet<>();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while (pos + HEADER_BYTES <= size) {
+            header.clear();
+            readFully(header, pos);
+            header.flip();
+            if (header.getInt() != MAGIC) break;
+            int keyLength = header.getInt();
+            int valueLength = header.getInt();
+            int crcValue = header.getInt();
+            if (keyLength <= 0 || keyLength > MAX_KEY_BYTES || valueLength < DELETE) break;
+            long recordBytes = (long) HEADER_BYTES + keyLength + Math.max(valueLength, 0);
+            if (pos + recordBytes > size) break;
+
+            ByteBuffer body = ByteBuffer.allocate((int) (recordBytes - HEADER_BYTES));
+            readFully(body, pos + HEADER_BYTES);
+            CRC32 crc = new CRC32();
+            crc.update(body.array());
+            if ((int) crc.getValue() != crcValue) break;
+
+            String key = new String(body.array(), 0, keyLength, StandardCharsets.UTF_8);
+            if (valueLength == DELETE) {
+                target.delete(key);
+            } else {
+                target.write(key, new String(body.array(), keyLength, valueLength, StandardCharsets.UTF_8));
+            }
+            keys.add(key);
+            replayed++;
+            pos += recordBytes;
+        }
+        if (pos < size) {
+            log.warn("Ignoring damaged tail of content journal {}: {} of {} bytes", file, size - pos, size);
+        }
+        target.force(keys);
+        channel.truncate(0);
+        channel.force(true);
+        log.info("Content journal replayed: records={}, keys={}", replayed, keys.size());
+    }
+
+    private void readFully(ByteBuffer buf, long position) throws IOException {
+        long pos = position;
+        while (buf.hasRemaining()) {
+            int n = channel.read(buf, pos);
+            if (n < 0) throw new IOException("Unexpected end of journal");
+            pos += n;
+        }
+    }
+
+    private static String pendingKey(String key) {
+        String sharded = PostContentStorage.shardedPathForLegacy(key);
+        return sharded != null ? sharded : key;
+    }
+
+    private static ByteBuffer encode(Op op) {
+        byte[] keyBytes = op.key.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length > MAX_KEY_BYTES) {
+            throw new IllegalArgumentException("Content key too long: " + op.key);
+        }
+        byte[] value = op.isDelete() ? null : op.markdown.getBytes(StandardCharsets.UTF_8);
+        CRC32 crc = new CRC32();
+        crc.update(keyBytes);
+        if (value != null) {
+            crc.update(value);
+        }
+        ByteBuffer buf = ByteBuffer.allocate(HEADER_BYTES + keyBytes.length + (value == null ? 0 : value.length));
+        buf.putInt(MAGIC)
+                .putInt(keyBytes.length)
+                .putInt(value == null ? DELETE : value.length)
+                .putInt((int) crc.getValue())
+                .put(keyBytes);
+        if (value != null) {
+            buf.put(value);
+        }
+        return buf.flip();
+    }
+}
@@ -0,0 +1,266 @@
+package com.fasoo.cs_doc.post.service;
+
+import com.fasoo.cs_doc.post.service.PostContentStorage.StoredFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 글마다 파일 하나로 저장하는 기본 방식 (app.storage.content-backend=files)
+ *
+ * - 키(posts/.../{id}.md)가 곧 파일 경로. compress-content가 켜져 있으면 같은 위치의 .md.gz (gzip)로 저장
+ * - 두 형식이 섞여 있어도 읽을 수 있음 (설정된 형식을 먼저 찾고 없으면 다른 형식)
+ * - 예전 평면 경로(posts/{id}.md)는 샤딩 경로를 먼저 찾고 없으면 예전 파일을 읽으며, 쓰기는 항상 샤딩 경로로 함
+ * - 파일 쓰기/이동은 writeLock으로 직렬화 (덮어쓰기와 경로 이전이 엇갈려 최신 본문을 잃지 않도록)
+ */
+final class FileContentBackend implements ContentBackend {
+
+    private final Path mdRoot;
+    private final boolean compress;
+    private final Object writeLock = new Object();
+
+    FileContentBackend(Path mdRoot, boolean compress) {
+        this.mdRoot = mdRoot;
+        this.compress = compress;
+    }
+
+    @Override
+    public String read(String key) throws IOException {
+        StoredFile stored = locate(key);
+        return stored == null ? null : readStored(stored);
+    }
+
+    /**
+     * 논리 경로의 실제 파일. 예전 평면 경로면 샤딩 경로를 먼저 찾음 (없으면 null)
+     */
+    @Override
+    public StoredFile locate(String key) {
+        String sharded = PostContentStorage.shardedPathForLegacy(key);
+        if (sharded != null) {
+            StoredFile moved = locateExact(resolveSafe(sharded));
+            if (moved != null) {
+                return moved;
+            }
+        }
+        return locateExact(resolveSafe(key));
+    }
+
+    @Override
+    public void write(String key, String markdown) throws IOException {
+        String sharded = PostContentStorage.shardedPathForLegacy(key);
+        synchronized (writeLock) {
+            writeFile(resolveSafe(sharded != null ? sharded : key), markdown);
+            if (sharded != null) {
+                // 샤딩 경로에 새 본문을 둔 뒤 예전 파일 정리 (DB 경로는 평면 그대로여도 읽기는 샤딩 경로를 먼저 찾음)
+                Path legacy = resolveSafe(key);
+                Files.deleteIfExists(legacy);
+                Files.deleteIfExists(gzipSibling(legacy));
+            }
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Path absolute = resolveSafe(key);
+        String sharded = PostContentStorage.shardedPathForLegacy(key);
+        synchronized (writeLock) {
+            Files.deleteIfExists(absolute);
+            Files.deleteIfExists(gzipSibling(absolute));
+            if (sharded != null) {
+                Path moved = resolveSafe(sharded);
+                Files.deleteIfExists(moved);
+                Files.deleteIfExists(gzipSibling(moved));
+            }
+        }
+    }
+
+    /**
+     * 키들의 현재 파일과 그 디렉터리를 fsync (rename 결과까지 남도록). 디렉터리 fsync를 지원하지 않는 OS는 파일만
+     */
+    @Override
+    public void force(Collection<String> keys) throws IOException {
+        Set<Path> dirs = new HashSet<>();
+        for (String key : keys) {
+            StoredFile stored = locate(key);
+            if (stored == null) {
+                continue; // 삭제됨
+            }
+            try (FileChannel ch = FileChannel.open(stored.path(), StandardOpenOption.WRITE)) {
+                ch.force(true);
+            } catch (NoSuchFileException e) {
+                continue; // 그 사이 교체/삭제됨
+            }
+            dirs.add(stored.path().getParent());
+        }
+        for (Path dir : dirs) {
+            try (FileChannel ch = FileChannel.open(dir, StandardOpenOption.READ)) {
+                ch.force(true);
+            } catch (IOException e) {
+                // Windows 등 디렉터리를 열 수 없는 경우
+            }
+        }
+    }
+
+    /**
+     * 본문 파일 하나를 설정된 저장 형식으로 변환 (이미 그 형식이면 false)
+     *
+     * @param plainPath 논리 경로에 해당하는 절대 경로 (posts/.../{id}.md)
+     */
+    boolean convertToConfiguredFormat(Path plainPath) throws IOException {
+        Path other = compress ? plainPath : gzipSibling(plainPath);
+        if (!Files.isRegularFile(other)) {
+            return false;
+        }
+        synchronized (writeLock) {
+            if (!Files.isRegularFile(other)) {
+                return false;
+            }
+            String markdown = readStored(new StoredFile(other, !compress));
+            writeFile(plainPath, markdown);
+        }
+        return true;
+    }
+
+    /**
+     * 예전 평면 경로의 본문을 샤딩 경로로 복사하고 새 경로 반환. 샤딩 경로에 이미 있으면 그대로 둠.
+     *
+     * @return 샤딩 경로 (평면 경로가 아니거나 본문 파일이 어디에도 없으면 null)
+     */
+    String copyToShardedLayout(String key) throws IOException {
+        String sharded = PostContentStorage.shardedPathForLegacy(key);
+        if (sharded == null) {
+            return null;
+        }
+        Path target = resolveSafe(sharded);
+        synchronized (writeLock) {
+            if (locateExact(target) == null) {
+                StoredFile legacy = locateExact(resolveSafe(key));
+                if (legacy == null) {
+                    return null;
+                }
+                Path targetFile = legacy.gzip() ? gzipSibling(target) : target;
+                Files.createDirectories(targetFile.getParent());
+                Path tmp = targetFile.resolveSibling(targetFile.getFileName() + ".tmp");
+                Files.copy(legacy.path(), tmp, StandardCopyOption.REPLACE_EXISTING);
+                moveIntoPlace(tmp, targetFile);
+            }
+        }
+        return sharded;
+    }
+
+    /**
+     * 샤딩 경로로 옮긴 뒤 남은 예전 평면 경로 파일 삭제 (샤딩 경로에 본문이 없으면 지우지 않음)
+     */
+    void deleteLegacyFiles(String key) throws IOException {
+        String sharded = PostContentStorage.shardedPathForLegacy(key);
+        if (sharded == null) {
+            return;
+        }
+        Path legacy = resolveSafe(key);
+        synchronized (writeLock) {
+            if (locateExact(resolveSafe(sharded)) == null) {
+                return;
+            }
+            Files.deleteIfExists(legacy);
+            Files.deleteIfExists(gzipSibling(legacy));
+        }
+    }
+
+    Path root() {
+        return mdRoot;
+    }
+
+    /** mdRoot 기준 논리 경로 (posts/.../{id}.md) */
+    String keyOf(Path plainPath) {
+        return mdRoot.relativize(plainPath).normalize().toString().replace('\\', '/');
+    }
+
+    /**
+     * 설정된 형식으로 임시 파일에 쓴 뒤 원자적으로 교체하고, 다른 형식의 이전 파일은 삭제
+     */
+    private void writeFile(Path plainPath, String markdown) throws IOException {
+        Path target = compress ? gzipSibling(plainPath) : plainPath;
+        Path stale = compress ? plainPath : gzipSibling(plainPath);
+        Files.createDirectories(target.getParent());
+
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        byte[] bytes = markdown.getBytes(StandardCharsets.UTF_8);
+        try (OutputStream out = Files.newOutputStream(tmp,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            if (compress) {
+                try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                    gzip.write(bytes);
+                }
+            } else {
+                out.write(bytes);
+            }
+        }
+
+        moveIntoPlace(tmp, target);
+        // 새 파일을 먼저 둔 뒤 삭제하므로 그 사이 읽기는 설정된 형식(새 내용)을 먼저 찾음
+        Files.deleteIfExists(stale);
+    }
+
+    private static void moveIntoPlace(Path tmp, Path target) throws IOException {
+        try {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * 설정된 형식의 파일을 먼저, 없으면 다른 형식 파일을 찾음 (둘 다 없으면 null)
+     */
+    private StoredFile locateExact(Path plainPath) {
+        Path gz = gzipSibling(plainPath);
+        if (compress) {
+            if (Files.isRegularFile(gz)) return new StoredFile(gz, true);
+            if (Files.isRegularFile(plainPath)) return new StoredFile(plainPath, false);
+        } else {
+            if (Files.isRegularFile(plainPath)) return new StoredFile(plainPath, false);
+            if (Files.isRegularFile(gz)) return new StoredFile(gz, true);
+        }
+        return null;
+    }
+
+    static String readStored(StoredFile stored) throws IOException {
+        if (!stored.gzip()) {
+            return Files.readString(stored.path(), StandardCharsets.UTF_8);
+        }
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(stored.path()))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    static Path gzipSibling(Path plainPath) {
+        return plainPath.resolveSibling(plainPath.getFileName() + PostContentStorage.GZIP_SUFFIX);
+    }
+
+    private Path resolveSafe(String relativePath) {
+        Path rel = Paths.get(relativePath).normalize();
+        if (rel.isAbsolute() || relativePath.contains("..")) {
+            throw new IllegalArgumentException("Invalid path");
+        }
+        Path abs = mdRoot.resolve(rel).normalize();
+        if (!abs.startsWith(mdRoot)) {
+            throw new IllegalArgumentException("Invalid path");
+        }
+        return abs;
+    }
+}
@@ -0,0 +1,139 @@
+package com.fasoo.cs_doc.post.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 줄 단위 delta (이전 버전 본문 → 다음 버전 본문)
+ *
+ * 형식: 명령 한 줄씩, 줄 번호 없이 이전 본문을 앞에서부터 소비
+ *   =N   이전 본문의 다음 N줄을 그대로 복사
+ *   -N   이전 본문의 다음 N줄을 건너뜀
+ *   +C   바로 뒤 C글자(char)를 그대로 삽입 (줄바꿈 포함, 마지막 줄은 줄바꿈 없을 수 있음)
+ * 줄은 '\n'까지 포함해서 자르므로 마지막 줄바꿈 유무까지 그대로 복원됨.
+ */
+final class LineDelta {
+
+    private LineDelta() {}
+
+    /**
+     * @param added   target에만 있는 줄 수
+     * @param removed base에만 있는 줄 수
+     * @param runs    delta를 만든 줄 diff 구간 (줄별 blame 갱신에 그대로 사용)
+     */
+    record Encoded(String delta, int added, int removed, List<MyersDiff.Run> runs) {}
+
+    static Encoded encode(String base, String target) {
+        List<String> baseLines = lines(base);
+        List<String> targetLines = lines(target);
+        Map<String, Integer> ids = new HashMap<>();
+        int[] a = toIds(baseLines, ids);
+        int[] b = toIds(targetLines, ids);
+
+        StringBuilder out = new StringBuilder();
+        int j = 0;
+        int added = 0;
+        int removed = 0;
+        List<MyersDiff.Run> runs = MyersDiff.diff(a, b);
+        for (MyersDiff.Run run : runs) {
+            switch (run.op()) {
+                case EQUAL -> {
+                    out.append('=').append(run.length()).append('\n');
+                    j += run.length();
+                }
+                case DELETE -> {
+                    out.append('-').append(run.length()).append('\n');
+                    removed += run.length();
+                }
+                case INSERT -> {
+                    added += run.length();
+                    StringBuilder inserted = new StringBuilder();
+                    for (int end = j + run.length(); j < end; j++) {
+                        inserted.append(targetLines.get(j));
+                    }
+                    out.append('+').append(inserted.length()).append('\n').append(inserted);
+                }
+            }
+        }
+        return new Encoded(out.toString(), added, removed, runs);
+    }
+
+    /**
+     * @throws IllegalArgumentException delta가 깨졌거나 base와 맞지 않음
+     */
+    static String apply(String base, String delta) {
+        List<String> baseLines = lines(base);
+        StringBuilder out = new StringBuilder(base.length() + delta.length());
+        int line = 0;
+        int pos = 0;
+        while (pos < delta.length()) {
+            int eol = delta.indexOf('\n', pos);
+            if (eol < 0) {
+                throw new IllegalArgumentException("Truncated delta command at " + pos);
+            }
+            int start = pos;
+            char op = delta.charAt(pos);
+            int count;
+            try {
+                count = Integer.parseInt(delta, pos + 1, eol, 10);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid delta command at " + start, e);
+            }
+            if (count < 0) {
+                throw new IllegalArgumentException("Invalid delta command at " + start);
+            }
+            pos = eol + 1;
+            switch (op) {
+                case '=' -> {
+                    if (line + count > baseLines.size()) {
+                        throw new IllegalArgumentException("Delta copies past the end of the base");
+                    }
+                    for (int end = line + count; line < end; line++) {
+                        out.append(baseLines.get(line));
+                    }
+                }
+                case '-' -> {
+                    if (line + count > baseLines.size()) {
+                        throw new IllegalArgumentException("Delta skips past the end of the base");
+                    }
+                    line += count;
+                }
+                case '+' -> {
+                    if (pos + count > delta.length()) {
+                        throw new IllegalArgumentException("Truncated delta insert at " + pos);
+                    }
+                    out.append(delta, pos, pos + count);
+                    pos += count;
+                }
+                default -> throw new IllegalArgumentException("Unknown delta command '" + op + "' at " + start);
+            }
+        }
+        if (line != baseLines.size()) {
+            throw new IllegalArgumentException("Delta does not consume the whole base");
+        }
+        return out.toString();
+    }
+
+    /** '\n'을 포함해서 줄 단위로 자름 (빈 문자열이면 빈 목록) */
+    static List<String> lines(String text) {
+        List<String> lines = new ArrayList<>();
+        int start = 0;
+        while (start < text.length()) {
+            int eol = text.indexOf('\n', start);
+            int end = eol < 0 ? text.length() : eol + 1;
+            lines.add(text.substring(start, end));
+            start = end;
+        }
+        return lines;
+    }
+
+    static int[] toIds(List<String> lines, Map<String, Integer> ids) {
+        int[] result = new int[lines.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ids.computeIfAbsent(lines.get(i), k -> ids.size());
+        }
+        return result;
+    }
+}
@@ -1,6 +1,6 @@
 package com.fasoo.cs_doc.post.service;
 
-import com.fasoo.cs_doc.global.config.StorageProperties;
+import com.fasoo.cs_doc.blob.service.BlobStore;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -8,12 +8,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URL;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.UUID;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -21,6 +17,7 @@ import java.util.regex.Pattern;
  * 마크다운 내 이미지 참조를 처리하여 서버에 저장하고 경로를 업데이트.
  * - 웹 URL: 다운로드하여 서버에 저장
  * - 로컬 경로: 업로드된 이미지 파일과 매칭하여 서버에 저장
+ * 저장은 BlobStore를 거치므로 같은 이미지는 한 파일(같은 URL)로 저장됨
  */
 @Component
 public class MarkdownImageProcessor {
@@ -34,10 +31,10 @@ public class MarkdownImageProcessor {
             Pattern.CASE_INSENSITIVE
     );
 
-    private final StorageProperties storageProperties;
+    private final BlobStore blobStore;
 
-    public MarkdownImageProcessor(StorageProperties storageProperties) {
-        this.storageProperties = storageProperties;
+    public MarkdownImageProcessor(BlobStore blobStore) {
+        this.blobStore = blobStore;
     }
 
     /**
@@ -163,19 +160,10 @@ public class MarkdownImageProcessor {
 
             String ext = contentType.replace("image/", "").toLowerCase();
             if (ext.contains("jpeg")) ext = "jpg";
-            String filename = UUID.randomUUID().toString() + "." + ext;
 
-            String uploadDir = storageProperties.uploadDir();
-            if (uploadDir == null || uploadDir.isBlank()) {
-                uploadDir = Path.of(storageProperties.mdRoot()).getParent().resolve("uploads").toString();
+            try (InputStream in = file.getInputStream()) {
+                return blobStore.store(in, ext);
             }
-            Path dir = Path.of(uploadDir).toAbsolutePath().normalize();
-            Files.createDirectories(dir);
-            Path target = dir.resolve(filename);
-
-            Files.copy(file.getInputStream(), target, StandardCopyOption.REPLACE_EXISTING);
-
-            return "/uploads/" + filename;
         } catch (IOException e) {
             return null; // 실패 시 null 반환 (원본 경로 유지)
         }
@@ -198,21 +186,10 @@ public class MarkdownImageProcessor {
             }
 
             String ext = extractExtension(contentType, imageUrl);
-            String filename = UUID.randomUUID().toString() + "." + ext;
-
-            String uploadDir = storageProperties.uploadDir();
-            if (uploadDir == null || uploadDir.isBlank()) {
-                uploadDir = Path.of(storageProperties.mdRoot()).getParent().resolve("uploads").toString();
-            }
-            Path dir = Path.of(uploadDir).toAbsolutePath().normalize();
-            Files.createDirectories(dir);
-            Path target = dir.resolve(filename);
 
             try (InputStream in = url.openStream()) {
-                Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+                return blobStore.store(in, ext);
             }
-
-            return "/uploads/" + filename;
         } catch (Exception e) {
             // 다운로드 실패 시 원본 URL 유지
             return imageUrl;
@@ -0,0 +1,154 @@
+package com.fasoo.cs_doc.post.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 두 토큰 열(줄/단어를 int로 바꾼 배열)의 최소 편집 스크립트 (Myers O(ND), 선형 공간)
+ *
+ * - 앞뒤 공통 구간을 먼저 잘라 내고, 나머지는 양방향 탐색으로 가운데 snake를 찾아 반씩 재귀 (GNU diff와 같은 방식)
+ *   메모리는 O(N + M), 재귀 깊이는 편집 수의 로그 수준
+ * - 결과는 a를 b로 바꾸는 구간 목록 (EQUAL: 양쪽 그대로, DELETE: a에서만, INSERT: b에서만)
+ */
+final class MyersDiff {
+
+    enum Op { EQUAL, DELETE, INSERT }
+
+    record Run(Op op, int length) {}
+
+    private final int[] a;
+    private final int[] b;
+    private final boolean[] deleted;
+    private final boolean[] inserted;
+    private final int[] forward;
+    private final int[] backward;
+
+    private MyersDiff(int[] a, int[] b) {
+        this.a = a;
+        this.b = b;
+        this.deleted = new boolean[a.length];
+        this.inserted = new boolean[b.length];
+        int size = a.length + b.length + 5;
+        this.forward = new int[size];
+        this.backward = new int[size];
+    }
+
+    static List<Run> diff(int[] a, int[] b) {
+        MyersDiff d = new MyersDiff(a, b);
+        d.compare(0, a.length, 0, b.length);
+        return d.runs();
+    }
+
+    private void compare(int xoff, int xlim, int yoff, int ylim) {
+        while (xoff < xlim && yoff < ylim && a[xoff] == b[yoff]) {
+            xoff++;
+            yoff++;
+        }
+        while (xlim > xoff && ylim > yoff && a[xlim - 1] == b[ylim - 1]) {
+            xlim--;
+            ylim--;
+        }
+        if (xoff == xlim) {
+            for (int y = yoff; y < ylim; y++) inserted[y] = true;
+            return;
+        }
+        if (yoff == ylim) {
+            for (int x = xoff; x < xlim; x++) deleted[x] = true;
+            return;
+        }
+        long split = middleSnake(xoff, xlim, yoff, ylim);
+        int xmid = (int) (split >>> 32);
+        int ymid = (int) split;
+        if ((xmid == xoff && ymid == yoff) || (xmid == xlim && ymid == ylim)) {
+            // 나눌 수 없으면(이론상 없음) 구간 전체를 삭제+삽입으로 처리해 재귀가 끝나도록 함
+            for (int x = xoff; x < xlim; x++) deleted[x] = true;
+            for (int y = yoff; y < ylim; y++) inserted[y] = true;
+            return;
+        }
+        compare(xoff, xmid, yoff, ymid);
+        compare(xmid, xlim, ymid, ylim);
+    }
+
+    /**
+     * 최단 편집 경로 위의 한 점 (상위 32비트 x, 하위 32비트 y, 절대 좌표)
+     * forward[k]: 앞에서 d번 편집으로 대각선 k(= x - y)에서 도달한 가장 먼 x (구간 기준 상대 좌표)
+     * backward[k]: 뒤에서 d번 편집으로 역방향 대각선 k에서 도달한 가장 먼 거리
+     */
+    private long middleSnake(int xoff, int xlim, int yoff, int ylim) {
+        int n = xlim - xoff;
+        int m = ylim - yoff;
+        int delta = n - m;
+        boolean odd = (delta & 1) != 0;
+        int max = (n + m + 1) / 2;
+        int off = max + 1;
+        forward[off + 1] = 0;
+        backward[off + 1] = 0;
+
+        for (int d = 0; d <= max; d++) {
+            for (int k = -d; k <= d; k += 2) {
+                int x = (k == -d || (k != d && forward[off + k - 1] < forward[off + k + 1]))
+                        ? forward[off + k + 1]
+                        : forward[off + k - 1] + 1;
+                int y = x - k;
+                while (x < n && y < m && a[xoff + x] == b[yoff + y]) {
+                    x++;
+                    y++;
+                }
+                forward[off + k] = x;
+                int reverseK = delta - k;
+                if (odd && reverseK >= -(d - 1) && reverseK <= d - 1 && x + backward[off + reverseK] >= n) {
+                    return point(xoff + x, yoff + y);
+                }
+            }
+            for (int k = -d; k <= d; k += 2) {
+                int x = (k == -d || (k != d && backward[off + k - 1] < backward[off + k + 1]))
+                        ? backward[off + k + 1]
+                        : backward[off + k - 1] + 1;
+                int y = x - k;
+                while (x < n && y < m && a[xlim - 1 - x] == b[ylim - 1 - y]) {
+                    x++;
+                    y++;
+                }
+                backward[off + k] = x;
+                int forwardK = delta - k;
+                if (!odd && forwardK >= -d && forwardK <= d && x + forward[off + forwardK] >= n) {
+                    return point(xlim - x, ylim - y);
+                }
+            }
+        }
+        return point(xoff, yoff);
+    }
+
+    private static long point(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    private List<Run> runs() {
+        List<Run> runs = new ArrayList<>();
+        int i = 0;
+        int j = 0;
+        while (i < a.length || j < b.length) {
+            int start;
+            if (i < a.length && deleted[i]) {
+                start = i;
+                while (i < a.length && deleted[i]) i++;
+                runs.add(new Run(Op.DELETE, i - start));
+            } else if (j < b.length && inserted[j]) {
+                start = j;
+                while (j < b.length && inserted[j]) j++;
+                runs.add(new Run(Op.INSERT, j - start));
+            } else {
+                start = i;
+                while (i < a.length && j < b.length && !deleted[i] && !inserted[j]) {
+                    i++;
+                    j++;
+                }
+                if (i == start) {
+                    throw new IllegalStateException("Inconsistent diff markers at " + i + "/" + j);
+                }
+                runs.add(new Run(Op.EQUAL, i - start));
+            }
+        }
+        return runs;
+    }
+}
@@ -0,0 +1,64 @@
+package com.fasoo.cs_doc.post.service;
+
+import com.fasoo.cs_doc.post.dto.PostListItemResponse;
+import com.fasoo.cs_doc.post.repository.PostRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * 목록 1페이지 상단 공지사항 목록 보관소 (삭제되지 않은 공지사항, 최신순).
+ * 읽기는 volatile 참조 하나만 읽으므로 post 테이블을 조회하지 않음.
+ * PostService에서 공지사항에 해당하는 글이 생성/수정/삭제되어 커밋되면 목록을 새로 만들어 교체함.
+ * (AfterCommit.run(noticeListCache::refresh) 형태로 프록시를 거쳐 호출할 것)
+ *
+ * 조회수(viewCount)는 조회 시마다 갱신하지 않으므로 마지막 재구성 시점 값임.
+ */
+@Component
+public class NoticeListCache {
+
+    private static final Logger log = LoggerFactory.getLogger(NoticeListCache.class);
+
+    private final PostRepository postRepository;
+
+    private volatile List<PostListItemResponse> notices;
+
+    public NoticeListCache(PostRepository postRepository) {
+        this.postRepository = postRepository;
+    }
+
+    /**
+     * 현재 공지사항 목록 (불변, 최초 호출 시에만 DB에서 구성)
+     */
+    public List<PostListItemResponse> notices() {
+        List<PostListItemResponse> current = notices;
+        if (current == null) {
+            synchronized (this) {
+                current = notices;
+                if (current == null) {
+                    current = load();
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 공지사항 목록 재구성. 커밋된 데이터를 읽도록 별도 읽기 전용 트랜잭션에서 실행.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.REQUIRES_NEW)
+    public synchronized void refresh() {
+        load();
+    }
+
+    private List<PostListItemResponse> load() {
+        List<PostListItemResponse> next = List.copyOf(postRepository.findNoticeItems());
+        notices = next;
+        log.debug("Notice list rebuilt: size={}", next.size());
+        return next;
+    }
+}
@@ -0,0 +1,182 @@
+package com.fasoo.cs_doc.post.service;
+
+import com.fasoo.cs_doc.post.domain.PostBlame;
+import com.fasoo.cs_doc.post.domain.PostVersion;
+import com.fasoo.cs_doc.post.repository.PostBlameRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 줄별 blame 갱신 (post_blame)
+ *
+ * - 버전을 저장할 때(PostVersionStore.append) delta를 만들며 계산한 줄 diff를 저장된 blame에 적용: 그대로인 줄은 이전 값 유지,
+ *   삽입된 줄은 새 버전 번호. 비용은 본문 줄 수에 비례하고 전체 버전 수와 무관 (post_blame 기본키 조회 한 번 + upsert 한 번)
+ * - 조회는 저장된 값만 읽음 (쓰기 없음)
+ * - 저장된 blame이 이전 버전을 가리키지 않으면(blame 도입 전 게시글, 이전 본문을 복원하지 못해 키프레임으로 저장된 버전) 그대로 두고,
+ *   조회 시 버전 이력 전체로 메모리에서 계산. 저장은 버전 재배치(PostVersionStore.compactPost, migrate-version-deltas)가 채움
+ */
+@Service
+public class PostBlameService {
+
+    private final PostBlameRepository blameRepository;
+
+    public PostBlameService(PostBlameRepository blameRepository) {
+        this.blameRepository = blameRepository;
+    }
+
+    /**
+     * 저장된 blame (versionNumber 버전 기준이고 줄 수가 맞을 때만)
+     *
+     * @return 줄 순서대로 버전 번호, 없거나 오래됐으면 null
+     */
+    @Transactional(readOnly = true)
+    public int[] find(Long postId, int versionNumber, int lineCount) {
+        return blameRepository.findById(postId)
+                .filter(b -> b.getVersionNumber() == versionNumber)
+                .map(b -> decode(b.getLineVersions()))
+                .filter(lines -> lines.length == lineCount)
+                .orElse(null);
+    }
+
+    /**
+     * 새 버전 저장 시 blame 갱신
+     *
+     * @param previousNumber 이전 버전 번호 (첫 버전이면 0, 모든 줄이 versionNumber)
+     * @param runs           이전 버전 → 새 버전 줄 diff (첫 버전이면 null)
+     * @param lineCount      새 버전 줄 수
+     */
+    @Transactional
+    public void advance(Long postId, int previousNumber, int versionNumber, List<MyersDiff.Run> runs, int lineCount) {
+        int[] lines;
+        if (previousNumber == 0) {
+            lines = new int[lineCount];
+            Arrays.fill(lines, versionNumber);
+        } else {
+            PostBlame stored = blameRepository.findById(postId).orElse(null);
+            if (runs == null || stored == null || stored.getVersionNumber() != previousNumber) {
+                return; // 이전 blame이 없거나 오래됨: 조회 시 이력으로 계산
+            }
+            lines = apply(decode(stored.getLineVersions()), runs, versionNumber, lineCount);
+            if (lines == null) {
+                return;
+            }
+        }
+        blameRepository.upsert(postId, versionNumber, encode(lines));
+    }
+
+    /**
+     * 버전 이력 전체로 blame 계산 (저장하지 않음)
+     *
+     * @param ascending 버전 번호 오름차순 목록 (전체 이력)
+     * @param contents  버전 번호 → 본문 (PostVersionStore.contentsOf)
+     * @return 마지막 버전 기준 줄별 버전 번호
+     */
+    public int[] compute(List<PostVersion> ascending, Map<Integer, String> contents) {
+        if (ascending.isEmpty()) {
+            return new int[0];
+        }
+        int firstNumber = ascending.get(0).getVersionNumber();
+        String previous = contents.get(firstNumber);
+        int[] lines = new int[LineDelta.lines(previous).size()];
+        Arrays.fill(lines, firstNumber);
+        for (PostVersion version : ascending.subList(1, ascending.size())) {
+            String content = contents.get(version.getVersionNumber());
+            List<String> target = LineDelta.lines(content);
+            Map<String, Integer> ids = new HashMap<>();
+            int[] a = LineDelta.toIds(LineDelta.lines(previous), ids);
+            int[] b = LineDelta.toIds(target, ids);
+            lines = apply(lines, MyersDiff.diff(a, b), version.getVersionNumber(), target.size());
+            previous = content;
+        }
+        return lines;
+    }
+
+    /**
+     * 버전 이력 전체로 blame을 다시 만들어 저장 (버전 재배치 시)
+     */
+    @Transactional
+    public void rebuild(Long postId, List<PostVersion> ascending, Map<Integer, String> contents) {
+        if (ascending.isEmpty()) {
+            return;
+        }
+        int[] lines = compute(ascending, contents);
+        blameRepository.upsert(postId, ascending.get(ascending.size() - 1).getVersionNumber(), encode(lines));
+    }
+
+    /**
+     * 이전 버전 줄별 값에 diff 구간 적용 (구간이 이전 줄 수와 맞지 않으면 null)
+     */
+    static int[] apply(int[] previous, List<MyersDiff.Run> runs, int versionNumber, int lineCount) {
+        int[] next = new int[lineCount];
+        int i = 0;
+        int j = 0;
+        for (MyersDiff.Run run : runs) {
+            switch (run.op()) {
+                case EQUAL -> {
+                    if (i + run.length() > previous.length || j + run.length() > lineCount) {
+                        return null;
+                    }
+                    System.arraycopy(previous, i, next, j, run.length());
+                    i += run.length();
+                    j += run.length();
+                }
+                case DELETE -> i += run.length();
+                case INSERT -> {
+                    if (j + run.length() > lineCount) {
+                        return null;
+                    }
+                    Arrays.fill(next, j, j + run.length(), versionNumber);
+                    j += run.length();
+                }
+            }
+        }
+        return i == previous.length && j == lineCount ? next : null;
+    }
+
+    /** "버전*줄수,버전*줄수" → 줄별 버전 번호 */
+    static int[] decode(String lineVersions) {
+        if (lineVersions == null || lineVersions.isEmpty()) {
+            return new int[0];
+        }
+        String[] runs = lineVersions.split(",");
+        int total = 0;
+        int[][] parsed = new int[runs.length][];
+        for (int k = 0; k < runs.length; k++) {
+            int star = runs[k].indexOf('*');
+            int version = Integer.parseInt(runs[k], 0, star, 10);
+            int count = Integer.parseInt(runs[k], star + 1, runs[k].length(), 10);
+            parsed[k] = new int[] {version, count};
+            total += count;
+        }
+        int[] lines = new int[total];
+        int pos = 0;
+        for (int[] run : parsed) {
+            Arrays.fill(lines, pos, pos + run[1], run[0]);
+            pos += run[1];
+        }
+        return lines;
+    }
+
+    /** 줄별 버전 번호 → "버전*줄수,버전*줄수" (같은 버전이 이어지면 한 구간) */
+    static String encode(int[] lines) {
+        StringBuilder out = new StringBuilder();
+        int start = 0;
+        while (start < lines.length) {
+            int end = start + 1;
+            while (end < lines.length && lines[end] == lines[start]) {
+                end++;
+            }
+            if (out.length() > 0) {
+                out.append(',');
+            }
+            out.append(lines[start]).append('*').append(end - start);
+            start = end;
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,110 @@
+package com.fasoo.cs_doc.post.service;
+
+import com.fasoo.cs_doc.post.dto.ContentCacheStatsResponse;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * 본문(md) 읽기 캐시. 전체 크기(바이트) 상한 기준 LRU.
+ *
+ * - 키는 (상대경로, 글의 currentVersionId). 경로당 한 건만 보관하고 버전이 다르면 miss로 처리
+ * - PostContentStorage의 overwrite / writeOrOverwriteForExistingPost / deleteIfExists에서 경로 단위로 무효화
+ * - 읽는 도중 무효화가 있었으면 읽은 값을 넣지 않음 (덮어쓰기 전 내용이 다시 캐시되는 것 방지)
+ * - 상한의 1/8보다 큰 본문은 넣지 않음 (큰 글 하나가 캐시 전체를 밀어내지 않도록)
+ */
+class PostContentCache {
+
+    /** 문자열 객체/엔트리 자체 오버헤드 추정치 */
+    private static final long ENTRY_OVERHEAD = 64;
+
+    private final long maxBytes;
+    private final long maxEntryBytes;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long weightedBytes;
+    /** 무효화가 일어날 때마다 증가. 읽기 시작 시점 값과 다르면 읽은 값을 넣지 않음 */
+    private long generation;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    private record Entry(Long versionId, String content, long weight) {}
+
+    PostContentCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = maxBytes / 8;
+    }
+
+    boolean isEnabled() {
+        return maxBytes > 0;
+    }
+
+    /**
+     * 캐시에 있으면 반환, 없으면 loader로 읽어 넣고 반환 (loader는 락 밖에서 실행)
+     */
+    String get(String path, Long versionId, Supplier<String> loader) {
+        long startGeneration;
+        synchronized (this) {
+            Entry entry = entries.get(path);
+            if (entry != null && Objects.equals(entry.versionId(), versionId)) {
+                hits++;
+                return entry.content();
+            }
+            misses++;
+            startGeneration = generation;
+        }
+
+        String content = loader.get();
+        long weight = weightOf(content);
+        if (weight > maxEntryBytes) {
+            return content;
+        }
+
+        synchronized (this) {
+            if (generation != startGeneration) {
+                return content;
+            }
+            Entry previous = entries.put(path, new Entry(versionId, content, weight));
+            if (previous != null) {
+                weightedBytes -= previous.weight();
+            }
+            weightedBytes += weight;
+            evictIfNeeded();
+        }
+        return content;
+    }
+
+    synchronized void invalidate(String path) {
+        generation++;
+        Entry removed = entries.remove(path);
+        if (removed != null) {
+            weightedBytes -= removed.weight();
+            invalidations++;
+        }
+    }
+
+    synchronized ContentCacheStatsResponse stats() {
+        return ContentCacheStatsResponse.of(hits, misses, evictions, invalidations, entries.size(), weightedBytes, maxBytes);
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (weightedBytes > maxBytes && it.hasNext()) {
+            Entry eldest = it.next().getValue();
+            it.remove();
+            weightedBytes -= eldest.weight();
+            evictions++;
+        }
+    }
+
+    /** 힙 사용량 추정 (UTF-16 기준 문자당 2바이트로 보수적으로 계산) */
+    private static long weightOf(String content) {
+        return ENTRY_OVERHEAD + 2L * content.length();
+    }
+}
@@ -0,0 +1,64 @@
+package com.fasoo.cs_doc.post.service;
+
+import com.fasoo.cs_doc.post.repository.PostRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 평면 경로(posts/{id}.md) 본문을 샤딩 경로(posts/ab/cd/{id}.md)로 옮기는 배치 단위 작업.
+ * 파일은 복사만 하고 DB 경로를 바꾼 뒤, 예전 파일 삭제는 커밋 후 호출자가 deleteLegacyFiles로 처리.
+ * (트랜잭션이 롤백돼도 예전 경로가 그대로 읽히고, 다시 실행하면 이어서 진행됨)
+ */
+@Service
+public class PostContentLayoutMigrator {
+
+    private static final Logger log = LoggerFactory.getLogger(PostContentLayoutMigrator.class);
+
+    private final PostRepository postRepository;
+    private final PostContentStorage storage;
+
+    public PostContentLayoutMigrator(PostRepository postRepository, PostContentStorage storage) {
+        this.postRepository = postRepository;
+        this.storage = storage;
+    }
+
+    /**
+     * @param lastId    마지막 배치 결과의 lastId (id 오름차순, 처음은 0)
+     * @param movedPaths 경로를 바꾼 글의 예전 경로 (커밋 후 예전 파일 삭제용)
+     */
+    public record Batch(long lastId, int scanned, List<String> movedPaths, int failed) {}
+
+    /**
+     * afterId 다음 글 size건을 옮김. 이미 샤딩 경로이거나 본문 파일이 없는 글은 건너뜀.
+     */
+    @Transactional
+    public Batch migrateBatch(long afterId, int size) {
+        List<Object[]> rows = postRepository.findContentPathsAfter(afterId, PageRequest.of(0, size));
+        long lastId = afterId;
+        List<String> moved = new ArrayList<>();
+        int failed = 0;
+        for (Object[] row : rows) {
+            Long id = (Long) row[0];
+            String oldPath = (String) row[1];
+            lastId = id;
+            try {
+                String sharded = storage.copyToShardedLayout(oldPath);
+                // 그 사이 다른 요청이 경로를 바꿨으면 0건 (다음 실행에서 다시 확인)
+                if (sharded != null && postRepository.updateContentMdPath(id, oldPath, sharded) > 0) {
+                    moved.add(oldPath);
+                }
+            } catch (IOException | RuntimeException e) {
+                failed++;
+                log.warn("Content layout migration failed for post {} ({}): {}", id, oldPath, e.getMessage());
+            }
+        }
+        return new Batch(lastId, rows.size(), moved, failed);
+    }
+}
@@ -2,94 +2,286 @@ package com.fasoo.cs_doc.post.service;
 
 import com.fasoo.cs_doc.global.config.StorageProperties;
 import com.fasoo.cs_doc.global.exception.NotFoundException;
+import com.fasoo.cs_doc.global.file.ShardedLayout;
+import com.fasoo.cs_doc.post.dto.ContentCacheStatsResponse;
+import jakarta.annotation.PreDestroy;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.*;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+/**
+ * 글 본문(.md) 저장소. 실제 저장은 ContentBackend에 맡기고 입력 정규화, 읽기 캐시, 경로 규칙을 담당.
+ *
+ * - app.storage.content-backend=files(기본): 글마다 파일 (FileContentBackend)
+ *   compress-content가 켜져 있으면 posts/.../{id}.md.gz (gzip). 기존 파일 일괄 변환은 PostContentFormatMigration
+ * - app.storage.content-backend=segments: 큰 세그먼트 파일에 append (SegmentContentBackend)
+ *   세그먼트에 없는 본문은 파일에서 읽으므로 바꾼 직후에도 기존 글이 보임. 일괄 가져오기는 PostContentSegmentImport
+ * - app.storage.content-journal=true: 쓰기/삭제를 ContentJournal에 모아 fsync 한 번으로 확정하고 위 저장 방식에는 뒤에서 반영
+ *   반영 전 본문도 read/resolveForRead에서 보이고(메모리), 종료 전에 반영되지 못한 기록은 기동 시 다시 반영
+ * - contentMdPath(posts/ab/cd/{id}.md, 예전 posts/{id}.md)는 어느 방식이든 논리 경로(키)로 사용
+ *   새 본문은 샤딩 경로(ShardedLayout). 예전 평면 경로 이전은 PostContentLayoutMigration
+ */
 @Component
 public class PostContentStorage {
 
     private static final String POSTS_DIR = "posts";
-    private final Path mdRoot;
+    public static final String GZIP_SUFFIX = ".gz";
+    /** 샤딩 이전의 평면 본문 경로 */
+    private static final Pattern LEGACY_POST_PATH = Pattern.compile("posts/(\\d+)\\.md");
+
+    private final FileContentBackend files;
+    /** 선택된 저장 방식 (files면 위와 같은 객체) */
+    private final ContentBackend backend;
+    /** content-journal이 꺼져 있으면 null */
+    private final ContentJournal journal;
+    private final boolean compress;
+    private final PostContentCache cache;
+
+    /**
+     * 실제 저장 위치 (gzip이면 내용이 gzip으로 압축됨)
+     * 파일 전체면 offset 0, length -1. 세그먼트에 저장된 본문은 세그먼트 파일의 [offset, offset + length) 구간
+     * 저널에만 있고 아직 반영되지 않은 본문은 path 없이 pending(UTF-8 바이트, 비압축)으로 전달
+     */
+    public record StoredFile(Path path, boolean gzip, long offset, long length, byte[] pending) {
+        public StoredFile(Path path, boolean gzip, long offset, long length) {
+            this(path, gzip, offset, length, null);
+        }
+
+        public StoredFile(Path path, boolean gzip) {
+            this(path, gzip, 0, -1);
+        }
+
+        static StoredFile pending(String markdown) {
+            byte[] bytes = markdown.getBytes(StandardCharsets.UTF_8);
+            return new StoredFile(null, false, 0, bytes.length, bytes);
+        }
+
+        public boolean isPending() {
+            return pending != null;
+        }
+
+        public boolean isWholeFile() {
+            return length < 0;
+        }
+    }
 
     public PostContentStorage(StorageProperties props) {
         if (props.mdRoot() == null || props.mdRoot().isBlank()) {
             throw new IllegalStateException("app.storage.md-root is required");
         }
-        this.mdRoot = Paths.get(props.mdRoot()).toAbsolutePath().normalize();
+        Path mdRoot = Paths.get(props.mdRoot()).toAbsolutePath().normalize();
+        this.compress = Boolean.TRUE.equals(props.compressContent());
+        this.files = new FileContentBackend(mdRoot, compress);
+        this.backend = props.useContentSegments()
+                ? new SegmentContentBackend(mdRoot, compress,
+                        props.segmentMaxBytesOrDefault(), props.segmentCompactionRatioOrDefault())
+                : files;
+        this.journal = Boolean.TRUE.equals(props.contentJournal())
+                ? new ContentJournal(mdRoot, backend, props.journalCheckpointBytesOrDefault())
+                : null;
+        this.cache = new PostContentCache(props.contentCacheMaxBytesOrDefault());
     }
 
-    /** 새 글 저장 -> 상대경로 반환 (항상 posts/{id}.md) */
-    public String saveNew(String markdown, Long postId) {
-        Path relative = Paths.get(POSTS_DIR, postId + ".md");
-        Path abs = resolveSafe(normalizeRelative(relative));
+    @PreDestroy
+    void close() {
+        if (journal != null) {
+            journal.close(); // 남은 쓰기를 반영한 뒤 저장소를 닫음
+        }
+        backend.close();
+    }
 
-        if (Files.exists(abs)) {
+    /** 새 글 저장 -> 상대경로 반환 (항상 posts/ab/cd/{id}.md) */
+    public String saveNew(String markdown, Long postId) {
+        String relative = shardedPostPath(postId);
+        ContentJournal.Op pending = journal == null ? null : journal.pending(relative);
+        boolean exists = pending != null ? !pending.isDelete() : locate(relative) != null;
+        if (exists) {
             throw new IllegalStateException("Refuse to overwrite existing md for new post: " + postId);
         }
 
         write(relative, normalizeMarkdown(markdown));
-        return normalizeRelative(relative);
+        return relative;
     }
 
-    /** 기존 글 덮어쓰기 */
+    /** 기존 글 덮어쓰기 (예전 평면 경로면 샤딩 경로에 씀) */
     public void overwrite(String relativePath, String markdown) {
-        Path relative = Paths.get(relativePath);
+        String relative = normalizeRelative(Paths.get(relativePath));
         write(relative, normalizeMarkdown(markdown));
     }
 
-    /** 기존 게시글(id) 본문 경로가 비었을 때 사용. posts/{id}.md에 생성·덮어쓰기 (saveNew와 달리 기존 파일 있어도 덮어씀) */
+    /** 기존 게시글(id) 본문 경로가 비었을 때 사용. posts/ab/cd/{id}.md에 생성·덮어쓰기 (saveNew와 달리 기존 파일 있어도 덮어씀) */
     public String writeOrOverwriteForExistingPost(String markdown, Long postId) {
-        String relative = POSTS_DIR + "/" + postId + ".md";
+        String relative = shardedPostPath(postId);
         overwrite(relative, markdown);
         return relative;
     }
 
+    /** 글 본문의 샤딩 경로 (posts/ab/cd/{id}.md) */
+    public static String shardedPostPath(Long postId) {
+        return POSTS_DIR + "/" + ShardedLayout.shardOf(String.valueOf(postId)) + postId + ".md";
+    }
+
+    /** 예전 평면 경로(posts/{id}.md)면 해당하는 샤딩 경로, 아니면 null */
+    public static String shardedPathForLegacy(String relativePath) {
+        if (relativePath == null) return null;
+        Matcher m = LEGACY_POST_PATH.matcher(relativePath.replace('\\', '/'));
+        return m.matches() ? shardedPostPath(Long.valueOf(m.group(1))) : null;
+    }
+
+    /**
+     * 글 본문 읽기 (캐시 사용). versionId는 글의 currentVersionId - 버전이 바뀌었으면 캐시를 쓰지 않고 다시 읽음
+     */
+    public String read(String relativePath, Long versionId) {
+        if (!cache.isEnabled()) {
+            return read(relativePath);
+        }
+        String key = normalizeRelative(Paths.get(relativePath));
+        return cache.get(key, versionId, () -> read(relativePath));
+    }
+
+    /**
+     * 실제 저장 위치 (스트리밍 응답용, 내용은 읽지 않음)
+     * 저널에만 있는 본문은 파일 위치가 없으므로 반영을 기다리지 않고 메모리의 본문을 pending으로 반환
+     */
+    public StoredFile resolveForRead(String relativePath) {
+        String relative = normalizeRelative(Paths.get(relativePath));
+        ContentJournal.Op pending = journal == null ? null : journal.pending(relative);
+        if (pending != null && !pending.isDelete()) {
+            return StoredFile.pending(pending.markdown);
+        }
+        StoredFile stored = locate(relative);
+        if (stored == null) {
+            throw new NotFoundException("Content md not found: " + relativePath);
+        }
+        return stored;
+    }
+
+    /** 캐시를 거치지 않고 저장소에서 직접 읽기 (기동 시 전체 색인처럼 한 번만 읽는 경우) */
     public String read(String relativePath) {
-        Path absolute = resolveSafe(relativePath);
-        try {
-            if (!Files.exists(absolute)) {
+        String key = normalizeRelative(Paths.get(relativePath));
+        ContentJournal.Op pending = journal == null ? null : journal.pending(key);
+        if (pending != null) {
+            if (pending.isDelete()) {
                 throw new NotFoundException("Content md not found: " + relativePath);
             }
-            return Files.readString(absolute, StandardCharsets.UTF_8);
+            return pending.markdown;
+        }
+        String markdown;
+        try {
+            markdown = backend.read(key);
+            if (markdown == null && backend != files) {
+                markdown = files.read(key); // 아직 세그먼트로 가져오지 않은 본문
+            }
         } catch (IOException e) {
             throw new IllegalStateException("Failed to read md: " + relativePath, e);
         }
+        if (markdown == null) {
+            throw new NotFoundException("Content md not found: " + relativePath);
+        }
+        return markdown;
     }
 
-    private void write(Path relative, String markdown) {
-        String rel = normalizeRelative(relative);
-        Path absolute = resolveSafe(rel);
+    /**
+     * 본문 파일 하나를 설정된 저장 형식으로 변환 (이미 그 형식이면 false). PostContentFormatMigration용.
+     *
+     * @param plainPath 논리 경로에 해당하는 절대 경로 (posts/.../{id}.md)
+     */
+    public boolean convertToConfiguredFormat(Path plainPath) throws IOException {
+        if (!files.convertToConfiguredFormat(plainPath)) {
+            return false;
+        }
+        cache.invalidate(files.keyOf(plainPath));
+        return true;
+    }
 
-        try {
-            Files.createDirectories(absolute.getParent());
+    /**
+     * 파일로 저장된 본문 하나를 세그먼트로 가져옴 (세그먼트에 이미 있으면 false). PostContentSegmentImport용.
+     * 원본 파일은 지우지 않음 (세그먼트에 있는 본문이 항상 먼저 읽히고, 글 삭제 시 함께 지워짐)
+     *
+     * @param plainPath 논리 경로에 해당하는 절대 경로 (posts/.../{id}.md)
+     */
+    public boolean importIntoSegments(Path plainPath) throws IOException {
+        if (!(backend instanceof SegmentContentBackend segments)) {
+            throw new IllegalStateException("app.storage.content-backend is not segments");
+        }
+        String key = files.keyOf(plainPath);
+        if (segments.contains(key)) {
+            return false;
+        }
+        String markdown = files.read(key);
+        return markdown != null && segments.importIfAbsent(key, markdown);
+    }
+
+    /**
+     * 예전 평면 경로의 본문을 샤딩 경로로 복사하고 새 경로 반환 (PostContentLayoutMigration용)
+     * 예전 파일은 DB 경로가 바뀐 뒤 deleteLegacyFiles로 지움. 샤딩 경로에 이미 있으면(그 사이 덮어쓰기 등) 그대로 둠.
+     * 세그먼트에 저장된 본문은 경로와 무관하게 샤딩 경로를 키로 쓰므로 옮길 파일이 없으면 샤딩 경로만 반환
+     *
+     * @return 샤딩 경로 (평면 경로가 아니거나 본문이 어디에도 없으면 null)
+     */
+    public String copyToShardedLayout(String relativePath) throws IOException {
+        String sharded = files.copyToShardedLayout(relativePath);
+        if (sharded == null && backend != files && backend.locate(relativePath) != null) {
+            return shardedPathForLegacy(relativePath);
+        }
+        return sharded;
+    }
+
+    /**
+     * 샤딩 경로로 옮긴 뒤 남은 예전 평면 경로 파일 삭제 (샤딩 경로에 본문이 없으면 지우지 않음)
+     */
+    public void deleteLegacyFiles(String relativePath) throws IOException {
+        files.deleteLegacyFiles(relativePath);
+        cache.invalidate(normalizeRelative(Paths.get(relativePath)));
+    }
+
+    public boolean isCompressed() {
+        return compress;
+    }
 
-            Path tmp = absolute.resolveSibling(absolute.getFileName() + ".tmp");
-            Files.writeString(tmp, markdown, StandardCharsets.UTF_8,
-                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+    public Path postsRoot() {
+        return files.root().resolve(POSTS_DIR);
+    }
 
-            try {
-                Files.move(tmp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
-            } catch (AtomicMoveNotSupportedException ex) {
-                Files.move(tmp, absolute, StandardCopyOption.REPLACE_EXISTING);
+    private void write(String relative, String markdown) {
+        String sharded = shardedPathForLegacy(relative);
+        try {
+            if (journal != null) {
+                journal.write(relative, markdown);
+            } else {
+                backend.write(relative, markdown);
             }
         } catch (IOException e) {
-            throw new IllegalStateException("Failed to write md: " + rel, e);
+            throw new IllegalStateException("Failed to write md: " + relative, e);
+        } finally {
+            cache.invalidate(relative);
+            if (sharded != null) {
+                cache.invalidate(sharded);
+            }
         }
     }
 
-    private Path resolveSafe(String relativePath) {
-        Path rel = Paths.get(relativePath).normalize();
-        if (rel.isAbsolute() || relativePath.contains("..")) {
-            throw new IllegalArgumentException("Invalid path");
+    /**
+     * 논리 경로의 실제 저장 위치 (세그먼트 방식이면 세그먼트, 없으면 파일). 없으면 null
+     */
+    private StoredFile locate(String relative) {
+        ContentJournal.Op pending = journal == null ? null : journal.pending(relative);
+        if (pending != null && pending.isDelete()) {
+            return null;
         }
-        Path abs = mdRoot.resolve(rel).normalize();
-        if (!abs.startsWith(mdRoot)) {
-            throw new IllegalArgumentException("Invalid path");
+        StoredFile stored = backend.locate(relative);
+        if (stored == null && backend != files) {
+            stored = files.locate(relative);
         }
-        return abs;
+        return stored;
     }
 
     private String normalizeRelative(Path relative) {
@@ -97,7 +289,7 @@ public class PostContentStorage {
     }
 
     /** 업로드/에디터 공통 찐빠 방지용 normalize */
-    private String normalizeMarkdown(String md) {
+    static String normalizeMarkdown(String md) {
         if (md == null) return "";
         // UTF-8 BOM 제거
         if (!md.isEmpty() && md.charAt(0) == '\uFEFF') {
@@ -108,15 +300,41 @@ public class PostContentStorage {
         return md;
     }
 
-    /** md 파일 삭제 (없으면 그냥 통과) */
+    /** md 삭제 (없으면 그냥 통과, 세그먼트 방식이면 남아 있는 파일도 함께 삭제) */
     public void deleteIfExists(String relativePath) {
         if (relativePath == null || relativePath.isBlank()) return;
 
-        Path absolute = resolveSafe(relativePath);
+        String relative = normalizeRelative(Paths.get(relativePath));
         try {
-            Files.deleteIfExists(absolute);
+            if (journal != null) {
+                journal.delete(relative);
+            } else {
+                backend.delete(relative);
+            }
+            if (backend != files) {
+                files.delete(relative);
+            }
         } catch (IOException e) {
             throw new IllegalStateException("Failed to delete md: " + relativePath, e);
+        } finally {
+            cache.invalidate(relative);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 저장될 본문(정규화 후 UTF-8)의 SHA-256. 수정 전후 비교로 변경 없는 저장을 건너뛰는 데 사용.
+     */
+    public String contentHash(String markdown) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(normalizeMarkdown(markdown).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public ContentCacheStatsResponse cacheStats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,85 @@
+package com.fasoo.cs_doc.post.service;
+
+import com.fasoo.cs_doc.post.domain.CategoryPostCounter;
+import com.fasoo.cs_doc.post.repository.CategoryPostCounterRepository;
+import com.fasoo.cs_doc.post.repository.PostRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 목록 근사 개수(count=approximate)용 카테고리별 글 수 카운터 관리
+ *
+ * - 카운터는 목록 노출 대상(삭제되지 않은 일반 글, category_id 있음)만 집계
+ * - 글 변경 트랜잭션이 커밋된 뒤 별도 트랜잭션으로 반영하므로 잠깐 어긋날 수 있음 (근사값)
+ * - 반영 실패는 로그만 남기고 무시하며, 기동 시 rebuild()로 실제 개수에 다시 맞춤
+ */
+@Service
+public class PostCountService {
+
+    private static final Logger log = LoggerFactory.getLogger(PostCountService.class);
+
+    private final CategoryPostCounterRepository counterRepository;
+    private final PostRepository postRepository;
+
+    public PostCountService(CategoryPostCounterRepository counterRepository, PostRepository postRepository) {
+        this.counterRepository = counterRepository;
+        this.postRepository = postRepository;
+    }
+
+    /**
+     * 글 하나의 목록 노출 카테고리 변경 반영
+     * 모든 문장이 여기서 바로 실행되고 커밋 시 flush할 엔티티는 없음. 실패(커밋 실패 포함)는 호출한 쪽에서 로그만 남김
+     * @param fromCategoryId 변경 전 카운트되던 카테고리 (없으면 null)
+     * @param toCategoryId 변경 후 카운트될 카테고리 (없으면 null)
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void apply(Long fromCategoryId, Long toCategoryId) {
+        if (Objects.equals(fromCategoryId, toCategoryId)) return;
+        if (fromCategoryId != null) {
+            counterRepository.increment(fromCategoryId, -1);
+        }
+        if (toCategoryId != null) {
+            // 행이 없을 때 UPDATE 후 save하면 INSERT가 커밋 시점 flush로 밀리고, 동시에 첫 글이 생기면 PK 충돌
+            counterRepository.upsertIncrement(toCategoryId, 1);
+        }
+    }
+
+    /**
+     * 주어진 카테고리들의 근사 글 수 합계
+     */
+    @Transactional(readOnly = true)
+    public long approximateTotal(Collection<Long> categoryIds) {
+        if (categoryIds == null || categoryIds.isEmpty()) return 0;
+        return Math.max(0, counterRepository.sumByCategoryIdIn(categoryIds));
+    }
+
+    /**
+     * 전체 근사 글 수 합계
+     */
+    @Transactional(readOnly = true)
+    public long approximateTotal() {
+        return Math.max(0, counterRepository.sumAll());
+    }
+
+    /**
+     * 실제 글 수로 카운터 전체 재계산
+     */
+    @Transactional
+    public void rebuild() {
+        List<CategoryPostCounter> counters = new ArrayList<>();
+        for (Object[] row : postRepository.countListableByCategory()) {
+            counters.add(new CategoryPostCounter((Long) row[0], ((Number) row[1]).longValue()));
+        }
+        counterRepository.deleteAllInBatch();
+        counterRepository.saveAll(counters);
+        log.info("Category post counters rebuilt: categories={}", counters.size());
+    }
+}
@@ -2,18 +2,31 @@ package com.fasoo.cs_doc.post.service;
 
 import com.fasoo.cs_doc.category.domain.Category;
 import com.fasoo.cs_doc.category.repository.CategoryRepository;
+import com.fasoo.cs_doc.category.dto.CategoryResponse;
+import com.fasoo.cs_doc.category.service.CategoryTreeCache;
+import com.fasoo.cs_doc.category.service.CategoryTreeSnapshot;
 import com.fasoo.cs_doc.global.exception.NotFoundException;
+import com.fasoo.cs_doc.global.exception.ServiceUnavailableException;
 import com.fasoo.cs_doc.global.page.PageResponse;
+import com.fasoo.cs_doc.global.tx.AfterCommit;
 import com.fasoo.cs_doc.post.domain.Post;
 import com.fasoo.cs_doc.post.domain.PostCategory;
 import com.fasoo.cs_doc.post.domain.PostVersion;
 import com.fasoo.cs_doc.post.dto.*;
+import com.fasoo.cs_doc.post.repository.PostListingFilter;
 import com.fasoo.cs_doc.post.repository.PostRepository;
 import com.fasoo.cs_doc.post.repository.PostVersionRepository;
+import com.fasoo.cs_doc.post.search.PostSearchIndex;
+import com.fasoo.cs_doc.post.search.SearchDocument;
+import com.fasoo.cs_doc.post.search.SearchHit;
+import com.fasoo.cs_doc.post.search.TitleSuggestIndex;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -22,8 +35,12 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,45 +49,43 @@ import org.slf4j.LoggerFactory;
 public class PostService {
     
     private static final Logger log = LoggerFactory.getLogger(PostService.class);
+    private static final int MAX_VERSION_PAGE_SIZE = 100;
+    /** 제목 일치 id가 이보다 많으면 IN 목록 대신 LIKE 사용 (바인드 파라미터 수/쿼리 크기 상한) */
+    private static final int MAX_TITLE_MATCH_IDS = 1000;
 
     private final PostRepository postRepository;
     private final PostVersionRepository postVersionRepository;
+    private final PostVersionStore versionStore;
+    private final PostVersionDiffService versionDiffService;
+    private final PostBlameService blameService;
     private final PostContentStorage storage;
     private final CategoryRepository categoryRepository;
+    private final CategoryTreeCache categoryTreeCache;
     private final MarkdownImageProcessor imageProcessor;
     private final AttachmentStorage attachmentStorage;
+    private final PostCountService postCountService;
+    private final NoticeListCache noticeListCache;
+    private final PostSearchIndex searchIndex;
+    private final TitleSuggestIndex suggestIndex;
 
     @PersistenceContext
     private EntityManager entityManager;
 
-    public PostService(PostRepository postRepository, PostVersionRepository postVersionRepository, PostContentStorage storage, CategoryRepository categoryRepository, MarkdownImageProcessor imageProcessor, AttachmentStorage attachmentStorage) {
+    public PostService(PostRepository postRepository, PostVersionRepository postVersionRepository, PostVersionStore versionStore, PostVersionDiffService versionDiffService, PostBlameService blameService, PostContentStorage storage, CategoryRepository categoryRepository, CategoryTreeCache categoryTreeCache, MarkdownImageProcessor imageProcessor, AttachmentStorage attachmentStorage, PostCountService postCountService, NoticeListCache noticeListCache, PostSearchIndex searchIndex, TitleSuggestIndex suggestIndex) {
         this.postRepository = postRepository;
         this.postVersionRepository = postVersionRepository;
+        this.versionStore = versionStore;
+        this.versionDiffService = versionDiffService;
+        this.blameService = blameService;
         this.storage = storage;
         this.categoryRepository = categoryRepository;
+        this.categoryTreeCache = categoryTreeCache;
         this.imageProcessor = imageProcessor;
         this.attachmentStorage = attachmentStorage;
-    }
-
-    /**
-     * 카테고리 ID와 그 하위 카테고리들의 ID 목록 반환 (카테고리 계층 구조 지원)
-     */
-    private List<Long> getCategoryIdsIncludingChildren(Long categoryId) {
-        Category category = categoryRepository.findById(categoryId)
-                .orElseThrow(() -> new NotFoundException("Category", categoryId));
-        
-        List<Long> result = new ArrayList<>();
-        result.add(categoryId); // 자기 자신 포함
-        
-        // 직접 하위 카테고리들 추가
-        List<Category> children = categoryRepository.findByParentIdOrderBySortOrderAsc(categoryId);
-        for (Category child : children) {
-            result.add(child.getId());
-            // 재귀적으로 하위 카테고리의 하위 카테고리들도 추가
-            result.addAll(getCategoryIdsIncludingChildren(child.getId()));
-        }
-        
-        return result;
+        this.postCountService = postCountService;
+        this.noticeListCache = noticeListCache;
+        this.searchIndex = searchIndex;
+        this.suggestIndex = suggestIndex;
     }
 
     /**
@@ -94,20 +109,7 @@ public class PostService {
     }
 
     private PostListItemResponse toListItem(Post p) {
-        // 기존 데이터 호환성을 위해 category가 있으면 사용, 없으면 null
-        PostCategory category = p.getCategory(); // nullable
-        
-        return new PostListItemResponse(
-                p.getId(),
-                p.getTitle(),
-                category,
-                p.getCategoryId(),
-                p.getIsNotice(),
-                p.getViewCount(),
-                p.getAttachments(),
-                p.getCreatedAt(),
-                p.getUpdatedAt()
-        );
+        return PostListItemResponse.from(p);
     }
 
     private PostResponse toResponse(Post post) {
@@ -125,22 +127,26 @@ public class PostService {
      * categoryId가 있으면 해당 카테고리와 하위 카테고리들만 조회
      * 공지사항은 1페이지에만 상단에 표시되며, 목록 갯수에 포함됨
      * 공지사항이 페이지 크기를 점유하므로, 일반 글은 (페이지 크기 - 공지사항 개수)만큼만 조회됨
+     *
+     * countMode에 따라 전체 개수 계산 방식이 달라짐
+     * - EXACT: count 쿼리로 정확한 전체 개수 계산
+     * - APPROXIMATE: count 쿼리 없이 카테고리별 카운터 합계를 사용 (검색어가 있으면 카운터로 알 수 없으므로 OMITTED로 처리)
+     * - OMITTED: count 쿼리 없이 (페이지 크기 + 1)건 조회로 다음 페이지 존재 여부만 판단
+     *
+     * searchIn이 content/all이고 검색어가 있으면 DB LIKE 대신 검색 색인(BM25)으로 조회하며,
+     * 이때는 정렬 조건 대신 관련도 순으로 정렬하고 전체 개수는 항상 정확함
+     * searchIn이 title이면 색인의 부분 문자열 일치 결과로 id를 제한한 뒤 DB에서 정렬/페이징
      */
     @Transactional(readOnly = true)
-    public PageResponse<PostListItemResponse> list(Pageable pageable, String keyword, String searchIn, List<String> categories, Long categoryId) {
+    public PageResponse<PostListItemResponse> list(Pageable pageable, String keyword, String searchIn, List<String> categories, Long categoryId,
+                                                   PageResponse.TotalType countMode) {
         String kw = (keyword == null) ? null : keyword.trim();
         boolean isFirstPage = pageable.getPageNumber() == 0;
         
-        // 공지사항 조회 (1페이지에만, categoryId가 null일 때만 - 특정 카테고리 선택 시에는 공지사항 제외, 삭제되지 않은 것만)
-        List<PostListItemResponse> noticeItems = List.of();
-        int noticeCount = 0;
-        if (isFirstPage && categoryId == null) {
-            List<Post> notices = postRepository.findByIsNoticeTrueAndDeletedFalseOrderByCreatedAtDesc();
-            noticeItems = notices.stream()
-                    .map(this::toListItem)
-                    .toList();
-            noticeCount = noticeItems.size();
-        }
+        // 공지사항 (1페이지에만, categoryId가 null일 때만 - 특정 카테고리 선택 시에는 공지사항 제외, 삭제되지 않은 것만)
+        // 메모리에 보관된 목록을 사용하므로 1페이지도 목록 쿼리 하나만 실행됨
+        List<PostListItemResponse> noticeItems = (isFirstPage && categoryId == null) ? noticeListCache.notices() : List.of();
+        int noticeCount = noticeItems.size();
         
         // 1페이지인 경우 공지사항이 페이지 크기를 점유하므로 일반 글은 (페이지 크기 - 공지사항 개수)만큼만 조회
         Pageable adjustedPageable = pageable;
@@ -153,90 +159,24 @@ public class PostService {
             );
         }
         
-        Page<Post> page;
-        List<Post> legacyPosts = new ArrayList<>(); // category_id가 null인 기존 게시글들
-        
-        if (categoryId != null) {
-            // categoryId가 있으면 해당 카테고리와 하위 카테고리들의 ID 목록 조회
-            Category selectedCategory = categoryRepository.findById(categoryId)
-                    .orElseThrow(() -> new NotFoundException("Category", categoryId));
-            List<Long> targetCategoryIds = getCategoryIdsIncludingChildren(categoryId);
-            
-            // 선택된 카테고리의 code를 PostCategory enum으로 매핑 (기존 데이터 호환성)
-            PostCategory legacyCategory = categoryCodeToPostCategory(selectedCategory.getCode());
-            
-            // categoryId 기반으로 조회 (공지사항 제외, 카테고리별 조회 시에는 공지사항을 표시하지 않음, 삭제되지 않은 것만)
-            // 기존 데이터 호환성을 위해 더 많은 데이터를 조회 (페이징은 나중에 처리)
-            Pageable largePageable = org.springframework.data.domain.PageRequest.of(0, 10000, pageable.getSort());
-            if (kw == null || kw.isBlank()) {
-                page = postRepository.findByIsNoticeFalseAndDeletedFalseAndCategoryIdIn(targetCategoryIds, largePageable);
-                
-                // 기존 데이터 호환성: category_id가 null이지만 category(enum)이 일치하는 게시글도 조회
-                if (legacyCategory != null) {
-                    Page<Post> legacyPage = postRepository.findByIsNoticeFalseAndDeletedFalseAndCategory(legacyCategory, largePageable);
-                    legacyPosts = legacyPage.getContent().stream()
-                            .filter(p -> p.getCategoryId() == null && !p.getDeleted()) // category_id가 null이고 삭제되지 않은 것만
-                            .toList();
-                }
-            } else {
-                page = postRepository.findByIsNoticeFalseAndDeletedFalseAndCategoryIdInAndTitleContainingIgnoreCase(targetCategoryIds, kw, largePageable);
-                
-                // 기존 데이터 호환성: category_id가 null이지만 category(enum)이 일치하는 게시글도 조회
-                if (legacyCategory != null) {
-                    Page<Post> legacyPage = postRepository.findByIsNoticeFalseAndDeletedFalseAndCategoryAndTitleContainingIgnoreCase(legacyCategory, kw, largePageable);
-                    legacyPosts = legacyPage.getContent().stream()
-                            .filter(p -> p.getCategoryId() == null && !p.getDeleted()) // category_id가 null이고 삭제되지 않은 것만
-                            .toList();
-                }
-            }
-        } else {
-            // categoryId가 없으면 전체 조회 (공지사항 제외, 삭제되지 않은 것만)
-            if (kw == null || kw.isBlank()) {
-                page = postRepository.findByIsNoticeFalseAndDeletedFalse(adjustedPageable);
-            } else {
-                page = postRepository.findByIsNoticeFalseAndDeletedFalseAndTitleContainingIgnoreCase(kw, adjustedPageable);
-            }
+        PostListingFilter filter = listingFilter(categoryId, kw);
+        PostListQuery.SearchField searchField = PostListQuery.SearchField.fromSearchIn(searchIn);
+        if (filter.hasKeyword() && searchField != PostListQuery.SearchField.TITLE) {
+            return listBySearchIndex(pageable, adjustedPageable, filter, noticeItems, searchField);
+        }
+        filter = withTitleMatches(filter);
+        if (countMode != null && countMode != PageResponse.TotalType.EXACT) {
+            return listWithoutCount(pageable, adjustedPageable, filter, kw, noticeItems, countMode);
         }
 
-        // 일반 글 매핑 (category_id 기반)
-        List<PostListItemResponse> normalItems = page.getContent().stream()
-                .map(this::toListItem)
-                .toList();
-        
-        // 기존 게시글 매핑 (category enum 기반)
-        List<PostListItemResponse> legacyItems = legacyPosts.stream()
-                .map(this::toListItem)
-                .toList();
-        
-        // 중복 제거 (같은 ID가 있으면 제거)
-        java.util.Set<Long> existingIds = normalItems.stream()
-                .map(PostListItemResponse::id)
-                .collect(java.util.stream.Collectors.toSet());
-        List<PostListItemResponse> uniqueLegacyItems = legacyItems.stream()
-                .filter(item -> !existingIds.contains(item.id()))
-                .toList();
-        
-        log.debug("PostService.list - noticeCount={}, normalItems.size()={}, legacyItems.size()={}, uniqueLegacyItems.size()={}, categoryId={}, keyword={}", 
-                noticeCount, normalItems.size(), legacyItems.size(), uniqueLegacyItems.size(), categoryId, kw);
-        
-        // 일반 글과 기존 게시글 합치기 (정렬: 최신순)
-        List<PostListItemResponse> combinedItems = new ArrayList<>(normalItems);
-        combinedItems.addAll(uniqueLegacyItems);
-        // 최신순 정렬
-        combinedItems.sort((a, b) -> b.createdAt().compareTo(a.createdAt()));
-        
-        // 페이징 처리 (합쳐진 리스트에서 페이지 크기만큼만 가져오기)
-        int start = (isFirstPage && noticeCount > 0) 
-                ? Math.max(0, pageable.getPageNumber() * pageable.getPageSize() - noticeCount)
-                : pageable.getPageNumber() * pageable.getPageSize();
-        int pageSize = (isFirstPage && noticeCount > 0)
-                ? Math.max(1, pageable.getPageSize() - noticeCount)
-                : pageable.getPageSize();
-        int end = Math.min(start + pageSize, combinedItems.size());
-        List<PostListItemResponse> pagedItems = start < combinedItems.size() 
-                ? combinedItems.subList(Math.max(0, start), end)
-                : List.of();
-        
+        // 카테고리 선택 시에는 공지사항을 표시하지 않음 (삭제되지 않은 것만)
+        // 목록 컬럼만 DTO로 조회 (정렬/페이징은 DB에서 처리됨)
+        Page<PostListItemResponse> page = postRepository.findListingPage(filter, adjustedPageable);
+        List<PostListItemResponse> pagedItems = withSnippets(page.getContent(), kw);
+
+        log.debug("PostService.list - noticeCount={}, items.size()={}, total={}, categoryId={}, keyword={}",
+                noticeCount, pagedItems.size(), page.getTotalElements(), categoryId, kw);
+
         // 1페이지인 경우 공지사항을 상단에 추가
         List<PostListItemResponse> allItems;
         if (isFirstPage) {
@@ -245,11 +185,11 @@ public class PostService {
         } else {
             allItems = pagedItems;
         }
-        
-        // 전체 개수는 공지사항 + 일반 글 개수 + 기존 게시글 개수 (중복 제거 후)
-        long totalCombinedElements = normalItems.size() + uniqueLegacyItems.size();
-        long totalElements = noticeCount + totalCombinedElements;
-        int totalPages = (int) Math.ceil((double) totalCombinedElements / pageable.getPageSize());
+
+        // 전체 개수는 공지사항 + 일반 글 개수 (count 쿼리 결과)
+        long totalNormalElements = page.getTotalElements();
+        long totalElements = noticeCount + totalNormalElements;
+        int totalPages = (int) Math.ceil((double) totalNormalElements / pageable.getPageSize());
 
         return PageResponse.of(
                 allItems,
@@ -262,12 +202,189 @@ public class PostService {
         );
     }
 
+    /**
+     * 검색 색인 기반 목록 (관련도 순)
+     * 색인이 가진 카테고리/공지사항 정보로 필터링과 페이징을 메모리에서 처리하고,
+     * 해당 페이지 글들만 id로 조회 (.md 파일은 읽지 않음)
+     */
+    private PageResponse<PostListItemResponse> listBySearchIndex(Pageable pageable, Pageable adjustedPageable, PostListingFilter filter,
+                                                                 List<PostListItemResponse> noticeItems, PostListQuery.SearchField searchField) {
+        if (!searchIndex.isReady()) {
+            // 본문은 .md 파일에만 있어 DB로 대체할 수 없음
+            throw new ServiceUnavailableException("Search index is being rebuilt, retry shortly");
+        }
+        Set<Long> categoryIds = filter.hasCategory() ? new HashSet<>(filter.categoryIds()) : null;
+        List<SearchHit> hits = searchIndex.search(filter.keyword(), searchField).stream()
+                .filter(hit -> !hit.notice())
+                .filter(hit -> categoryIds == null
+                        || (hit.categoryId() != null ? categoryIds.contains(hit.categoryId())
+                                                     : filter.legacyCategory() != null && filter.legacyCategory() == hit.legacyCategory()))
+                .toList();
+
+        int from = (int) Math.min(adjustedPageable.getOffset(), hits.size());
+        int to = Math.min(from + adjustedPageable.getPageSize(), hits.size());
+        List<Long> pageIds = hits.subList(from, to).stream().map(SearchHit::postId).toList();
+        Map<Long, PostListItemResponse> itemsById = pageIds.isEmpty()
+                ? Map.of()
+                : postRepository.findListItemsByIdIn(pageIds).stream()
+                        .collect(Collectors.toMap(PostListItemResponse::id, item -> item));
+
+        List<PostListItemResponse> allItems = new ArrayList<>(noticeItems);
+        for (Long id : pageIds) {
+            PostListItemResponse item = itemsById.get(id);
+            if (item != null) {
+                allItems.add(item.withSnippet(searchIndex.snippet(id, filter.keyword())));
+            }
+        }
+
+        long totalNormalElements = hits.size();
+        int totalPages = (int) Math.ceil((double) totalNormalElements / pageable.getPageSize());
+        log.debug("PostService.listBySearchIndex - field={}, keyword={}, hits={}", searchField, filter.keyword(), totalNormalElements);
+        return PageResponse.of(
+                allItems,
+                pageable.getPageNumber(),
+                pageable.getPageSize(),
+                noticeItems.size() + totalNormalElements,
+                totalPages,
+                pageable.getPageNumber() < totalPages - 1,
+                pageable.getPageNumber() > 0
+        );
+    }
+
+    /**
+     * count 쿼리 없이 목록 조회 (Slice: 페이지 크기 + 1건 조회로 다음 페이지 판단)
+     * APPROXIMATE이면 전체 개수를 카테고리별 카운터 합계 + 공지사항 개수로 채움
+     */
+    private PageResponse<PostListItemResponse> listWithoutCount(Pageable pageable, Pageable adjustedPageable, PostListingFilter filter, String keyword,
+                                                                List<PostListItemResponse> noticeItems, PageResponse.TotalType countMode) {
+        Slice<PostListItemResponse> slice = postRepository.findListingSlice(filter, adjustedPageable);
+
+        // noticeItems는 1페이지(카테고리 미선택)에서만 채워져 있음
+        List<PostListItemResponse> allItems = new ArrayList<>(noticeItems);
+        allItems.addAll(withSnippets(slice.getContent(), keyword));
+
+        if (countMode == PageResponse.TotalType.APPROXIMATE && !filter.isSearch()) {
+            long approxNormal = filter.hasCategory()
+                    ? postCountService.approximateTotal(filter.categoryIds())
+                    : postCountService.approximateTotal();
+            long noticeCount = noticeItems.size();
+            int totalPages = (int) Math.ceil((double) approxNormal / pageable.getPageSize());
+            return PageResponse.ofApproximate(
+                    allItems,
+                    pageable.getPageNumber(),
+                    pageable.getPageSize(),
+                    noticeCount + approxNormal,
+                    totalPages,
+                    slice.hasNext(),
+                    pageable.getPageNumber() > 0
+            );
+        }
+        return PageResponse.ofSlice(allItems, pageable.getPageNumber(), pageable.getPageSize(), slice.hasNext(), pageable.getPageNumber() > 0);
+    }
+
+    /**
+     * 키셋(커서) 페이지네이션 목록
+     * cursor가 없으면 첫 페이지: 공지사항을 상단에 표시하고 일반 글은 (페이지 크기 - 공지사항 개수)만큼 조회 (offset 모드와 동일)
+     * 이후 페이지는 cursor의 (정렬 키, id) 다음부터 seek하므로 페이지 깊이와 무관하게 비용이 같음
+     * 정렬은 첫 페이지의 sort로 정해지고 cursor에 담겨 유지됨
+     * 검색 조건은 list와 같은 필터를 사용. 단 content/all 검색은 관련도 순이라 (정렬 키, id) 커서로 이어 읽을 수 없으므로 거부
+     * categories는 offset 모드에서도 반영되지 않는 (기존 호환) 파라미터라 커서 모드에서는 명시적으로 거부 (categoryId 사용)
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<PostListItemResponse> listByCursor(int size, Sort sort, String cursor, String keyword, String searchIn,
+                                                           List<String> categories, Long categoryId) {
+        String kw = (keyword == null) ? null : keyword.trim();
+        if (categories != null && !categories.isEmpty()) {
+            throw new IllegalArgumentException("categories is not supported with cursor paging, use categoryId");
+        }
+        PostListQuery.SearchField searchField = PostListQuery.SearchField.fromSearchIn(searchIn);
+        if (kw != null && !kw.isEmpty() && searchField != PostListQuery.SearchField.TITLE) {
+            throw new IllegalArgumentException("searchIn=" + searchIn + " is not supported with cursor paging, use offset paging");
+        }
+        PostCursor after = (cursor == null || cursor.isBlank()) ? null : PostCursor.decode(cursor);
+        boolean isFirstPage = after == null;
+
+        PostListQuery.SortKey sortKey;
+        PostListQuery.SortDir dir;
+        if (after != null) {
+            sortKey = after.sortKey();
+            dir = after.dir();
+        } else {
+            Sort.Order order = sort.stream().findFirst().orElse(null);
+            sortKey = order == null ? PostListQuery.SortKey.CREATED_AT : PostListQuery.SortKey.fromProperty(order.getProperty());
+            dir = (order == null || order.isDescending()) ? PostListQuery.SortDir.DESC : PostListQuery.SortDir.ASC;
+        }
+
+        List<PostListItemResponse> noticeItems = (isFirstPage && categoryId == null) ? noticeListCache.notices() : List.of();
+        int limit = noticeItems.isEmpty() ? size : Math.max(1, size - noticeItems.size());
+
+        // limit + 1건을 조회해 다음 페이지 존재 여부 판단 (count 쿼리 없음)
+        PostListingFilter filter = withTitleMatches(listingFilter(categoryId, kw));
+        List<PostListItemResponse> rows = postRepository.findListingAfter(filter, sortKey, dir, after, limit + 1);
+        boolean hasNext = rows.size() > limit;
+        List<PostListItemResponse> pagedItems = withSnippets(hasNext ? rows.subList(0, limit) : rows, kw);
+        String nextCursor = hasNext
+                ? PostCursor.after(sortKey, dir, pagedItems.get(pagedItems.size() - 1)).encode()
+                : null;
+
+        List<PostListItemResponse> allItems = new ArrayList<>(noticeItems);
+        allItems.addAll(pagedItems);
+        return PageResponse.ofCursor(allItems, size, !isFirstPage, nextCursor);
+    }
+
+    /**
+     * categoryId가 있으면 해당 카테고리와 하위 카테고리들의 ID 목록으로 필터 구성 (카테고리 트리 스냅샷, DB 조회 없음)
+     * 선택된 카테고리의 code를 PostCategory enum으로 매핑해, category_id가 null이지만 category(enum)이 일치하는
+     * 기존 게시글도 같은 쿼리에서 함께 조회되도록 함 (기존 데이터 호환성)
+     */
+    private PostListingFilter listingFilter(Long categoryId, String keyword) {
+        if (categoryId == null) {
+            return new PostListingFilter(null, null, keyword);
+        }
+        CategoryTreeSnapshot tree = categoryTreeCache.snapshot();
+        CategoryResponse selectedCategory = tree.find(categoryId)
+                .orElseThrow(() -> new NotFoundException("Category", categoryId));
+        return new PostListingFilter(
+                tree.selfAndDescendantIds(categoryId),
+                categoryCodeToPostCategory(selectedCategory.code()),
+                keyword
+        );
+    }
+
+    /**
+     * 검색어가 있으면 각 항목에 본문 발췌를 붙임 (검색 색인의 위치로 발췌 구간만 읽음, DB/.md 파일 읽기 없음)
+     */
+    private List<PostListItemResponse> withSnippets(List<PostListItemResponse> items, String keyword) {
+        if (keyword == null || keyword.isBlank() || items.isEmpty()) {
+            return items;
+        }
+        return items.stream()
+                .map(item -> item.withSnippet(searchIndex.snippet(item.id(), keyword)))
+                .toList();
+    }
+
+    /**
+     * 제목 검색어를 검색 색인의 n-gram 부분 문자열 일치 결과(id 목록)로 바꿈 (DB LIKE '%kw%' 전체 스캔 대신)
+     * 정렬/페이징/개수는 그대로 DB에서 처리. 기동 직후 색인 재구성 전이면 LIKE 그대로 사용
+     * 일치하는 글이 MAX_TITLE_MATCH_IDS보다 많으면 (흔한 검색어) 데이터/COUNT 쿼리에 id를 모두 바인딩하지 않고 LIKE 사용
+     */
+    private PostListingFilter withTitleMatches(PostListingFilter filter) {
+        if (!filter.hasKeyword() || !searchIndex.isReady()) {
+            return filter;
+        }
+        Set<Long> ids = searchIndex.matchingIds(filter.keyword(), PostListQuery.SearchField.TITLE);
+        if (ids.size() > MAX_TITLE_MATCH_IDS) {
+            return filter;
+        }
+        return filter.withPostIds(ids);
+    }
+
     /**
      * (기존 호환) categories 없이 쓰던 list(pageable, keyword)
      */
     @Transactional(readOnly = true)
     public PageResponse<PostListItemResponse> list(Pageable pageable, String keyword) {
-        return list(pageable, keyword, null, null, null);
+        return list(pageable, keyword, null, null, null, PageResponse.TotalType.EXACT);
     }
 
     @Transactional
@@ -290,15 +407,22 @@ public class PostService {
 
         String mdPath = storage.saveNew(req.contentMd(), saved.getId());
         saved.changeContentMdPath(mdPath);
+        saved.changeContentHash(storage.contentHash(req.contentMd()));
 
         // 버전 정보 저장 (초기 버전)
-        savePostVersion(saved.getId(), req.contentMd());
+        savePostVersion(saved, null, req.contentMd());
+        updateCountAfterCommit(null, saved);
+        indexAfterCommit(saved, req.contentMd());
+        refreshNoticesAfterCommit(saved.getIsNotice());
 
         return toResponse(saved);
     }
 
+    /**
+     * 글 상세. notModified가 현재 리비전에 대해 true면 본문 파일을 읽지 않고 null 반환 (304)
+     */
     @Transactional(readOnly = true)
-    public PostDetailResponse getDetail(Long id) {
+    public PostDetailResponse getDetail(Long id, Predicate<PostRevision> notModified) {
         Post post = postRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Post not found: " + id));
         
@@ -306,11 +430,14 @@ public class PostService {
         if (post.getDeleted()) {
             throw new NotFoundException("Post not found: " + id);
         }
+        if (notModified.test(revisionOf(post))) {
+            return null;
+        }
 
         String mdPath = post.getContentMdPath();
         String md = (mdPath == null || mdPath.isBlank())
                 ? null
-                : storage.read(mdPath);
+                : storage.read(mdPath, post.getCurrentVersionId());
 
         return new PostDetailResponse(
                 post.getId(),
@@ -332,33 +459,103 @@ public class PostService {
                 .orElseThrow(() -> new NotFoundException("Post not found: " + id));
         post.incrementViewCount();
         postRepository.save(post);
+        long viewCount = post.getViewCount();
+        AfterCommit.run(() -> suggestIndex.viewed(id, viewCount));
     }
 
+    /**
+     * 제목 자동완성 (메모리 트라이, DB 조회 없음). 단어 시작이 입력과 일치하는 제목을 조회수 순으로.
+     */
+    public List<PostSuggestResponse> suggest(String q, int limit) {
+        return suggestIndex.suggest(q, limit).stream()
+                .map(PostSuggestResponse::from)
+                .toList();
+    }
+
+    /**
+     * 본문 읽기 캐시 통계 (적중/미스/제거 수, 사용 바이트)
+     */
+    public ContentCacheStatsResponse contentCacheStats() {
+        return storage.cacheStats();
+    }
+
+    /**
+     * 검색 색인 크기 (글 수, bigram 수, posting/발췌 바이트)
+     */
+    public SearchIndexStatsResponse searchIndexStats() {
+        return searchIndex.stats();
+    }
+
+    /**
+     * 본문. notModified가 현재 리비전에 대해 true면 본문 파일을 읽지 않고 null 반환 (304)
+     */
     @Transactional(readOnly = true)
-    public PostContentResponse getContent(Long id) {
+    public PostContentResponse getContent(Long id, Predicate<PostRevision> notModified) {
         Post post = postRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Post not found: " + id));
+        if (notModified.test(revisionOf(post))) {
+            return null;
+        }
 
         String mdPath = post.getContentMdPath();
         String md = (mdPath == null || mdPath.isBlank())
                 ? ""
-                : storage.read(mdPath);
+                : storage.read(mdPath, post.getCurrentVersionId());
         return new PostContentResponse(md);
     }
 
+    /**
+     * 원문 스트리밍용 본문 파일 (stored는 본문이 없으면 null). 파일 내용은 읽지 않음.
+     * 응답 ETag가 실제 저장 형식(gzip 여부)에 따라 달라지므로 파일 위치를 먼저 찾은 뒤 notModified 확인, true면 null 반환 (304)
+     */
+    @Transactional(readOnly = true)
+    public ContentFile getContentFile(Long id, Predicate<ContentFile> notModified) {
+        Post post = postRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("Post not found: " + id));
+        if (post.getDeleted()) {
+            throw new NotFoundException("Post not found: " + id);
+        }
+        String mdPath = post.getContentMdPath();
+        PostContentStorage.StoredFile stored = (mdPath == null || mdPath.isBlank())
+                ? null
+                : storage.resolveForRead(mdPath);
+        ContentFile content = new ContentFile(revisionOf(post), stored);
+        return notModified.test(content) ? null : content;
+    }
+
+    public record ContentFile(PostRevision revision, PostContentStorage.StoredFile stored) {
+        /** 저장된 바이트가 gzip인지 (설정이 아니라 실제 파일 기준, 변환 중이면 글마다 다를 수 있음) */
+        public boolean gzip() {
+            return stored != null && stored.gzip();
+        }
+    }
+
+    private static PostRevision revisionOf(Post post) {
+        return new PostRevision(post.getId(), post.getCurrentVersionId(), post.getContentHash(), post.getUpdatedAt());
+    }
+
     @Transactional
     public PostResponse update(Long id, PostUpdateRequest req) {
-        Post post = postRepository.findById(id)
+        Post post = postRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new NotFoundException("Post not found: " + id));
 
         String mdPath = post.getContentMdPath();
         if (mdPath == null) throw new IllegalStateException("Post contentMdPath is null: " + id);
 
         post.changeTitle(req.title());
-        storage.overwrite(mdPath, req.contentMd());
-        
-        // 내용 변경 시 새 버전 저장
-        savePostVersion(post.getId(), req.contentMd());
+
+        // 본문이 그대로면 파일 쓰기/버전 생성 생략
+        String contentHash = storage.contentHash(req.contentMd());
+        boolean contentChanged = !isSameContent(post, contentHash);
+        if (contentChanged) {
+            String previousContent = previousContentOf(post);
+            post.changeContentHash(contentHash);
+            // 내용 변경 시 새 버전 저장 (버전 번호를 먼저 확보한 뒤 파일 쓰기)
+            savePostVersion(post, previousContent, req.contentMd());
+            storage.overwrite(mdPath, req.contentMd());
+        }
+        refreshNoticesAfterCommit(post.getIsNotice());
+        indexAfterCommit(post, contentChanged ? req.contentMd() : null);
         
         return toResponse(post);
     }
@@ -407,9 +604,13 @@ public class PostService {
         Post saved = postRepository.save(post);
         String mdPath = storage.saveNew(md, saved.getId());
         saved.changeContentMdPath(mdPath);
+        saved.changeContentHash(storage.contentHash(md));
 
         // 버전 정보 저장 (초기 버전)
-        savePostVersion(saved.getId(), md);
+        savePostVersion(saved, null, md);
+        updateCountAfterCommit(null, saved);
+        indexAfterCommit(saved, md);
+        refreshNoticesAfterCommit(saved.getIsNotice());
 
         return toResponse(saved);
     }
@@ -461,7 +662,7 @@ public class PostService {
 
     @Transactional
     public PostResponse updateByUpload(Long id, MultipartFile file, String title, List<MultipartFile> images, List<MultipartFile> attachments) {
-        Post post = postRepository.findById(id)
+        Post post = postRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new NotFoundException("Post not found: " + id));
 
         // 1. 업로드 파일 → markdown 텍스트
@@ -503,17 +704,26 @@ public class PostService {
             }
         }
 
-        // 6. 기존 contentMdPath 확인 (없으면 기존 글 전용 메서드로 경로 생성·덮어쓰기)
-        String mdPath = post.getContentMdPath();
-        if (mdPath == null || mdPath.isBlank()) {
-            mdPath = storage.writeOrOverwriteForExistingPost(markdown, post.getId());
-            post.changeContentMdPath(mdPath);
-        } else {
-            storage.overwrite(mdPath, markdown);
+        // 6. 기존 contentMdPath 확인 (없으면 기존 글 전용 메서드로 경로 생성·덮어쓰기, 본문이 그대로면 생략)
+        String contentHash = storage.contentHash(markdown);
+        boolean contentChanged = !isSameContent(post, contentHash);
+        if (contentChanged) {
+            String previousContent = previousContentOf(post);
+            post.changeContentHash(contentHash);
+
+            // 내용 변경 시 새 버전 저장 (버전 번호를 먼저 확보한 뒤 파일 쓰기)
+            savePostVersion(post, previousContent, markdown);
+
+            String mdPath = post.getContentMdPath();
+            if (mdPath == null || mdPath.isBlank()) {
+                mdPath = storage.writeOrOverwriteForExistingPost(markdown, post.getId());
+                post.changeContentMdPath(mdPath);
+            } else {
+                storage.overwrite(mdPath, markdown);
+            }
         }
-        
-        // 내용 변경 시 새 버전 저장
-        savePostVersion(post.getId(), markdown);
+        refreshNoticesAfterCommit(post.getIsNotice());
+        indexAfterCommit(post, contentChanged ? markdown : null);
 
         return toResponse(post);
     }
@@ -549,6 +759,7 @@ public class PostService {
 
         String mdPath = post.getContentMdPath();
         String attachments = post.getAttachments();
+        Long countedCategoryId = countedCategoryId(post);
 
         // 1) 첨부파일 삭제
         if (attachments != null && !attachments.isBlank()) {
@@ -562,6 +773,11 @@ public class PostService {
 
         // 2) DB 삭제 요청
         postRepository.delete(post);
+        if (countedCategoryId != null) {
+            applyCountAfterCommit(countedCategoryId, null);
+        }
+        refreshNoticesAfterCommit(post.getIsNotice());
+        removeFromIndexAfterCommit(id);
 
         // 3) 마크다운 파일 삭제 (없으면 통과)
         storage.deleteIfExists(mdPath);
@@ -575,13 +791,15 @@ public class PostService {
             throw new IllegalArgumentException("Nothing to update");
         }
 
-        Post post = postRepository.findById(id)
+        Post post = postRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new NotFoundException("Post not found: " + id));
 
         // 삭제된 게시글은 수정 불가
         if (post.getDeleted()) {
             throw new NotFoundException("Post not found: " + id);
         }
+        Long countedBefore = countedCategoryId(post);
+        boolean wasNotice = post.getIsNotice();
 
         // 1) title 갱신
         if (req.title() != null && !req.title().isBlank()) {
@@ -600,8 +818,16 @@ public class PostService {
             post.changeIsNotice(req.isNotice());
         }
 
-        // 3) markdown 갱신(경로 없으면 기존 글 전용 메서드로 경로 생성·덮어쓰기)
-        if (req.markdown() != null) {
+        // 3) markdown 갱신(경로 없으면 기존 글 전용 메서드로 경로 생성·덮어쓰기, 본문이 그대로면 생략)
+        String contentHash = req.markdown() != null ? storage.contentHash(req.markdown()) : null;
+        boolean contentChanged = contentHash != null && !isSameContent(post, contentHash);
+        if (contentChanged) {
+            String previousContent = previousContentOf(post);
+            post.changeContentHash(contentHash);
+
+            // 내용 변경 시 새 버전 저장 (버전 번호를 먼저 확보한 뒤 파일 쓰기)
+            savePostVersion(post, previousContent, req.markdown());
+
             String mdPath = post.getContentMdPath();
             if (mdPath == null || mdPath.isBlank()) {
                 mdPath = storage.writeOrOverwriteForExistingPost(req.markdown(), post.getId());
@@ -610,10 +836,10 @@ public class PostService {
             } else {
                 storage.overwrite(mdPath, req.markdown());
             }
-            
-            // 내용 변경 시 새 버전 저장
-            savePostVersion(post.getId(), req.markdown());
         }
+        updateCountAfterCommit(countedBefore, post);
+        refreshNoticesAfterCommit(wasNotice || post.getIsNotice());
+        indexAfterCommit(post, contentChanged ? req.markdown() : null);
 
         return toResponse(post);
     }
@@ -649,6 +875,7 @@ public class PostService {
             post.changeAttachments(attachmentsJson);
             
             postRepository.save(post);
+            refreshNoticesAfterCommit(post.getIsNotice());
             
             return toResponse(post);
         } catch (IOException e) {
@@ -671,45 +898,139 @@ public class PostService {
     }
 
     /**
-     * 게시글 내용 변경 시 새 버전 저장
+     * 새 본문이 현재 저장된 본문과 같은지 (content_hash 비교). 해시가 없는 기존 글이나 본문 경로가 없으면 다른 것으로 봄.
      */
-    private void savePostVersion(Long postId, String contentMd) {
+    private boolean isSameContent(Post post, String contentHash) {
+        String mdPath = post.getContentMdPath();
+        return mdPath != null && !mdPath.isBlank() && contentHash.equals(post.getContentHash());
+    }
+
+    /**
+     * 덮어쓰기 전 본문 (버전 delta 기준). 경로가 없거나 읽을 수 없으면 null (새 버전을 키프레임으로 저장)
+     */
+    private String previousContentOf(Post post) {
+        String mdPath = post.getContentMdPath();
+        if (mdPath == null || mdPath.isBlank()) {
+            return null;
+        }
+        try {
+            return storage.read(mdPath, post.getCurrentVersionId());
+        } catch (NotFoundException | IllegalStateException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 게시글 내용 변경 시 새 버전 저장 (이전 버전에 대한 delta 또는 키프레임, PostVersionStore)
+     *
+     * 버전 INSERT 한 번. post의 버전 번호/currentVersionId는 엔티티에만 반영하고 제목/content_hash와 같은 UPDATE로 저장
+     *
+     * @param previousContent 바꾸기 전 본문 (새 글이면 null)
+     */
+    private void savePostVersion(Post post, String previousContent, String contentMd) {
         if (contentMd == null || contentMd.isBlank()) {
             return; // 내용이 없으면 버전 저장하지 않음
         }
-        
-        Integer nextVersionNumber = postVersionRepository.getNextVersionNumber(postId);
-        PostVersion version = new PostVersion(postId, nextVersionNumber, contentMd);
-        PostVersion savedVersion = postVersionRepository.save(version);
-        
-        // Post 엔티티의 currentVersionId 업데이트
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new NotFoundException("Post not found: " + postId));
-        post.changeCurrentVersionId(savedVersion.getId());
-        postRepository.save(post);
+        versionStore.append(post, previousContent, contentMd);
     }
 
     /**
-     * 게시글의 모든 버전 조회 (삭제된 게시글 포함)
+     * 게시글의 버전 목록 한 페이지 (삭제된 게시글 포함, 최신순, 본문 제외)
+     *
+     * @param before 이전 응답의 nextCursor(마지막 버전 번호). 없으면 최신 버전부터
      */
     @Transactional(readOnly = true)
-    public List<PostVersion> getVersions(Long postId) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new NotFoundException("Post not found: " + postId));
-        
-        return postVersionRepository.findByPostIdOrderByVersionNumberDesc(postId);
+    public PageResponse<PostVersionSummary> getVersions(Long postId, Integer before, int size) {
+        if (!postRepository.existsById(postId)) {
+            throw new NotFoundException("Post not found: " + postId);
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_VERSION_PAGE_SIZE));
+
+        // 한 건 더 읽어서 다음 페이지 여부 판단 (COUNT 없음)
+        List<PostVersionSummary> rows = postVersionRepository.findSummaries(
+                postId, before == null ? Integer.MAX_VALUE : before, PageRequest.of(0, pageSize + 1));
+        boolean hasNext = rows.size() > pageSize;
+        List<PostVersionSummary> items = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext ? String.valueOf(items.get(items.size() - 1).versionNumber()) : null;
+        return PageResponse.ofCursor(items, pageSize, before != null, nextCursor);
     }
 
     /**
      * 특정 버전 조회 (삭제된 게시글 포함)
      */
     @Transactional(readOnly = true)
-    public PostVersion getVersion(Long postId, Integer versionNumber) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new NotFoundException("Post not found: " + postId));
-        
-        return postVersionRepository.findByPostIdAndVersionNumber(postId, versionNumber)
+    public PostVersionResponse getVersion(Long postId, Integer versionNumber) {
+        if (!postRepository.existsById(postId)) {
+            throw new NotFoundException("Post not found: " + postId);
+        }
+        PostVersion version = postVersionRepository.findByPostIdAndVersionNumber(postId, versionNumber)
                 .orElseThrow(() -> new NotFoundException("Version not found: postId=" + postId + ", versionNumber=" + versionNumber));
+        return PostVersionResponse.from(version, versionStore.contentOf(version));
+    }
+
+    /**
+     * 두 버전의 줄/단어 단위 diff (from → to, 결과는 버전 id 쌍으로 캐시)
+     */
+    @Transactional(readOnly = true)
+    public VersionDiffResponse getVersionDiff(Long postId, Integer fromVersion, Integer toVersion) {
+        if (!postRepository.existsById(postId)) {
+            throw new NotFoundException("Post not found: " + postId);
+        }
+        PostVersion from = postVersionRepository.findByPostIdAndVersionNumber(postId, fromVersion)
+                .orElseThrow(() -> new NotFoundException("Version not found: postId=" + postId + ", versionNumber=" + fromVersion));
+        PostVersion to = postVersionRepository.findByPostIdAndVersionNumber(postId, toVersion)
+                .orElseThrow(() -> new NotFoundException("Version not found: postId=" + postId + ", versionNumber=" + toVersion));
+        return versionDiffService.diff(from, to);
+    }
+
+    /**
+     * 최신 버전 본문의 줄별 blame
+     * 버전 저장 때 갱신해 둔 값을 읽으므로 버전 수와 무관 (쓰기 없음). 없거나 오래됐으면 이력 전체로 메모리에서 계산
+     */
+    @Transactional(readOnly = true)
+    public PostBlameResponse getBlame(Long postId) {
+        if (!postRepository.existsById(postId)) {
+            throw new NotFoundException("Post not found: " + postId);
+        }
+        PostVersion latest = postVersionRepository.findFirstByPostIdOrderByVersionNumberDesc(postId)
+                .orElseThrow(() -> new NotFoundException("Version not found: postId=" + postId));
+        String content = versionStore.contentOf(latest);
+        List<String> lines = LineDelta.lines(content);
+        int[] blame = blameService.find(postId, latest.getVersionNumber(), lines.size());
+        if (blame == null) {
+            List<PostVersion> versions = postVersionRepository.findByPostIdOrderByVersionNumberAsc(postId);
+            Map<Integer, String> contents = versionStore.contentsOf(versions);
+            blame = blameService.compute(versions, contents);
+            // 조회 사이에 새 버전이 저장됐으면 계산한 마지막 버전 기준으로 응답
+            latest = versions.get(versions.size() - 1);
+            lines = LineDelta.lines(contents.get(latest.getVersionNumber()));
+        }
+
+        List<PostBlameResponse.Line> blameLines = new ArrayList<>(lines.size());
+        Set<Integer> versionNumbers = new HashSet<>();
+        for (int i = 0; i < lines.size(); i++) {
+            String text = lines.get(i);
+            if (text.endsWith("\n")) {
+                text = text.substring(0, text.length() - 1);
+            }
+            blameLines.add(new PostBlameResponse.Line(i + 1, blame[i], text));
+            versionNumbers.add(blame[i]);
+        }
+        List<PostVersionSummary> versions = versionNumbers.isEmpty()
+                ? List.of()
+                : postVersionRepository.findSummariesByVersionNumbers(postId, versionNumbers);
+        return new PostBlameResponse(postId, latest.getVersionNumber(), blameLines, versions);
+    }
+
+    /**
+     * 버전 저장 용량(전체 본문 대비 키프레임 + delta)과 버전별 복원 시간
+     */
+    @Transactional(readOnly = true)
+    public VersionStorageReport getVersionStorageReport(Long postId) {
+        if (!postRepository.existsById(postId)) {
+            throw new NotFoundException("Post not found: " + postId);
+        }
+        return versionStore.report(postId);
     }
 
     /**
@@ -793,29 +1114,29 @@ public class PostService {
     public List<com.fasoo.cs_doc.post.dto.ChangeHistoryItem> getAllChangeHistory(String changeType) {
         List<com.fasoo.cs_doc.post.dto.ChangeHistoryItem> history = new ArrayList<>();
         
-        // 1. 모든 버전 조회 (생성/수정 이력)
-        List<PostVersion> allVersions = postVersionRepository.findAllByOrderByCreatedAtDesc();
+        // 1. 모든 버전 조회 (생성/수정 이력, 본문 제외 프로젝션)
+        List<PostVersionSummary> allVersions = postVersionRepository.findAllSummariesByOrderByCreatedAtDesc();
         
         // 각 버전에 대해 게시글 정보 조회
         Map<Long, Post> postCache = new HashMap<>();
-        for (PostVersion version : allVersions) {
-            Post post = postCache.computeIfAbsent(version.getPostId(), id -> 
+        for (PostVersionSummary version : allVersions) {
+            Post post = postCache.computeIfAbsent(version.postId(), id -> 
                 postRepository.findById(id).orElse(null)
             );
             
             if (post == null) continue;
             
             PostListItemResponse postItem = toListItem(post);
-            String type = version.getVersionNumber() == 1 ? "생성" : "수정";
+            String type = version.versionNumber() == 1 ? "생성" : "수정";
             
             if (changeType == null || changeType.equals(type)) {
                 if (type.equals("생성")) {
                     history.add(com.fasoo.cs_doc.post.dto.ChangeHistoryItem.create(
-                            postItem, version.getVersionNumber(), version.getCreatedAt()
+                            postItem, version.versionNumber(), version.createdAt()
                     ));
                 } else {
                     history.add(com.fasoo.cs_doc.post.dto.ChangeHistoryItem.update(
-                            postItem, version.getVersionNumber(), version.getCreatedAt()
+                            postItem, version.versionNumber(), version.createdAt()
                     ));
                 }
             }
@@ -850,7 +1171,81 @@ public class PostService {
             return;
         }
         
+        Long countedBefore = countedCategoryId(post);
         post.markAsDeleted();
         postRepository.save(post);
+        updateCountAfterCommit(countedBefore, post);
+        refreshNoticesAfterCommit(post.getIsNotice());
+        removeFromIndexAfterCommit(id);
+    }
+
+    /**
+     * 목록 근사 개수 카운터에 집계되는 카테고리 (삭제/공지사항/카테고리 없음이면 null)
+     */
+    private Long countedCategoryId(Post post) {
+        if (post.getDeleted() || Boolean.TRUE.equals(post.getIsNotice())) {
+            return null;
+        }
+        return post.getCategoryId();
+    }
+
+    /**
+     * 커밋 후 검색/자동완성 색인 갱신 (contentMd가 null이면 본문 색인은 유지하고 제목/카테고리/공지 여부만 갱신)
+     * 삭제된 글은 수정 경로(update/updateByUpload)로 바뀌어도 색인에 다시 넣지 않고 제거
+     */
+    private void indexAfterCommit(Post post, String contentMd) {
+        if (post.getDeleted()) {
+            removeFromIndexAfterCommit(post.getId());
+            return;
+        }
+        SearchDocument doc = SearchDocument.of(post, contentMd);
+        long viewCount = post.getViewCount();
+        AfterCommit.run(() -> {
+            searchIndex.put(doc);
+            suggestIndex.put(doc.postId(), doc.title(), viewCount);
+        });
+    }
+
+    /**
+     * 커밋 후 검색/자동완성 색인에서 제거
+     */
+    private void removeFromIndexAfterCommit(Long postId) {
+        AfterCommit.run(() -> {
+            searchIndex.remove(postId);
+            suggestIndex.remove(postId);
+        });
+    }
+
+    /**
+     * 공지사항에 해당하는 글이 바뀌었으면 커밋 후 공지사항 목록 캐시 재구성
+     */
+    private void refreshNoticesAfterCommit(boolean touchesNotice) {
+        if (touchesNotice) {
+            AfterCommit.run(noticeListCache::refresh);
+        }
+    }
+
+    /**
+     * 커밋 후 카테고리별 글 수 카운터 반영 (롤백되면 반영하지 않음)
+     */
+    private void updateCountAfterCommit(Long countedBefore, Post after) {
+        Long countedAfter = countedCategoryId(after);
+        if (!Objects.equals(countedBefore, countedAfter)) {
+            applyCountAfterCommit(countedBefore, countedAfter);
+        }
+    }
+
+    /**
+     * 카운터 반영은 별도 트랜잭션(REQUIRES_NEW)이라 그 커밋 실패도 프록시 밖으로 나옴.
+     * afterCommit에서 예외가 나면 이미 커밋된 요청이 실패로 응답되므로 여기서 로그만 남김 (기동 시 rebuild로 보정)
+     */
+    private void applyCountAfterCommit(Long fromCategoryId, Long toCategoryId) {
+        AfterCommit.run(() -> {
+            try {
+                postCountService.apply(fromCategoryId, toCategoryId);
+            } catch (RuntimeException e) {
+                log.warn("Failed to update category post counter: from={}, to={}", fromCategoryId, toCategoryId, e);
+            }
+        });
     }
 }
@@ -0,0 +1,255 @@
+package com.fasoo.cs_doc.post.service;
+
+import com.fasoo.cs_doc.post.domain.PostVersion;
+import com.fasoo.cs_doc.post.dto.VersionDiffResponse;
+import com.fasoo.cs_doc.post.dto.VersionDiffResponse.ChangeType;
+import com.fasoo.cs_doc.post.dto.VersionDiffResponse.Hunk;
+import com.fasoo.cs_doc.post.dto.VersionDiffResponse.Line;
+import com.fasoo.cs_doc.post.dto.VersionDiffResponse.Segment;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 버전 간 diff (줄 단위 Myers, 바뀐 줄끼리는 단어 단위까지)
+ *
+ * - 삭제 구간 바로 뒤에 삽입 구간이 오면 앞에서부터 한 줄씩 짝지어 단어 단위 diff를 붙임
+ * - 변경 줄 앞뒤 CONTEXT_LINES줄만 hunk로 묶어서 반환
+ * - 버전은 바뀌지 않으므로 결과를 (from 버전 id, to 버전 id) 키로 캐시. 전체 크기(문자 수 기준) 상한 LRU
+ */
+@Service
+public class PostVersionDiffService {
+
+    private static final int CONTEXT_LINES = 3;
+    /** 이보다 긴 줄은 단어 단위 diff 생략 */
+    private static final int MAX_WORD_DIFF_LINE_CHARS = 4000;
+    private static final long CACHE_MAX_WEIGHT = 16L * 1024 * 1024;
+    /** 단어(문자/숫자/_)의 연속, 공백의 연속, 그 외 한 글자 */
+    private static final Pattern WORD = Pattern.compile("[\\p{L}\\p{N}_]+|\\s+|.", Pattern.DOTALL);
+
+    private final PostVersionStore versionStore;
+
+    private record Key(Long fromId, Long toId) {}
+    private record Entry(VersionDiffResponse diff, long weight) {}
+
+    private final LinkedHashMap<Key, Entry> cache = new LinkedHashMap<>(64, 0.75f, true);
+    private long cacheWeight;
+
+    public PostVersionDiffService(PostVersionStore versionStore) {
+        this.versionStore = versionStore;
+    }
+
+    public VersionDiffResponse diff(PostVersion from, PostVersion to) {
+        Key key = new Key(from.getId(), to.getId());
+        synchronized (cache) {
+            Entry entry = cache.get(key);
+            if (entry != null) {
+                return entry.diff();
+            }
+        }
+
+        VersionDiffResponse diff = compute(from, to, versionStore.contentOf(from), versionStore.contentOf(to));
+        long weight = weightOf(diff);
+        if (weight <= CACHE_MAX_WEIGHT / 8) {
+            synchronized (cache) {
+                Entry previous = cache.put(key, new Entry(diff, weight));
+                if (previous != null) {
+                    cacheWeight -= previous.weight();
+                }
+                cacheWeight += weight;
+                Iterator<Entry> it = cache.values().iterator();
+                while (cacheWeight > CACHE_MAX_WEIGHT && it.hasNext()) {
+                    cacheWeight -= it.next().weight();
+                    it.remove();
+                }
+            }
+        }
+        return diff;
+    }
+
+    static VersionDiffResponse compute(PostVersion from, PostVersion to, String fromContent, String toContent) {
+        List<String> a = LineDelta.lines(fromContent);
+        List<String> b = LineDelta.lines(toContent);
+        Map<String, Integer> ids = new HashMap<>();
+        List<MyersDiff.Run> runs = MyersDiff.diff(LineDelta.toIds(a, ids), LineDelta.toIds(b, ids));
+
+        List<Line> lines = new ArrayList<>(Math.max(a.size(), b.size()));
+        int i = 0;
+        int j = 0;
+        int added = 0;
+        int removed = 0;
+        for (int r = 0; r < runs.size(); r++) {
+            MyersDiff.Run run = runs.get(r);
+            switch (run.op()) {
+                case EQUAL -> {
+                    for (int end = i + run.length(); i < end; i++, j++) {
+                        lines.add(new Line(ChangeType.EQUAL, i + 1, j + 1, strip(a.get(i)), null));
+                    }
+                }
+                case DELETE -> {
+                    removed += run.length();
+                    MyersDiff.Run next = r + 1 < runs.size() ? runs.get(r + 1) : null;
+                    if (next != null && next.op() == MyersDiff.Op.INSERT) {
+                        // 바뀐 줄: 삭제 줄들 다음에 삽입 줄들, 짝이 있는 줄에는 단어 단위 구간
+                        added += next.length();
+                        int paired = Math.min(run.length(), next.length());
+                        List<Line> inserted = new ArrayList<>(next.length());
+                        for (int k = 0; k < Math.max(run.length(), next.length()); k++) {
+                            String oldText = k < run.length() ? strip(a.get(i + k)) : null;
+                            String newText = k < next.length() ? strip(b.get(j + k)) : null;
+                            List<List<Segment>> words = k < paired ? wordDiff(oldText, newText) : null;
+                            if (oldText != null) {
+                                lines.add(new Line(ChangeType.DELETE, i + k + 1, null, oldText, words == null ? null : words.get(0)));
+                            }
+                            if (newText != null) {
+                                inserted.add(new Line(ChangeType.INSERT, null, j + k + 1, newText, words == null ? null : words.get(1)));
+                            }
+                        }
+                        lines.addAll(inserted);
+                        i += run.length();
+                        j += next.length();
+                        r++;
+                    } else {
+                        for (int end = i + run.length(); i < end; i++) {
+                            lines.add(new Line(ChangeType.DELETE, i + 1, null, strip(a.get(i)), null));
+                        }
+                    }
+                }
+                case INSERT -> {
+                    added += run.length();
+                    for (int end = j + run.length(); j < end; j++) {
+                        lines.add(new Line(ChangeType.INSERT, null, j + 1, strip(b.get(j)), null));
+                    }
+                }
+            }
+        }
+        return new VersionDiffResponse(from.getPostId(), from.getVersionNumber(), to.getVersionNumber(),
+                added, removed, hunks(lines));
+    }
+
+    /**
+     * 변경 줄 앞뒤 CONTEXT_LINES줄씩 포함해서 묶음 (문맥이 겹치거나 맞닿으면 한 hunk)
+     */
+    private static List<Hunk> hunks(List<Line> lines) {
+        List<Hunk> hunks = new ArrayList<>();
+        int oldBefore = 0;
+        int newBefore = 0;
+        int index = 0;
+        int n = lines.size();
+        while (index < n) {
+            int change = index;
+            while (change < n && lines.get(change).type() == ChangeType.EQUAL) {
+                change++;
+            }
+            if (change == n) {
+                break;
+            }
+            int start = Math.max(index, change - CONTEXT_LINES);
+            for (int k = index; k < start; k++) {
+                oldBefore++;
+                newBefore++;
+            }
+            int end = change;
+            int equalRun = 0;
+            while (end < n) {
+                if (lines.get(end).type() == ChangeType.EQUAL) {
+                    equalRun++;
+                    if (equalRun > 2 * CONTEXT_LINES) {
+                        break;
+                    }
+                } else {
+                    equalRun = 0;
+                }
+                end++;
+            }
+            // 마지막 변경 뒤 문맥은 CONTEXT_LINES줄까지만.
+            // 끊은 경우 end는 문맥 밖 첫 줄을 가리키고 그 앞 equalRun - 1줄만 이미 포함된 상태
+            int included = end < n ? equalRun - 1 : equalRun;
+            int stop = end - Math.max(0, included - CONTEXT_LINES);
+            List<Line> hunkLines = lines.subList(start, stop);
+            int oldLines = 0;
+            int newLines = 0;
+            for (Line line : hunkLines) {
+                if (line.type() != ChangeType.INSERT) oldLines++;
+                if (line.type() != ChangeType.DELETE) newLines++;
+            }
+            hunks.add(new Hunk(oldBefore + 1, oldLines, newBefore + 1, newLines, List.copyOf(hunkLines)));
+            oldBefore += oldLines;
+            newBefore += newLines;
+            index = stop;
+        }
+        return hunks;
+    }
+
+    /**
+     * @return [삭제 줄 구간(EQUAL/DELETE), 삽입 줄 구간(EQUAL/INSERT)], 줄이 너무 길면 null
+     */
+    private static List<List<Segment>> wordDiff(String oldText, String newText) {
+        if (oldText.length() > MAX_WORD_DIFF_LINE_CHARS || newText.length() > MAX_WORD_DIFF_LINE_CHARS) {
+            return null;
+        }
+        List<String> a = words(oldText);
+        List<String> b = words(newText);
+        Map<String, Integer> ids = new HashMap<>();
+        List<Segment> oldSegments = new ArrayList<>();
+        List<Segment> newSegments = new ArrayList<>();
+        int i = 0;
+        int j = 0;
+        for (MyersDiff.Run run : MyersDiff.diff(LineDelta.toIds(a, ids), LineDelta.toIds(b, ids))) {
+            switch (run.op()) {
+                case EQUAL -> {
+                    String text = String.join("", a.subList(i, i + run.length()));
+                    oldSegments.add(new Segment(ChangeType.EQUAL, text));
+                    newSegments.add(new Segment(ChangeType.EQUAL, text));
+                    i += run.length();
+                    j += run.length();
+                }
+                case DELETE -> {
+                    oldSegments.add(new Segment(ChangeType.DELETE, String.join("", a.subList(i, i + run.length()))));
+                    i += run.length();
+                }
+                case INSERT -> {
+                    newSegments.add(new Segment(ChangeType.INSERT, String.join("", b.subList(j, j + run.length()))));
+                    j += run.length();
+                }
+            }
+        }
+        return List.of(oldSegments, newSegments);
+    }
+
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        Matcher m = WORD.matcher(text);
+        while (m.find()) {
+            words.add(m.group());
+        }
+        return words;
+    }
+
+    private static String strip(String line) {
+        return line.endsWith("\n") ? line.substring(0, line.length() - 1) : line;
+    }
+
+    /** 캐시 상한 계산용 크기 (줄/구간 문자 수 + 줄당 오버헤드) */
+    private static long weightOf(VersionDiffResponse diff) {
+        long weight = 0;
+        for (Hunk hunk : diff.hunks()) {
+            for (Line line : hunk.lines()) {
+                weight += 64 + line.text().length() * 2L;
+                if (line.segments() != null) {
+                    for (Segment segment : line.segments()) {
+                        weight += 32 + segment.text().length() * 2L;
+                    }
+                }
+            }
+        }
+        return weight;
+    }
+}
@@ -0,0 +1,319 @@
+package com.fasoo.cs_doc.post.service;
+
+import com.fasoo.cs_doc.global.config.StorageProperties;
+import com.fasoo.cs_doc.global.exception.ConflictException;
+import com.fasoo.cs_doc.post.domain.Post;
+import com.fasoo.cs_doc.post.domain.PostVersion;
+import com.fasoo.cs_doc.post.dto.VersionStorageReport;
+import com.fasoo.cs_doc.post.repository.PostRepository;
+import com.fasoo.cs_doc.post.repository.PostVersionRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 버전 본문 저장/복원 (키프레임 + 줄 단위 delta)
+ *
+ * - 버전마다 바로 이전 버전에 대한 delta(LineDelta)만 저장하고, 키프레임 이후 version-keyframe-interval개째마다 전체 본문을 저장
+ * - 이전 버전 본문을 확신할 수 없거나(해시 불일치, 해시 없는 예전 행) delta가 본문보다 크면 그 버전을 키프레임으로 저장
+ * - 복원은 키프레임부터 대상 버전까지 한 번에 조회해서 delta를 차례로 적용하고, 결과 해시를 저장된 해시와 비교
+ * - 버전 본문은 .md 파일과 같은 정규화(BOM 제거, 줄바꿈 LF)를 거쳐 저장하므로 content_hash가 post.content_hash와 같은 값
+ * - 다음 버전 번호와 이전 버전의 키프레임/해시는 Post(version_count/version_keyframe/version_hash)에서 읽으므로
+ *   평소 버전 추가는 post_version INSERT 한 번 (버전 조회 없음). post는 엔티티만 바꾸고, 제목/content_hash/updated_at과 함께
+ *   트랜잭션 끝 flush에서 UPDATE 한 번으로 저장
+ * - 저장할 때 계산한 줄 diff로 줄별 blame도 함께 갱신 (PostBlameService, post_blame 조회 한 번 + upsert 한 번)
+ */
+@Service
+public class PostVersionStore {
+
+    private final PostVersionRepository versionRepository;
+    private final PostRepository postRepository;
+    private final PostBlameService blameService;
+    private final int keyframeInterval;
+
+    public PostVersionStore(PostVersionRepository versionRepository, PostRepository postRepository,
+                            PostBlameService blameService, StorageProperties props) {
+        this.versionRepository = versionRepository;
+        this.postRepository = postRepository;
+        this.blameService = blameService;
+        this.keyframeInterval = props.versionKeyframeIntervalOrDefault();
+    }
+
+    /**
+     * 다음 번호로 새 버전 저장 (이전 버전 대비 추가/삭제 줄 수와 줄별 blame도 함께 갱신)
+     *
+     * @param post            영속 상태의 게시글, 기존 글이면 잠근 상태 (버전 번호/이전 버전 정보를 읽고, 저장 후 새 버전으로 맞춤)
+     * @param previousContent 바꾸기 전 본문 (.md 파일 내용, 없으면 null). 해시가 post.versionHash와 같으면 그대로 이전 버전 본문으로 쓰고,
+     *                        다르면(빈 본문 수정으로 버전이 건너뛰어진 경우, 해시가 없는 예전 게시글 등) 이전 버전을 조회해서 복원
+     * @throws ConflictException 같은 게시글에 다른 요청이 먼저 버전을 추가함 (409, 트랜잭션 롤백)
+     */
+    @Transactional
+    public PostVersion append(Post post, String previousContent, String contentMd) {
+        Long postId = post.getId();
+        int latestNumber = post.getVersionCount();
+        int versionNumber = latestNumber + 1;
+        String content = PostContentStorage.normalizeMarkdown(contentMd);
+        String hash = sha256(content);
+        long size = utf8Length(content);
+
+        if (latestNumber == 0) {
+            int lineCount = LineDelta.lines(content).size();
+            PostVersion first = PostVersion.full(postId, versionNumber, content, hash, size);
+            first.recordLineChanges(lineCount, 0);
+            PostVersion saved = commit(post, first);
+            blameService.advance(postId, 0, versionNumber, null, lineCount);
+            return saved;
+        }
+
+        String base = previousContent == null ? null : PostContentStorage.normalizeMarkdown(previousContent);
+        Integer latestKeyframe = post.getVersionKeyframe();
+        if (base == null || latestKeyframe == null || post.getVersionHash() == null
+                || !post.getVersionHash().equals(sha256(base))) {
+            PostVersion latest = versionRepository.findByPostIdAndVersionNumber(postId, latestNumber).orElse(null);
+            try {
+                base = latest == null ? null : contentOf(latest);
+                latestKeyframe = latest == null ? null : latest.getKeyframeVersion();
+            } catch (IllegalStateException e) {
+                base = null; // 이전 버전을 복원할 수 없으면 키프레임으로만 저장 (줄 수 없음)
+            }
+        }
+        if (base == null) {
+            return commit(post, PostVersion.full(postId, versionNumber, content, hash, size));
+        }
+
+        LineDelta.Encoded encoded = LineDelta.encode(base, content);
+        boolean useDelta = versionNumber - latestKeyframe < keyframeInterval
+                && isUsableDelta(encoded, base, content);
+        PostVersion version = useDelta
+                ? PostVersion.delta(postId, versionNumber, encoded.delta(), latestKeyframe, hash, size)
+                : PostVersion.full(postId, versionNumber, content, hash, size);
+        version.recordLineChanges(encoded.added(), encoded.removed());
+        PostVersion saved = commit(post, version);
+        blameService.advance(postId, latestNumber, versionNumber, encoded.runs(), LineDelta.lines(content).size());
+        return saved;
+    }
+
+    /**
+     * 버전 INSERT 후 post 엔티티를 새 버전으로 맞춤 (post UPDATE는 flush 때 한 번)
+     * 수정 요청은 post 행을 잠근 상태(PostRepository.findByIdForUpdate)라 번호가 겹치지 않고,
+     * 그래도 같은 번호가 이미 있으면 (post_id, version_number) 유니크 제약에 걸려 실패
+     */
+    private PostVersion commit(Post post, PostVersion version) {
+        PostVersion saved;
+        try {
+            saved = versionRepository.save(version);
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException("Post version already exists (concurrent edit): postId=" + post.getId()
+                    + ", versionNumber=" + version.getVersionNumber(), e);
+        }
+        post.recordVersion(saved.getId(), saved.getVersionNumber(), saved.getKeyframeVersion(), saved.getContentHash());
+        return saved;
+    }
+
+    /**
+     * 버전 본문 복원 (키프레임이면 그대로, delta면 키프레임부터 조회해서 적용)
+     */
+    @Transactional(readOnly = true)
+    public String contentOf(PostVersion version) {
+        if (!version.isDelta()) {
+            return version.getContentMd();
+        }
+        List<PostVersion> chain = versionRepository.findByPostIdAndVersionNumberBetweenOrderByVersionNumberAsc(
+                version.getPostId(), version.getKeyframeVersion(), version.getVersionNumber());
+        if (chain.isEmpty() || chain.get(0).isDelta()) {
+            // 마이그레이션과 동시에 저장되어 가리키는 키프레임이 delta로 바뀐 경우: 앞쪽에서 가장 가까운 키프레임부터
+            chain = versionRepository.findByPostIdAndVersionNumberBetweenOrderByVersionNumberAsc(
+                    version.getPostId(), 1, version.getVersionNumber());
+            int from = chain.size() - 1;
+            while (from > 0 && chain.get(from).isDelta()) {
+                from--;
+            }
+            chain = chain.subList(Math.max(from, 0), chain.size());
+        }
+        return reconstruct(chain);
+    }
+
+    /**
+     * 여러 버전 본문을 한 번에 복원 (버전 번호 오름차순 목록, 앞 버전 본문에 다음 delta를 이어서 적용)
+     *
+     * @return 버전 번호 → 본문
+     */
+    @Transactional(readOnly = true)
+    public Map<Integer, String> contentsOf(List<PostVersion> ascending) {
+        Map<Integer, String> contents = new HashMap<>();
+        for (PostVersion version : ascending) {
+            String previous = contents.get(version.getVersionNumber() - 1);
+            String content;
+            if (!version.isDelta()) {
+                content = version.getContentMd();
+            } else if (previous != null) {
+                content = applyVerified(version, previous);
+            } else {
+                content = contentOf(version);
+            }
+            contents.put(version.getVersionNumber(), content);
+        }
+        return contents;
+    }
+
+    /**
+     * 한 게시글의 버전을 현재 규칙(키프레임 간격, delta)으로 다시 저장 (DELETE 없이 행 내용만 변경)
+     * 해시/크기/추가·삭제 줄 수가 없는 예전 행은 채워 넣음. 본문은 바꾸지 않으므로 예전 행은 정규화하지 않은 그대로 유지.
+     * 이미 복원한 본문으로 줄별 blame도 다시 만들어 저장 (blame 도입 전 게시글은 여기서 처음 채워짐)
+     *
+     * @return 저장 방식이나 메타데이터가 바뀐 버전 수
+     */
+    @Transactional
+    public int compactPost(Long postId) {
+        List<PostVersion> versions = versionRepository.findByPostIdOrderByVersionNumberAsc(postId);
+        Map<Integer, String> contents = contentsOf(versions);
+
+        int changed = 0;
+        PostVersion previous = null;
+        int keyframe = 0;
+        for (PostVersion version : versions) {
+            String content = contents.get(version.getVersionNumber());
+            String hash = sha256(content);
+            long size = utf8Length(content);
+            String delta = null;
+            boolean dirty = false;
+            if (previous == null) {
+                if (version.getVersionNumber() == 1) {
+                    dirty = version.recordLineChanges(LineDelta.lines(content).size(), 0);
+                }
+            } else if (previous.getVersionNumber() == version.getVersionNumber() - 1) {
+                String base = contents.get(previous.getVersionNumber());
+                LineDelta.Encoded encoded = LineDelta.encode(base, content);
+                dirty = version.recordLineChanges(encoded.added(), encoded.removed());
+                if (version.getVersionNumber() - keyframe < keyframeInterval && isUsableDelta(encoded, base, content)) {
+                    delta = encoded.delta();
+                }
+            }
+
+            if (delta == null) {
+                keyframe = version.getVersionNumber();
+                if (version.isDelta() || version.getStorageType() == null || !hash.equals(version.getContentHash())) {
+                    version.storeFull(content, hash, size);
+                    dirty = true;
+                }
+            } else if (!version.isDelta()
+                    || version.getKeyframeVersion() != keyframe
+                    || !hash.equals(version.getContentHash())) {
+                version.storeDelta(delta, keyframe, hash, size);
+                dirty = true;
+            }
+            if (dirty) {
+                changed++;
+            }
+            previous = version;
+        }
+        if (previous != null) {
+            // 마지막 버전의 키프레임이 바뀌었을 수 있으므로 post에도 반영 (예전 게시글은 여기서 처음 채워짐)
+            postRepository.updateVersionHead(postId, previous.getVersionNumber(),
+                    previous.getKeyframeVersion(), previous.getContentHash());
+        }
+        blameService.rebuild(postId, versions, contents);
+        return changed;
+    }
+
+    /**
+     * 게시글 하나의 버전 저장 용량과 복원 시간
+     * 복원 시간은 버전마다 키프레임부터 delta를 적용하는 시간 (조회 시간 제외, 이미 읽은 행으로 측정)
+     */
+    @Transactional(readOnly = true)
+    public VersionStorageReport report(Long postId) {
+        List<PostVersion> versions = versionRepository.findByPostIdOrderByVersionNumberAsc(postId);
+        int keyframes = 0;
+        long fullBytes = 0;
+        long storedBytes = 0;
+        int longestChain = 0;
+        long totalNanos = 0;
+        long maxNanos = 0;
+        for (int i = 0; i < versions.size(); i++) {
+            PostVersion version = versions.get(i);
+            if (!version.isDelta()) {
+                keyframes++;
+                storedBytes += utf8Length(version.getContentMd());
+            } else {
+                storedBytes += utf8Length(version.getDeltaMd());
+            }
+
+            int from = i;
+            while (from > 0 && versions.get(from).isDelta()) {
+                from--;
+            }
+            long start = System.nanoTime();
+            String content = reconstruct(versions.subList(from, i + 1));
+            long elapsed = System.nanoTime() - start;
+            totalNanos += elapsed;
+            maxNanos = Math.max(maxNanos, elapsed);
+            longestChain = Math.max(longestChain, i - from);
+            fullBytes += version.getContentSize() != null ? version.getContentSize() : utf8Length(content);
+        }
+        return VersionStorageReport.of(postId, versions.size(), keyframes, keyframeInterval, fullBytes, storedBytes,
+                longestChain, versions.isEmpty() ? 0 : totalNanos / versions.size() / 1000, maxNanos / 1000);
+    }
+
+    /**
+     * 키프레임으로 시작해서 번호가 이어지는 버전 목록의 마지막 버전 본문
+     */
+    private String reconstruct(List<PostVersion> chain) {
+        if (chain.isEmpty() || chain.get(0).isDelta()) {
+            throw new IllegalStateException("Version chain has no keyframe"
+                    + (chain.isEmpty() ? "" : ": postId=" + chain.get(0).getPostId()));
+        }
+        String content = chain.get(0).getContentMd();
+        for (int i = 1; i < chain.size(); i++) {
+            PostVersion version = chain.get(i);
+            if (version.getVersionNumber() != chain.get(i - 1).getVersionNumber() + 1) {
+                throw new IllegalStateException("Version chain is broken: postId=" + version.getPostId()
+                        + ", versionNumber=" + version.getVersionNumber());
+            }
+            content = version.isDelta() ? applyVerified(version, content) : version.getContentMd();
+        }
+        return content;
+    }
+
+    private static String applyVerified(PostVersion version, String previous) {
+        String content;
+        try {
+            content = LineDelta.apply(previous, version.getDeltaMd());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid version delta: postId=" + version.getPostId()
+                    + ", versionNumber=" + version.getVersionNumber(), e);
+        }
+        if (version.getContentHash() != null && !version.getContentHash().equals(sha256(content))) {
+            throw new IllegalStateException("Version content hash mismatch: postId=" + version.getPostId()
+                    + ", versionNumber=" + version.getVersionNumber());
+        }
+        return content;
+    }
+
+    /**
+     * delta가 본문보다 작고 적용 결과가 본문과 같을 때만 사용 (아니면 키프레임으로 저장)
+     */
+    private static boolean isUsableDelta(LineDelta.Encoded encoded, String base, String content) {
+        return encoded.delta().length() < content.length() && LineDelta.apply(base, encoded.delta()).equals(content);
+    }
+
+    private static long utf8Length(String s) {
+        return s == null ? 0 : s.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static String sha256(String s) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(s.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,587 @@
+package com.fasoo.cs_doc.post.service;
+
+import com.fasoo.cs_doc.post.service.PostContentStorage.StoredFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 본문을 큰 세그먼트 파일에 이어 쓰는 저장 방식 (app.storage.content-backend=segments)
+ *
+ * - {md-root}/segments/segment-{번호}.log에 레코드를 append만 함. 글마다 임시 파일 생성 → rename 하는 대신 쓰기 한 번
+ * - 키(본문 경로) → 최신 레코드 위치 인덱스는 메모리에만 두고, 기동 시 세그먼트를 모두 읽어 다시 만듦
+ *   같은 키는 seq가 가장 큰 레코드가 유효하고 삭제는 tombstone 레코드로 남김. 끝이 깨진 레코드(쓰다 중단)는 잘라냄
+ * - 읽기는 세그먼트를 메모리 매핑해서 해당 구간만 복사. 원문 스트리밍에는 파일 구간(StoredFile offset/length)을 넘김
+ * - 세그먼트가 segment-max-bytes를 넘으면 닫고(sealed) 새 세그먼트를 엶
+ * - 백그라운드 컴팩션: 닫힌 세그먼트들의 죽은(덮어쓰기/삭제된) 바이트 비율이 기준 이상이면 닫힌 세그먼트 전체의
+ *   살아 있는 레코드를 seq 그대로 새 세그먼트로 복사하고 인덱스를 옮김. tombstone은 더 오래된 레코드와 함께 사라짐
+ *   예전 세그먼트는 .retired 표시를 남기고 다음 주기에 삭제 (그 사이 스트리밍 중인 응답이 계속 읽을 수 있도록)
+ *
+ * 레코드: magic(4) seq(8) flags(1) keyLen(4) valueLen(4, tombstone은 -1) crc32(key+value, 4) key value
+ */
+final class SegmentContentBackend implements ContentBackend {
+
+    private static final Logger log = LoggerFactory.getLogger(SegmentContentBackend.class);
+
+    static final String SEGMENTS_DIR = "segments";
+    private static final Pattern SEGMENT_FILE = Pattern.compile("segment-(\\d+)\\.log");
+    private static final String RETIRED_SUFFIX = ".retired";
+
+    private static final int MAGIC = 0x4D445347; // "MDSG"
+    private static final int HEADER_BYTES = 4 + 8 + 1 + 4 + 4 + 4;
+    private static final int MAX_KEY_BYTES = 1024;
+    private static final byte FLAG_GZIP = 1;
+    private static final int TOMBSTONE = -1;
+    /** MappedByteBuffer 인덱스가 int라 세그먼트 하나는 1GB까지 */
+    private static final long MAX_SEGMENT_BYTES_LIMIT = 1L << 30;
+    private static final long COMPACTION_INTERVAL_SECONDS = 60;
+
+    private final Path dir;
+    private final boolean compress;
+    private final long maxSegmentBytes;
+    private final double compactionGarbageRatio;
+
+    private final Map<String, Location> index = new ConcurrentHashMap<>();
+    /** 인덱스가 가리킬 수 있는 세그먼트 (컴팩션 중인 출력 세그먼트와 retired 제외) */
+    private final Map<Integer, Segment> segments = new ConcurrentHashMap<>();
+    /** append, 세그먼트 전환, 인덱스 갱신 직렬화 */
+    private final Object lock = new Object();
+    private Segment active;
+    private long nextSeq;
+    private int nextSegmentId;
+
+    /** 컴팩션 스레드 전용: 다음 주기에 지울 세그먼트 */
+    private final List<Segment> retired = new ArrayList<>();
+    private final ScheduledExecutorService compactor;
+
+    /**
+     * 레코드 위치 (seq는 재구성 시 최신 판별용)
+     */
+    record Location(Segment segment, long recordOffset, int recordBytes,
+                    long valueOffset, int valueLength, boolean gzip, long seq) {}
+
+    SegmentContentBackend(Path mdRoot, boolean compress, long maxSegmentBytes, double compactionGarbageRatio) {
+        this.dir = mdRoot.resolve(SEGMENTS_DIR);
+        this.compress = compress;
+        this.maxSegmentBytes = Math.min(maxSegmentBytes, MAX_SEGMENT_BYTES_LIMIT);
+        this.compactionGarbageRatio = compactionGarbageRatio;
+        try {
+            load();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to load content segments: " + dir, e);
+        }
+        this.compactor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "content-segment-compactor");
+            t.setDaemon(true);
+            return t;
+        });
+        compactor.scheduleWithFixedDelay(this::compactQuietly,
+                COMPACTION_INTERVAL_SECONDS, COMPACTION_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public String read(String key) throws IOException {
+        Location loc = index.get(canonical(key));
+        if (loc == null) {
+            return null;
+        }
+        byte[] bytes = new byte[loc.valueLength()];
+        loc.segment().slice(loc.valueOffset(), loc.valueLength()).get(bytes);
+        return decode(bytes, loc.gzip());
+    }
+
+    @Override
+    public StoredFile locate(String key) {
+        Location loc = index.get(canonical(key));
+        return loc == null ? null
+                : new StoredFile(loc.segment().path, loc.gzip(), loc.valueOffset(), loc.valueLength());
+    }
+
+    @Override
+    public void write(String key, String markdown) throws IOException {
+        byte[] value = encode(markdown);
+        synchronized (lock) {
+            append(canonical(key), value, compress);
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        String k = canonical(key);
+        synchronized (lock) {
+            if (index.containsKey(k)) {
+                append(k, null, false);
+            }
+        }
+    }
+
+    /**
+     * 키가 없을 때만 저장 (기존 파일 가져오기용, 이미 있으면 세그먼트 쪽이 최신이므로 false)
+     */
+    boolean importIfAbsent(String key, String markdown) throws IOException {
+        String k = canonical(key);
+        if (index.containsKey(k)) {
+            return false;
+        }
+        byte[] value = encode(markdown);
+        synchronized (lock) {
+            if (index.containsKey(k)) {
+                return false;
+            }
+            append(k, value, compress);
+            return true;
+        }
+    }
+
+    /** 쓰는 중인 세그먼트를 fsync (닫힌 세그먼트는 seal에서 이미 fsync) */
+    @Override
+    public void force(Collection<String> keys) throws IOException {
+        synchronized (lock) {
+            if (active != null) {
+                active.channel.force(false);
+            }
+        }
+    }
+
+    boolean contains(String key) {
+        return index.containsKey(canonical(key));
+    }
+
+    @Override
+    public void close() {
+        compactor.shutdownNow();
+        synchronized (lock) {
+            for (Segment segment : segments.values()) {
+                segment.closeQuietly();
+            }
+        }
+        retired.forEach(Segment::closeQuietly);
+    }
+
+    /**
+     * 예전 평면 경로와 샤딩 경로가 같은 본문을 가리키도록 샤딩 경로로 통일
+     */
+    private static String canonical(String key) {
+        String sharded = PostContentStorage.shardedPathForLegacy(key);
+        return sharded != null ? sharded : key;
+    }
+
+    /** lock 안에서 호출. value가 null이면 tombstone */
+    private void append(String key, byte[] value, boolean gzip) throws IOException {
+        long seq = nextSeq++;
+        ByteBuffer record = encodeRecord(seq, key, value, gzip);
+        int recordBytes = record.remaining();
+        Segment segment = activeFor(recordBytes);
+        long offset = segment.append(record);
+
+        Location previous;
+        if (value == null) {
+            previous = index.remove(key);
+            segment.deadBytes.addAndGet(recordBytes); // tombstone은 컴팩션 때 버려짐
+        } else {
+            int keyBytes = recordBytes - HEADER_BYTES - value.length;
+            Location loc = new Location(segment, offset, recordBytes,
+                    offset + HEADER_BYTES + keyBytes, value.length, gzip, seq);
+            previous = index.put(key, loc);
+        }
+        if (previous != null) {
+            previous.segment().deadBytes.addAndGet(previous.recordBytes());
+        }
+    }
+
+    private Segment activeFor(int recordBytes) throws IOException {
+        if (active != null && active.size > 0 && active.size + recordBytes > maxSegmentBytes) {
+            active.seal();
+            active = null;
+        }
+        if (active == null) {
+            active = Segment.create(dir, nextSegmentId++);
+            segments.put(active.id, active);
+        }
+        return active;
+    }
+
+    private static ByteBuffer encodeRecord(long seq, String key, byte[] value, boolean gzip) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length > MAX_KEY_BYTES) {
+            throw new IllegalArgumentException("Content key too long: " + key);
+        }
+        int valueLength = value == null ? TOMBSTONE : value.length;
+        CRC32 crc = new CRC32();
+        crc.update(keyBytes);
+        if (value != null) {
+            crc.update(value);
+        }
+        ByteBuffer buf = ByteBuffer.allocate(HEADER_BYTES + keyBytes.length + Math.max(valueLength, 0));
+        buf.putInt(MAGIC)
+                .putLong(seq)
+                .put(gzip ? FLAG_GZIP : 0)
+                .putInt(keyBytes.length)
+                .putInt(valueLength)
+                .putInt((int) crc.getValue())
+                .put(keyBytes);
+        if (value != null) {
+            buf.put(value);
+        }
+        return buf.flip();
+    }
+
+    private byte[] encode(String markdown) throws IOException {
+        byte[] bytes = markdown.getBytes(StandardCharsets.UTF_8);
+        if (!compress) {
+            return bytes;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 3 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private static String decode(byte[] bytes, boolean gzip) throws IOException {
+        if (!gzip) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private void load() throws IOException {
+        Files.createDirectories(dir);
+        List<Path> files;
+        try (Stream<Path> list = Files.list(dir)) {
+            files = list.filter(p -> SEGMENT_FILE.matcher(p.getFileName().toString()).matches()).toList();
+        }
+
+        List<Segment> loaded = new ArrayList<>();
+        for (Path file : files) {
+            Path marker = file.resolveSibling(file.getFileName() + RETIRED_SUFFIX);
+            if (Files.exists(marker)) {
+                // 컴팩션으로 대체된 뒤 지우기 전에 종료된 세그먼트
+                Files.deleteIfExists(file);
+                Files.deleteIfExists(marker);
+                continue;
+            }
+            Matcher m = SEGMENT_FILE.matcher(file.getFileName().toString());
+            m.matches();
+            loaded.add(Segment.open(file, Integer.parseInt(m.group(1))));
+        }
+        loaded.sort(Comparator.comparingInt(s -> s.id));
+
+        Map<String, Location> latest = new HashMap<>(); // tombstone 포함 (valueLength == -1)
+        long maxSeq = -1;
+        for (Segment segment : loaded) {
+            maxSeq = Math.max(maxSeq, scan(segment, latest));
+            segment.seal();
+            segments.put(segment.id, segment);
+            nextSegmentId = Math.max(nextSegmentId, segment.id + 1);
+        }
+
+        Map<Segment, Long> liveBytes = new IdentityHashMap<>();
+        for (Map.Entry<String, Location> e : latest.entrySet()) {
+            Location loc = e.getValue();
+            if (loc.valueLength() == TOMBSTONE) {
+                continue;
+            }
+            index.put(e.getKey(), loc);
+            liveBytes.merge(loc.segment(), (long) loc.recordBytes(), Long::sum);
+        }
+        for (Segment segment : loaded) {
+            segment.deadBytes.set(segment.size - liveBytes.getOrDefault(segment, 0L));
+        }
+        nextSeq = maxSeq + 1;
+        log.info("Content segments loaded: dir={}, segments={}, keys={}", dir, loaded.size(), index.size());
+    }
+
+    /**
+     * 세그먼트의 레코드를 읽어 키별 최신 위치 갱신. 깨진 레코드부터 끝까지는 잘라냄.
+     *
+     * @return 세그먼트의 최대 seq (레코드가 없으면 -1)
+     */
+    private static long scan(Segment segment, Map<String, Location> latest) throws IOException {
+        FileChannel ch = segment.channel;
+        long size = ch.size();
+        long pos = 0;
+        long maxSeq = -1;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while (pos + HEADER_BYTES <= size) {
+            header.clear();
+            readFully(ch, header, pos);
+            header.flip();
+            if (header.getInt() != MAGIC) break;
+            long seq = header.getLong();
+            boolean gzip = (header.get() & FLAG_GZIP) != 0;
+            int keyLength = header.getInt();
+            int valueLength = header.getInt();
+            int crcValue = header.getInt();
+            if (keyLength <= 0 || keyLength > MAX_KEY_BYTES || valueLength < TOMBSTONE) break;
+            long recordBytes = (long) HEADER_BYTES + keyLength + Math.max(valueLength, 0);
+            if (pos + recordBytes > size) break;
+
+            ByteBuffer body = ByteBuffer.allocate((int) (recordBytes - HEADER_BYTES));
+            readFully(ch, body, pos + HEADER_BYTES);
+            CRC32 crc = new CRC32();
+            crc.update(body.array());
+            if ((int) crc.getValue() != crcValue) break;
+
+            String key = new String(body.array(), 0, keyLength, StandardCharsets.UTF_8);
+            Location loc = new Location(segment, pos, (int) recordBytes,
+                    pos + HEADER_BYTES + keyLength, valueLength, gzip, seq);
+            Location current = latest.get(key);
+            if (current == null || current.seq() < seq) {
+                latest.put(key, loc);
+            }
+            maxSeq = Math.max(maxSeq, seq);
+            pos += recordBytes;
+        }
+        if (pos < size) {
+            log.warn("Truncating damaged tail of content segment {}: {} -> {} bytes", segment.path, size, pos);
+            ch.truncate(pos);
+        }
+        segment.size = pos;
+        return maxSeq;
+    }
+
+    private static void readFully(FileChannel ch, ByteBuffer buf, long position) throws IOException {
+        long pos = position;
+        while (buf.hasRemaining()) {
+            int n = ch.read(buf, pos);
+            if (n < 0) throw new IOException("Unexpected end of segment");
+            pos += n;
+        }
+    }
+
+    private void compactQuietly() {
+        try {
+            deleteRetired();
+            compactIfNeeded();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Content segment compaction failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 닫힌 세그먼트의 죽은 바이트 비율이 기준 이상이면 컴팩션
+     *
+     * @return 컴팩션했으면 true
+     */
+    boolean compactIfNeeded() throws IOException {
+        List<Segment> sealed;
+        synchronized (lock) {
+            sealed = segments.values().stream()
+                    .filter(s -> s.sealed)
+                    .sorted(Comparator.comparingInt(s -> s.id))
+                    .toList();
+        }
+        long total = sealed.stream().mapToLong(s -> s.size).sum();
+        long dead = sealed.stream().mapToLong(s -> s.deadBytes.get()).sum();
+        if (dead == 0 || dead < total * compactionGarbageRatio) {
+            return false;
+        }
+        compact(sealed);
+        return true;
+    }
+
+    private void compact(List<Segment> sealed) throws IOException {
+        long start = System.currentTimeMillis();
+        Set<Segment> compacting = Collections.newSetFromMap(new IdentityHashMap<>());
+        compacting.addAll(sealed);
+
+        // 닫힌 세그먼트에 있는 살아 있는 레코드 (위치 순으로 읽기)
+        List<Map.Entry<String, Location>> live = new ArrayList<>();
+        for (Map.Entry<String, Location> e : index.entrySet()) {
+            if (compacting.contains(e.getValue().segment())) {
+                live.add(Map.entry(e.getKey(), e.getValue()));
+            }
+        }
+        live.sort(Comparator.<Map.Entry<String, Location>>comparingInt(e -> e.getValue().segment().id)
+                .thenComparingLong(e -> e.getValue().recordOffset()));
+
+        List<Segment> outputs = new ArrayList<>();
+        List<String> keys = new ArrayList<>(live.size());
+        List<Location> olds = new ArrayList<>(live.size());
+        List<Location> news = new ArrayList<>(live.size());
+        Segment out = null;
+        try {
+            for (Map.Entry<String, Location> e : live) {
+                Location old = e.getValue();
+                if (out == null || (out.size > 0 && out.size + old.recordBytes() > maxSegmentBytes)) {
+                    if (out != null) {
+                        out.seal();
+                    }
+                    synchronized (lock) {
+                        out = Segment.create(dir, nextSegmentId++);
+                    }
+                    outputs.add(out);
+                }
+                // 레코드를 seq 그대로 복사 (기동 시 재구성에서도 같은 순서가 유지됨)
+                ByteBuffer record = old.segment().slice(old.recordOffset(), old.recordBytes());
+                long offset = out.append(record);
+                keys.add(e.getKey());
+                olds.add(old);
+                news.add(new Location(out, offset, old.recordBytes(),
+                        offset + (old.valueOffset() - old.recordOffset()), old.valueLength(), old.gzip(), old.seq()));
+            }
+            if (out != null) {
+                out.seal();
+            }
+        } catch (IOException | RuntimeException e) {
+            for (Segment segment : outputs) {
+                segment.closeQuietly();
+                Files.deleteIfExists(segment.path);
+            }
+            throw e;
+        }
+
+        int moved = 0;
+        synchronized (lock) {
+            for (int i = 0; i < keys.size(); i++) {
+                Location copy = news.get(i);
+                if (index.replace(keys.get(i), olds.get(i), copy)) {
+                    moved++;
+                } else {
+                    copy.segment().deadBytes.addAndGet(copy.recordBytes()); // 복사하는 동안 덮어쓰기/삭제됨
+                }
+            }
+            for (Segment segment : outputs) {
+                segments.put(segment.id, segment);
+            }
+            for (Segment segment : sealed) {
+                segments.remove(segment.id);
+            }
+        }
+        // 새 세그먼트가 디스크에 있는 것을 확인한 뒤(seal에서 force) 예전 세그먼트에 표시. 표시된 세그먼트는 기동 시 무시
+        for (Segment segment : sealed) {
+            Files.write(segment.path.resolveSibling(segment.path.getFileName() + RETIRED_SUFFIX), new byte[0]);
+            retired.add(segment);
+        }
+        log.info("Content segments compacted: segments={} -> {}, records={}, took={}ms",
+                sealed.size(), outputs.size(), moved, System.currentTimeMillis() - start);
+    }
+
+    private void deleteRetired() {
+        for (var it = retired.iterator(); it.hasNext(); ) {
+            Segment segment = it.next();
+            segment.closeQuietly();
+            try {
+                Files.deleteIfExists(segment.path);
+                Files.deleteIfExists(segment.path.resolveSibling(segment.path.getFileName() + RETIRED_SUFFIX));
+                it.remove();
+            } catch (IOException e) {
+                // 매핑이 남아 있으면 지울 수 없는 OS가 있음 (다음 주기에 다시 시도)
+                log.debug("Retired content segment not deleted yet {}: {}", segment.path, e.getMessage());
+            }
+        }
+    }
+
+    static final class Segment {
+        final int id;
+        final Path path;
+        final FileChannel channel;
+        /** 쓰인 바이트 (append는 lock 또는 컴팩션 스레드 한 곳에서만) */
+        volatile long size;
+        volatile boolean sealed;
+        final AtomicLong deadBytes = new AtomicLong();
+        /** [0, map.capacity()) 구간 읽기 전용 매핑. 쓰는 중인 세그먼트는 읽을 때 모자라면 다시 매핑 */
+        private volatile MappedByteBuffer map;
+
+        private Segment(int id, Path path, FileChannel channel) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+        }
+
+        static Segment create(Path dir, int id) throws IOException {
+            Path path = dir.resolve(String.format("segment-%08d.log", id));
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new Segment(id, path, channel);
+        }
+
+        static Segment open(Path path, int id) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new Segment(id, path, channel);
+        }
+
+        /** 끝에 덧붙이고 레코드 시작 위치 반환 */
+        long append(ByteBuffer record) throws IOException {
+            long offset = size;
+            long pos = offset;
+            while (record.hasRemaining()) {
+                pos += channel.write(record, pos);
+            }
+            size = pos;
+            return offset;
+        }
+
+        ByteBuffer slice(long offset, int length) {
+            MappedByteBuffer m = map;
+            if (m == null || offset + length > m.capacity()) {
+                m = remap();
+            }
+            return m.slice((int) offset, length);
+        }
+
+        private synchronized MappedByteBuffer remap() {
+            MappedByteBuffer m = map;
+            if (m == null || m.capacity() < size) {
+                try {
+                    m = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                } catch (IOException e) {
+                    throw new IllegalStateException("Failed to map content segment: " + path, e);
+                }
+                map = m;
+            }
+            return m;
+        }
+
+        /** 더 쓰지 않음: 디스크에 반영하고 전체를 매핑 */
+        void seal() throws IOException {
+            channel.force(false);
+            sealed = true;
+            if (size > 0) {
+                remap();
+            }
+        }
+
+        void closeQuietly() {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // 닫기 실패는 무시
+            }
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package com.fasoo.cs_doc.upload;
 
-import com.fasoo.cs_doc.global.config.StorageProperties;
+import com.fasoo.cs_doc.blob.service.BlobStore;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.MediaType;
@@ -8,9 +8,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.util.UUID;
+import java.io.InputStream;
 
 @CrossOrigin(origins = "http://localhost:5173")
 @Tag(name = "Upload", description = "Image upload for editor")
@@ -18,10 +16,10 @@ import java.util.UUID;
 @RequestMapping("/api/upload")
 public class ImageUploadController {
 
-    private final StorageProperties storageProperties;
+    private final BlobStore blobStore;
 
-    public ImageUploadController(StorageProperties storageProperties) {
-        this.storageProperties = storageProperties;
+    public ImageUploadController(BlobStore blobStore) {
+        this.blobStore = blobStore;
     }
 
     @Operation(summary = "Upload image", description = "Upload an image file; returns URL for use in markdown.")
@@ -41,19 +39,11 @@ public class ImageUploadController {
 
         String ext = contentType.replace("image/", "").toLowerCase();
         if (ext.contains("jpeg")) ext = "jpg";
-        String filename = UUID.randomUUID().toString() + "." + ext;
 
-        String uploadDir = storageProperties.uploadDir();
-        if (uploadDir == null || uploadDir.isBlank()) {
-            uploadDir = Path.of(storageProperties.mdRoot()).getParent().resolve("uploads").toString();
+        // 같은 이미지를 다시 올리면 기존 파일/URL 재사용
+        try (InputStream in = file.getInputStream()) {
+            return new ImageUploadResponse(blobStore.store(in, ext));
         }
-        Path dir = Path.of(uploadDir).toAbsolutePath().normalize();
-        Files.createDirectories(dir);
-        Path target = dir.resolve(filename);
-        Files.copy(file.getInputStream(), target);
-
-        String url = "/uploads/" + filename;
-        return new ImageUploadResponse(url);
     }
 
     public record ImageUploadResponse(String url) {}
@@ -0,0 +1,79 @@
+package com.fasoo.cs_doc.post.dto;
+
+import com.fasoo.cs_doc.post.dto.PostListQuery.SortDir;
+import com.fasoo.cs_doc.post.dto.PostListQuery.SortKey;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostCursorTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2025, 3, 1, 9, 30, 15, 123_000_000);
+    private static final LocalDateTime UPDATED = LocalDateTime.of(2025, 4, 2, 18, 0);
+
+    @Test
+    void roundTripsEverySortKey() {
+        PostListItemResponse last = item(42L, "제목");
+        for (SortKey key : SortKey.values()) {
+            for (SortDir dir : SortDir.values()) {
+                PostCursor cursor = PostCursor.after(key, dir, last);
+                assertEquals(cursor, PostCursor.decode(cursor.encode()), key + " " + dir);
+            }
+        }
+    }
+
+    @Test
+    void afterTakesValueOfSortKey() {
+        PostListItemResponse last = item(7L, "title");
+
+        assertEquals(CREATED, PostCursor.after(SortKey.CREATED_AT, SortDir.DESC, last).value());
+        assertEquals(UPDATED, PostCursor.after(SortKey.UPDATED_AT, SortDir.DESC, last).value());
+        assertEquals("title", PostCursor.after(SortKey.TITLE, SortDir.ASC, last).value());
+        assertNull(PostCursor.after(SortKey.ID, SortDir.ASC, last).value());
+        assertEquals(7L, (long) PostCursor.after(SortKey.ID, SortDir.ASC, last).id());
+    }
+
+    @Test
+    void titleMayContainSeparator() {
+        // value를 마지막에 두므로 제목의 구분자는 그대로 보존
+        PostCursor cursor = PostCursor.after(SortKey.TITLE, SortDir.ASC, item(3L, "a|b||c|"));
+
+        PostCursor decoded = PostCursor.decode(cursor.encode());
+        assertEquals("a|b||c|", decoded.value());
+        assertEquals(3L, (long) decoded.id());
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        String encoded = PostCursor.after(SortKey.TITLE, SortDir.DESC, item(1L, "??>>~~ 한글 제목")).encode();
+
+        assertTrue(encoded.matches("[A-Za-z0-9_-]+"), encoded);
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        assertInvalid("not base64 !!");
+        assertInvalid(raw("CREATED_AT|DESC|1"));
+        assertInvalid(raw("UNKNOWN|DESC|1|"));
+        assertInvalid(raw("ID|SIDEWAYS|1|"));
+        assertInvalid(raw("ID|ASC|abc|"));
+        assertInvalid(raw("CREATED_AT|DESC|1|yesterday"));
+    }
+
+    private static void assertInvalid(String cursor) {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> PostCursor.decode(cursor));
+        assertEquals("Invalid cursor", e.getMessage());
+    }
+
+    private static String raw(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static PostListItemResponse item(Long id, String title) {
+        return new PostListItemResponse(id, title, null, 1L, false, 0L, null, CREATED, UPDATED);
+    }
+}
@@ -0,0 +1,42 @@
+package com.fasoo.cs_doc.post.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostRevisionTest {
+
+    private static final String HASH_A = "a".repeat(64);
+    private static final String HASH_B = "b".repeat(64);
+
+    @Test
+    void contentEtagChangesWithHashEvenWhenVersionStaysTheSame() {
+        LocalDateTime t = LocalDateTime.of(2026, 1, 1, 0, 0);
+        PostRevision before = new PostRevision(1L, 7L, HASH_A, t);
+        PostRevision blanked = new PostRevision(1L, 7L, HASH_B, t.plusSeconds(1)); // 빈 본문 수정: 버전 그대로
+
+        assertNotEquals(before.contentEtag(), blanked.contentEtag());
+        assertNotEquals(before.detailEtag(), blanked.detailEtag());
+    }
+
+    @Test
+    void contentEtagIgnoresMetadataOnlyChanges() {
+        LocalDateTime t = LocalDateTime.of(2026, 1, 1, 0, 0);
+        PostRevision before = new PostRevision(1L, 7L, HASH_A, t);
+        PostRevision retitled = new PostRevision(1L, 7L, HASH_A, t.plusMinutes(5));
+
+        assertEquals(before.contentEtag(), retitled.contentEtag());
+        assertNotEquals(before.detailEtag(), retitled.detailEtag());
+        assertEquals("\"1-h" + "a".repeat(16) + "-gzip\"", before.contentEtag("gzip"));
+    }
+
+    @Test
+    void fallsBackToVersionThenUpdatedAtWithoutHash() {
+        LocalDateTime t = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+        assertEquals("\"1-v7\"", new PostRevision(1L, 7L, null, t).contentEtag());
+        assertTrue(new PostRevision(1L, null, null, t).contentEtag().startsWith("\"1-t"));
+    }
+}
@@ -0,0 +1,84 @@
+package com.fasoo.cs_doc.post.search;
+
+import com.fasoo.cs_doc.post.dto.PostListQuery.SearchField;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostSearchIndexRebuildTest {
+
+    private static SearchDocument doc(long id, String title, String content) {
+        return new SearchDocument(id, title, content, 1L, null, false);
+    }
+
+    @Test
+    void notReadyUntilRebuildFinishes() {
+        PostSearchIndex index = new PostSearchIndex();
+        index.beginRebuild();
+        index.loadBatch(List.of(doc(1, "first", "alpha")));
+        assertFalse(index.isReady());
+        index.finishRebuild();
+        assertTrue(index.isReady());
+        assertEquals(Set.of(1L), index.matchingIds("alpha", SearchField.CONTENT));
+    }
+
+    @Test
+    void updateDuringRebuildIsNotOverwrittenByStaleBatch() {
+        PostSearchIndex index = new PostSearchIndex();
+        index.beginRebuild();
+        index.put(doc(1, "new title", "fresh body"));
+        index.loadBatch(List.of(doc(1, "old title", "stale body"), doc(2, "other", "stale body")));
+        index.finishRebuild();
+
+        assertEquals(Set.of(1L), index.matchingIds("fresh", SearchField.CONTENT));
+        assertEquals(Set.of(2L), index.matchingIds("stale", SearchField.CONTENT));
+        assertEquals(Set.of(1L), index.matchingIds("new title", SearchField.TITLE));
+        assertTrue(index.matchingIds("old title", SearchField.TITLE).isEmpty());
+    }
+
+    @Test
+    void removeDuringRebuildIsNotUndoneByBatch() {
+        PostSearchIndex index = new PostSearchIndex();
+        index.beginRebuild();
+        index.remove(1L);
+        index.loadBatch(List.of(doc(1, "deleted", "gone")));
+        index.finishRebuild();
+
+        assertTrue(index.matchingIds("gone", SearchField.TITLE_CONTENT).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void titleOnlyUpdateDuringRebuildKeepsBatchContent() {
+        PostSearchIndex index = new PostSearchIndex();
+        index.beginRebuild();
+        index.put(doc(1, "renamed", null)); // 제목만 수정 (본문 색인 유지)
+        index.loadBatch(List.of(doc(1, "original", "body text")));
+        index.finishRebuild();
+
+        assertEquals(Set.of(1L), index.matchingIds("body", SearchField.CONTENT));
+        assertEquals(Set.of(1L), index.matchingIds("renamed", SearchField.TITLE));
+        assertTrue(index.matchingIds("original", SearchField.TITLE).isEmpty());
+    }
+
+    @Test
+    void suggestRebuildSkipsPostsTouchedDuringRebuild() {
+        TitleSuggestIndex suggest = new TitleSuggestIndex();
+        suggest.beginRebuild();
+        suggest.put(1L, "새 제목", 5);
+        suggest.remove(2L);
+        suggest.loadBatch(List.of(
+                new TitleSuggestIndex.Suggestion(1L, "옛 제목", 5),
+                new TitleSuggestIndex.Suggestion(2L, "삭제된 글", 1),
+                new TitleSuggestIndex.Suggestion(3L, "다른 글", 1)));
+        suggest.finishRebuild();
+
+        assertEquals(List.of(1L), suggest.suggest("새", 10).stream().map(TitleSuggestIndex.Suggestion::postId).toList());
+        assertTrue(suggest.suggest("옛", 10).isEmpty());
+        assertTrue(suggest.suggest("삭제", 10).isEmpty());
+        assertEquals(1, suggest.suggest("다른", 10).size());
+    }
+}
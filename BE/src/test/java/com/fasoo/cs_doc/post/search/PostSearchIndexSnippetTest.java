@@ -0,0 +1,78 @@
+package com.fasoo.cs_doc.post.search;
+
+import com.fasoo.cs_doc.post.dto.PostSnippet;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostSearchIndexSnippetTest {
+
+    private static final String FILLER = "lorem ipsum dolor sit amet ".repeat(100);
+
+    @Test
+    void matchNearStartIsHighlighted() {
+        PostSearchIndex index = indexWith("needle here " + FILLER);
+
+        PostSnippet snippet = index.snippet(1L, "needle");
+
+        assertNotNull(snippet);
+        assertTrue(snippet.text().startsWith("needle here"));
+        assertTrue(snippet.text().endsWith("…"));
+        assertEquals(0, snippet.highlights().get(0).start());
+        assertEquals(6, snippet.highlights().get(0).end());
+    }
+
+    @Test
+    void matchFarIntoTheBodyKeepsCase() {
+        PostSearchIndex index = indexWith(FILLER + "Needle at the end");
+
+        PostSnippet snippet = index.snippet(1L, "needle");
+
+        assertNotNull(snippet);
+        assertTrue(snippet.text().startsWith("…"));
+        assertTrue(snippet.text().endsWith("Needle at the end"));
+        PostSnippet.Highlight highlight = snippet.highlights().get(0);
+        assertEquals("Needle", snippet.text().substring(highlight.start(), highlight.end()));
+    }
+
+    @Test
+    void updatedContentReplacesStoredText() {
+        PostSearchIndex index = indexWith(FILLER + "old needle");
+        index.put(new SearchDocument(1L, "title", "new needle " + FILLER, 1L, null, false));
+
+        PostSnippet snippet = index.snippet(1L, "needle");
+
+        assertNotNull(snippet);
+        assertTrue(snippet.text().startsWith("new needle"));
+        assertNull(index.snippet(1L, "old"));
+    }
+
+    @Test
+    void noSnippetWithoutContentMatch() {
+        PostSearchIndex index = indexWith("alpha beta");
+
+        assertNull(index.snippet(1L, "gamma"));
+        assertNull(index.snippet(2L, "alpha"));
+        index.remove(1L);
+        assertNull(index.snippet(1L, "alpha"));
+    }
+
+    @Test
+    void rebuildClearsStoredText() {
+        PostSearchIndex index = indexWith("alpha beta");
+        index.beginRebuild();
+        index.loadBatch(List.of(new SearchDocument(2L, "title", "beta gamma", 1L, null, false)));
+        index.finishRebuild();
+
+        assertNull(index.snippet(1L, "alpha"));
+        assertEquals("beta gamma", index.snippet(2L, "gamma").text());
+    }
+
+    private static PostSearchIndex indexWith(String content) {
+        PostSearchIndex index = new PostSearchIndex();
+        index.put(new SearchDocument(1L, "title", content, 1L, null, false));
+        return index;
+    }
+}
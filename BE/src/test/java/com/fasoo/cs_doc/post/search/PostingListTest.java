@@ -0,0 +1,67 @@
+package com.fasoo.cs_doc.post.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostingListTest {
+
+    @Test
+    void positionsAreFoundAcrossSkipBlocks() {
+        PostingList list = new PostingList("ab");
+        for (int serial = 0; serial < 500; serial += 3) {
+            list.append(serial, new int[] {serial, serial + 1, serial + 300});
+        }
+
+        assertArrayEquals(new int[] {0, 1, 300}, list.positions(0));
+        assertArrayEquals(new int[] {300, 301, 600}, list.positions(300));
+        assertArrayEquals(new int[] {498, 499, 798}, list.positions(498));
+        assertNull(list.positions(1));
+        assertNull(list.positions(499));
+        assertEquals(167, list.live());
+    }
+
+    @Test
+    void forEachCountVisitsRecordsInSerialOrder() {
+        PostingList list = new PostingList("ab");
+        list.append(2, new int[] {5});
+        list.append(7, new int[] {1, 9, 40});
+
+        Map<Integer, Integer> counts = new HashMap<>();
+        list.forEachCount(counts::put);
+
+        assertEquals(Map.of(2, 1, 7, 3), counts);
+    }
+
+    @Test
+    void deadRecordsAreDroppedOnceTheyOutnumberLiveOnes() {
+        PostingList list = new PostingList("ab");
+        Set<Integer> alive = new HashSet<>();
+        for (int serial = 0; serial < 100; serial++) {
+            list.append(serial, new int[] {serial * 2});
+            alive.add(serial);
+        }
+        long before = list.bytes();
+        for (int serial = 0; serial < 60; serial++) {
+            alive.remove(serial);
+            list.markDead(alive::contains);
+        }
+
+        assertEquals(40, list.live());
+        assertTrue(list.bytes() < before);
+        Set<Integer> visited = new HashSet<>();
+        list.forEachCount((serial, count) -> visited.add(serial));
+        assertTrue(visited.size() < 100);
+        assertTrue(visited.containsAll(alive));
+        assertNull(list.positions(10));
+        assertArrayEquals(new int[] {198}, list.positions(99));
+
+        list.append(150, new int[] {3, 4});
+        assertArrayEquals(new int[] {3, 4}, list.positions(150));
+    }
+}
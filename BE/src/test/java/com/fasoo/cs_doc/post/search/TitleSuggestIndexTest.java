@@ -0,0 +1,51 @@
+package com.fasoo.cs_doc.post.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TitleSuggestIndexTest {
+
+    private static List<Long> ids(TitleSuggestIndex index, String q) {
+        return index.suggest(q, TitleSuggestIndex.MAX_LIMIT).stream()
+                .map(TitleSuggestIndex.Suggestion::postId)
+                .toList();
+    }
+
+    @Test
+    void removalRefillsTopFromPostsOutsideTheList() {
+        TitleSuggestIndex index = new TitleSuggestIndex();
+        for (long id = 1; id <= TitleSuggestIndex.MAX_LIMIT + 5; id++) {
+            index.put(id, "guide " + id, id);
+        }
+        assertEquals(TitleSuggestIndex.MAX_LIMIT, ids(index, "gu").size());
+        assertFalse(ids(index, "gu").contains(5L));
+
+        index.remove(25L);
+        index.remove(24L);
+
+        List<Long> top = ids(index, "gu");
+        assertEquals(Long.valueOf(23L), top.get(0));
+        assertTrue(top.contains(5L) && top.contains(4L));
+        assertFalse(top.contains(25L));
+    }
+
+    @Test
+    void viewCountAndRenameUpdateEveryWordPath() {
+        TitleSuggestIndex index = new TitleSuggestIndex();
+        index.put(1L, "신입 교육 자료", 1);
+        index.put(2L, "교육 일정", 5);
+        assertEquals(List.of(2L, 1L), ids(index, "교육"));
+
+        index.viewed(1L, 10);
+        assertEquals(List.of(1L, 2L), ids(index, "교육"));
+        assertEquals(List.of(1L), ids(index, "자료"));
+
+        index.put(1L, "신입 안내", 10);
+        assertEquals(List.of(2L), ids(index, "교육"));
+        assertEquals(List.of(1L), ids(index, "안내"));
+        assertTrue(ids(index, "자료").isEmpty());
+    }
+}
@@ -0,0 +1,178 @@
+package com.fasoo.cs_doc.post.service;
+
+import com.fasoo.cs_doc.post.service.PostContentStorage.StoredFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentJournalTest {
+
+    private static final String KEY = "posts/00/01/1.md";
+    private static final long CHECKPOINT_BYTES = 1024 * 1024;
+
+    @TempDir
+    Path root;
+
+    @Test
+    void writeIsReadableFromPendingAndAppliedToBackend() throws Exception {
+        MemoryBackend backend = new MemoryBackend();
+        ContentJournal journal = new ContentJournal(root, backend, CHECKPOINT_BYTES);
+        try {
+            journal.write(KEY, "hello");
+            ContentJournal.Op op = journal.pending(KEY);
+            assertTrue(op == null || "hello".equals(op.markdown));
+            waitUntil(() -> journal.pending(KEY) == null);
+            assertEquals("hello", backend.contents.get(KEY));
+            waitUntil(() -> journalSize() == 0);
+        } finally {
+            journal.close();
+        }
+    }
+
+    @Test
+    void failedApplyIsRetriedAndJournalIsCheckpointedAfterwards() throws Exception {
+        MemoryBackend backend = new MemoryBackend();
+        backend.failNextWrites.set(2);
+        ContentJournal journal = new ContentJournal(root, backend, CHECKPOINT_BYTES);
+        try {
+            journal.write(KEY, "retried");
+            assertEquals("retried", journal.pending(KEY).markdown); // 반영 전에도 새 본문을 봄
+            assertTrue(journalSize() > 0);
+
+            waitUntil(() -> journal.pending(KEY) == null);
+            assertEquals("retried", backend.contents.get(KEY));
+            waitUntil(() -> journalSize() == 0);
+        } finally {
+            journal.close();
+        }
+    }
+
+    @Test
+    void newerWriteSupersedesFailedOne() throws Exception {
+        MemoryBackend backend = new MemoryBackend();
+        backend.failNextWrites.set(1);
+        ContentJournal journal = new ContentJournal(root, backend, CHECKPOINT_BYTES);
+        try {
+            journal.write(KEY, "old");
+            journal.write(KEY, "new");
+            waitUntil(() -> journal.pending(KEY) == null);
+            waitUntil(() -> journalSize() == 0); // 대체된 요청이 남아 있으면 비워지지 않음
+            assertEquals("new", backend.contents.get(KEY));
+            assertEquals(1, backend.successfulWrites.get());
+        } finally {
+            journal.close();
+        }
+    }
+
+    @Test
+    void unappliedRecordsAreReplayedOnRestart() throws Exception {
+        MemoryBackend failing = new MemoryBackend();
+        failing.failNextWrites.set(Integer.MAX_VALUE);
+        ContentJournal journal = new ContentJournal(root, failing, CHECKPOINT_BYTES);
+        journal.write(KEY, "first");
+        journal.write("posts/00/02/2.md", "second");
+        journal.delete("posts/00/02/2.md");
+        journal.close();
+        assertTrue(journalSize() > 0);
+
+        MemoryBackend backend = new MemoryBackend();
+        backend.contents.put("posts/00/02/2.md", "stale");
+        ContentJournal reopened = new ContentJournal(root, backend, CHECKPOINT_BYTES);
+        try {
+            assertEquals("first", backend.contents.get(KEY));
+            assertFalse(backend.contents.containsKey("posts/00/02/2.md"));
+            assertEquals(0, journalSize());
+        } finally {
+            reopened.close();
+        }
+    }
+
+    @Test
+    void damagedTailIsIgnoredOnReplay() throws Exception {
+        MemoryBackend failing = new MemoryBackend();
+        failing.failNextWrites.set(Integer.MAX_VALUE);
+        ContentJournal journal = new ContentJournal(root, failing, CHECKPOINT_BYTES);
+        journal.write(KEY, "kept");
+        journal.close();
+        Files.write(journalFile(), "MDJL-partial".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        MemoryBackend backend = new MemoryBackend();
+        ContentJournal reopened = new ContentJournal(root, backend, CHECKPOINT_BYTES);
+        try {
+            assertEquals("kept", backend.contents.get(KEY));
+            assertEquals(1, backend.contents.size());
+            assertEquals(0, journalSize());
+        } finally {
+            reopened.close();
+        }
+    }
+
+    private Path journalFile() {
+        return root.resolve(ContentJournal.JOURNAL_DIR).resolve("content.journal");
+    }
+
+    private long journalSize() {
+        try {
+            return Files.size(journalFile());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("condition not met within 10s");
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    /** 메모리 저장소 (failNextWrites만큼 쓰기 실패) */
+    private static final class MemoryBackend implements ContentBackend {
+        final Map<String, String> contents = new ConcurrentHashMap<>();
+        final AtomicInteger failNextWrites = new AtomicInteger();
+        final AtomicInteger successfulWrites = new AtomicInteger();
+
+        @Override
+        public String read(String key) {
+            return contents.get(key);
+        }
+
+        @Override
+        public StoredFile locate(String key) {
+            return null;
+        }
+
+        @Override
+        public void write(String key, String markdown) throws IOException {
+            if (failNextWrites.getAndUpdate(n -> n > 0 ? n - 1 : 0) > 0) {
+                throw new IOException("disk full");
+            }
+            contents.put(key, markdown);
+            successfulWrites.incrementAndGet();
+        }
+
+        @Override
+        public void delete(String key) {
+            contents.remove(key);
+        }
+
+        @Override
+        public void force(Collection<String> keys) {
+        }
+    }
+}
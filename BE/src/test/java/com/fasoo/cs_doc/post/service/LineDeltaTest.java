@@ -0,0 +1,158 @@
+package com.fasoo.cs_doc.post.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LineDeltaTest {
+
+    @Test
+    void roundTripsEdgeCases() {
+        String[][] cases = {
+                {"", ""},
+                {"", "a\nb\n"},
+                {"a\nb\n", ""},
+                {"a\nb", "a\nb\n"},          // 마지막 줄바꿈 추가
+                {"a\nb\n", "a\nb"},          // 마지막 줄바꿈 제거
+                {"a\nb\nc\n", "a\nc\n"},
+                {"a\nb\nc\n", "x\na\nb\nc\ny\n"},
+                {"same\nsame\nsame\n", "same\nsame\n"},
+                {"+3\n=1\n-2\n", "-2\n+3\n"}, // 명령처럼 보이는 본문
+                {"한글\n\n\n빈 줄\n", "한글\n빈 줄\n\n"},
+        };
+        for (String[] c : cases) {
+            assertRoundTrip(c[0], c[1]);
+        }
+    }
+
+    @Test
+    void countsAddedAndRemovedLines() {
+        LineDelta.Encoded encoded = LineDelta.encode("a\nb\nc\nd\n", "a\nX\nc\nd\nY\nZ\n");
+
+        assertEquals(3, encoded.added());
+        assertEquals(1, encoded.removed());
+    }
+
+    @Test
+    void roundTripsRandomEdits() {
+        Random random = new Random(42);
+        for (int round = 0; round < 300; round++) {
+            String base = randomText(random, random.nextInt(30));
+            String target = mutate(random, base);
+            assertRoundTrip(base, target);
+        }
+    }
+
+    @Test
+    void myersDiffIsMinimalAndConsistent() {
+        Random random = new Random(7);
+        for (int round = 0; round < 300; round++) {
+            int[] a = randomTokens(random, random.nextInt(25));
+            int[] b = randomTokens(random, random.nextInt(25));
+            List<MyersDiff.Run> runs = MyersDiff.diff(a, b);
+
+            // 구간을 적용하면 b가 되고, 편집 수는 LCS 기준 최소
+            List<Integer> rebuilt = new ArrayList<>();
+            int i = 0;
+            int j = 0;
+            int edits = 0;
+            for (MyersDiff.Run run : runs) {
+                assertTrue(run.length() > 0);
+                switch (run.op()) {
+                    case EQUAL -> {
+                        for (int k = 0; k < run.length(); k++) {
+                            assertEquals(a[i + k], b[j + k]);
+                            rebuilt.add(a[i + k]);
+                        }
+                        i += run.length();
+                        j += run.length();
+                    }
+                    case DELETE -> {
+                        i += run.length();
+                        edits += run.length();
+                    }
+                    case INSERT -> {
+                        for (int k = 0; k < run.length(); k++) {
+                            rebuilt.add(b[j + k]);
+                        }
+                        j += run.length();
+                        edits += run.length();
+                    }
+                }
+            }
+            assertEquals(a.length, i);
+            assertEquals(b.length, j);
+            assertEquals(toList(b), rebuilt);
+            assertEquals(a.length + b.length - 2 * lcs(a, b), edits);
+        }
+    }
+
+    @Test
+    void applyRejectsDeltaForDifferentBase() {
+        String delta = LineDelta.encode("a\nb\nc\n", "a\nc\n").delta();
+
+        assertThrows(IllegalArgumentException.class, () -> LineDelta.apply("a\n", delta));
+        assertThrows(IllegalArgumentException.class, () -> LineDelta.apply("a\nb\nc\n", delta + "=5\n"));
+        assertThrows(IllegalArgumentException.class, () -> LineDelta.apply("a\nb\nc\n", "=1"));
+    }
+
+    private static void assertRoundTrip(String base, String target) {
+        LineDelta.Encoded encoded = LineDelta.encode(base, target);
+        assertEquals(target, LineDelta.apply(base, encoded.delta()), "base=" + base + " target=" + target);
+    }
+
+    private static String randomText(Random random, int lines) {
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < lines; k++) {
+            sb.append("line ").append(random.nextInt(8)).append('\n');
+        }
+        if (lines > 0 && random.nextBoolean()) {
+            sb.setLength(sb.length() - 1); // 마지막 줄바꿈 없음
+        }
+        return sb.toString();
+    }
+
+    private static String mutate(Random random, String base) {
+        List<String> lines = new ArrayList<>(LineDelta.lines(base));
+        int edits = random.nextInt(6);
+        for (int k = 0; k < edits; k++) {
+            int at = lines.isEmpty() ? 0 : random.nextInt(lines.size() + 1);
+            if (random.nextBoolean() && at < lines.size()) {
+                lines.remove(at);
+            } else {
+                lines.add(at, "new " + random.nextInt(8) + "\n");
+            }
+        }
+        return String.join("", lines);
+    }
+
+    private static int[] randomTokens(Random random, int length) {
+        int[] tokens = new int[length];
+        for (int k = 0; k < length; k++) {
+            tokens[k] = random.nextInt(4);
+        }
+        return tokens;
+    }
+
+    private static int lcs(int[] a, int[] b) {
+        int[][] dp = new int[a.length + 1][b.length + 1];
+        for (int i = a.length - 1; i >= 0; i--) {
+            for (int j = b.length - 1; j >= 0; j--) {
+                dp[i][j] = a[i] == b[j] ? dp[i + 1][j + 1] + 1 : Math.max(dp[i + 1][j], dp[i][j + 1]);
+            }
+        }
+        return dp[0][0];
+    }
+
+    private static List<Integer> toList(int[] values) {
+        List<Integer> list = new ArrayList<>(values.length);
+        for (int v : values) {
+            list.add(v);
+        }
+        return list;
+    }
+}
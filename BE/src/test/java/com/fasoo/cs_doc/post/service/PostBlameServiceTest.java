@@ -0,0 +1,90 @@
+package com.fasoo.cs_doc.post.service;
+
+import com.fasoo.cs_doc.post.domain.PostVersion;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostBlameServiceTest {
+
+    @Test
+    void encodesRunsOfSameVersion() {
+        assertEquals("", PostBlameService.encode(new int[0]));
+        assertEquals("1*3", PostBlameService.encode(new int[] {1, 1, 1}));
+        assertEquals("1*2,3*1,1*1,12*2", PostBlameService.encode(new int[] {1, 1, 3, 1, 12, 12}));
+    }
+
+    @Test
+    void decodeReversesEncode() {
+        int[][] cases = {
+                {},
+                {7},
+                {1, 1, 2, 2, 2, 1},
+                {100, 99, 98, 98, 1000000},
+        };
+        for (int[] lines : cases) {
+            assertArrayEquals(lines, PostBlameService.decode(PostBlameService.encode(lines)));
+        }
+        assertArrayEquals(new int[0], PostBlameService.decode(null));
+    }
+
+    @Test
+    void applyKeepsEqualLinesAndStampsInsertedLines() {
+        String v1 = "a\nb\nc\n";
+        String v2 = "a\nX\nc\nY\n";
+        int[] blame = PostBlameService.apply(new int[] {1, 1, 1}, diff(v1, v2), 2, 4);
+
+        assertArrayEquals(new int[] {1, 2, 1, 2}, blame);
+    }
+
+    @Test
+    void applyChainsAcrossVersions() {
+        String v1 = "title\nintro\nbody\n";
+        String v2 = "title\nintro\nbody\nmore\n";
+        String v3 = "title\nnew intro\nbody\nmore\n";
+        int[] blame = {1, 1, 1};
+        blame = PostBlameService.apply(blame, diff(v1, v2), 2, 4);
+        blame = PostBlameService.apply(blame, diff(v2, v3), 3, 4);
+
+        assertArrayEquals(new int[] {1, 3, 1, 2}, blame);
+        assertEquals("1*1,3*1,1*1,2*1", PostBlameService.encode(blame));
+    }
+
+    @Test
+    void applyRejectsRunsThatDoNotMatchPreviousLines() {
+        List<MyersDiff.Run> runs = diff("a\nb\n", "a\nb\nc\n");
+
+        assertNull(PostBlameService.apply(new int[] {1}, runs, 2, 3));     // 이전 줄 수가 다름
+        assertNull(PostBlameService.apply(new int[] {1, 1}, runs, 2, 2));  // 새 줄 수가 다름
+    }
+
+    @Test
+    void computeMatchesSaveTimeUpdatesOverHistory() {
+        List<String> contents = List.of("title\nintro\nbody\n", "title\nintro\nbody\nmore\n", "title\nnew intro\nbody\nmore\n");
+        List<PostVersion> versions = new ArrayList<>();
+        Map<Integer, String> byNumber = new HashMap<>();
+        for (int i = 0; i < contents.size(); i++) {
+            versions.add(PostVersion.full(1L, i + 1, contents.get(i), null, 0));
+            byNumber.put(i + 1, contents.get(i));
+        }
+
+        int[] blame = new int[] {1, 1, 1};
+        for (int i = 1; i < contents.size(); i++) {
+            LineDelta.Encoded encoded = LineDelta.encode(contents.get(i - 1), contents.get(i));
+            blame = PostBlameService.apply(blame, encoded.runs(), i + 1, LineDelta.lines(contents.get(i)).size());
+        }
+
+        assertArrayEquals(blame, new PostBlameService(null).compute(versions, byNumber));
+        assertArrayEquals(new int[0], new PostBlameService(null).compute(List.of(), Map.of()));
+    }
+
+    private static List<MyersDiff.Run> diff(String from, String to) {
+        Map<String, Integer> ids = new HashMap<>();
+        return MyersDiff.diff(LineDelta.toIds(LineDelta.lines(from), ids), LineDelta.toIds(LineDelta.lines(to), ids));
+    }
+}
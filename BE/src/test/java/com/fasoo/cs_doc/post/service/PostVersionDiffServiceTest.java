@@ -0,0 +1,126 @@
+package com.fasoo.cs_doc.post.service;
+
+import com.fasoo.cs_doc.post.domain.PostVersion;
+import com.fasoo.cs_doc.post.dto.VersionDiffResponse;
+import com.fasoo.cs_doc.post.dto.VersionDiffResponse.ChangeType;
+import com.fasoo.cs_doc.post.dto.VersionDiffResponse.Hunk;
+import com.fasoo.cs_doc.post.dto.VersionDiffResponse.Line;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostVersionDiffServiceTest {
+
+    private static final int LEADING = 5;
+    private static final int TRAILING = 5;
+
+    @Test
+    void changesSeparatedBySixEqualLinesShareOneHunk() {
+        VersionDiffResponse diff = diffWithGap(6);
+
+        assertEquals(2, diff.linesAdded());
+        assertEquals(2, diff.linesRemoved());
+        assertEquals(1, diff.hunks().size());
+        Hunk hunk = diff.hunks().get(0);
+        // 앞 문맥 3 + 변경 + 사이 6 + 변경 + 뒤 문맥 3
+        assertEquals(3, hunk.oldStart());
+        assertEquals(3 + 1 + 6 + 1 + 3, hunk.oldLines());
+        assertEquals(3 + 1 + 6 + 1 + 3, hunk.newLines());
+        assertTrailingContext(hunk, 6 + 6 + 1 + 3);
+    }
+
+    @Test
+    void changesSeparatedBySevenEqualLinesSplitWithFullContext() {
+        VersionDiffResponse diff = diffWithGap(7);
+
+        assertEquals(2, diff.hunks().size());
+        Hunk first = diff.hunks().get(0);
+        Hunk second = diff.hunks().get(1);
+        assertEquals(3, first.oldStart());
+        assertEquals(3 + 1 + 3, first.oldLines());
+        assertTrailingContext(first, 6 + 3);
+        // 두 hunk 사이에 빠지는 줄은 1줄
+        assertEquals(first.oldStart() + first.oldLines() + 1, second.oldStart());
+        assertEquals(6 + 7 + 1 - 3, second.oldStart());
+        assertEquals(3 + 1 + 3, second.oldLines());
+        assertTrailingContext(second, 6 + 7 + 1 + 3);
+    }
+
+    @Test
+    void changesSeparatedByTenEqualLinesSplitWithFullContext() {
+        VersionDiffResponse diff = diffWithGap(10);
+
+        assertEquals(2, diff.hunks().size());
+        Hunk first = diff.hunks().get(0);
+        Hunk second = diff.hunks().get(1);
+        assertEquals(3 + 1 + 3, first.oldLines());
+        assertTrailingContext(first, 6 + 3);
+        assertEquals(first.oldStart() + first.oldLines() + 4, second.oldStart());
+        assertEquals(second.oldStart(), second.newStart());
+        assertEquals(3 + 1 + 3, second.oldLines());
+        assertTrailingContext(second, 6 + 10 + 1 + 3);
+    }
+
+    @Test
+    void changedLinesArePairedWithWordSegments() {
+        VersionDiffResponse diff = diffWithGap(7);
+
+        List<Line> lines = diff.hunks().get(0).lines();
+        Line deleted = lines.get(3);
+        Line inserted = lines.get(4);
+        assertEquals(ChangeType.DELETE, deleted.type());
+        assertEquals(ChangeType.INSERT, inserted.type());
+        assertEquals(6, (int) deleted.oldNumber());
+        assertEquals(6, (int) inserted.newNumber());
+        assertNotNull(deleted.segments());
+        assertEquals("first changed", inserted.text());
+    }
+
+    @Test
+    void identicalContentHasNoHunks() {
+        String content = "a\nb\nc\n";
+        VersionDiffResponse diff = PostVersionDiffService.compute(version(1), version(2), content, content);
+
+        assertEquals(0, diff.linesAdded());
+        assertEquals(0, diff.linesRemoved());
+        assertTrue(diff.hunks().isEmpty());
+    }
+
+    /** 앞 LEADING줄, 변경, 같은 줄 gap개, 변경, 뒤 TRAILING줄 */
+    private static VersionDiffResponse diffWithGap(int gap) {
+        return PostVersionDiffService.compute(version(1), version(2),
+                content(gap, "first", "second"), content(gap, "first changed", "second changed"));
+    }
+
+    private static String content(int gap, String firstChange, String secondChange) {
+        StringBuilder sb = new StringBuilder();
+        for (int k = 1; k <= LEADING; k++) {
+            sb.append("lead ").append(k).append('\n');
+        }
+        sb.append(firstChange).append('\n');
+        for (int k = 1; k <= gap; k++) {
+            sb.append("gap ").append(k).append('\n');
+        }
+        sb.append(secondChange).append('\n');
+        for (int k = 1; k <= TRAILING; k++) {
+            sb.append("tail ").append(k).append('\n');
+        }
+        return sb.toString();
+    }
+
+    /** hunk가 변경 뒤 정확히 3줄 문맥으로 끝나고 마지막 줄의 from 기준 번호가 lastOldNumber인지 */
+    private static void assertTrailingContext(Hunk hunk, int lastOldNumber) {
+        List<Line> lines = hunk.lines();
+        for (int k = lines.size() - 3; k < lines.size(); k++) {
+            assertEquals(ChangeType.EQUAL, lines.get(k).type());
+        }
+        assertNotEquals(ChangeType.EQUAL, lines.get(lines.size() - 4).type());
+        assertEquals(lastOldNumber, (int) lines.get(lines.size() - 1).oldNumber());
+    }
+
+    private static PostVersion version(int number) {
+        return new PostVersion(1L, number, null);
+    }
+}
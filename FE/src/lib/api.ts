@@ -16,6 +16,12 @@ export type PostListItem = {
     attachments: string | null; // JSON array of attachment URLs
     createdAt: string;
     updatedAt: string;
+    snippet?: PostSnippet | null; // 검색어가 있을 때만 본문 발췌
+};
+
+export type PostSnippet = {
+    text: string;
+    highlights: { start: number; end: number }[]; // text 안의 [start, end) 일치 구간
 };
 
 export type PostListResponse = {
@@ -26,6 +32,8 @@ export type PostListResponse = {
     totalPages?: number;
     hasNext?: boolean;
     hasPrevious?: boolean;
+    totalType?: "EXACT" | "APPROXIMATE" | "OMITTED";
+    nextCursor?: string | null;
 };
 
 export type PostDetail = {
@@ -291,11 +299,31 @@ export type PostVersion = {
     createdAt: string;
 };
 
+/** 버전 목록 항목 (본문 없음, 본문은 getPostVersion) */
+export type PostVersionSummary = {
+    id: number;
+    postId: number;
+    versionNumber: number;
+    contentSize: number | null;
+    linesAdded: number | null; // 이전 버전 대비 추가된 줄 수
+    linesRemoved: number | null; // 이전 버전 대비 삭제된 줄 수
+    createdBy: string | null;
+    createdAt: string;
+};
+
+export type PostVersionPage = {
+    items: PostVersionSummary[];
+    hasNext: boolean;
+    nextCursor: string | null;
+};
+
 /**
- * 게시글의 모든 버전 조회
+ * 게시글의 버전 목록 한 페이지 (최신순). 다음 페이지는 이전 응답의 nextCursor를 before로 전달
  */
-export async function getPostVersions(postId: number): Promise<PostVersion[]> {
+export async function getPostVersions(postId: number, before?: string | null, size = 20): Promise<PostVersionPage> {
     const url = new URL(`/api/posts/${postId}/versions`, API_BASE);
+    if (before) url.searchParams.set("before", before);
+    url.searchParams.set("size", String(size));
     const res = await fetch(url.toString());
     if (!res.ok) {
         const text = await res.text().catch(() => "");
@@ -325,6 +353,46 @@ export async function getPostVersion(postId: number, versionNumber: number): Pro
     return res.json();
 }
 
+export type VersionDiffChangeType = "EQUAL" | "DELETE" | "INSERT";
+
+export type VersionDiff = {
+    postId: number;
+    fromVersion: number;
+    toVersion: number;
+    linesAdded: number;
+    linesRemoved: number;
+    hunks: {
+        oldStart: number;
+        oldLines: number;
+        newStart: number;
+        newLines: number;
+        lines: {
+            type: VersionDiffChangeType;
+            oldNumber: number | null;
+            newNumber: number | null;
+            text: string;
+            segments: { type: VersionDiffChangeType; text: string }[] | null; // 바뀐 줄의 단어 단위 구간
+        }[];
+    }[];
+};
+
+/**
+ * 두 버전의 diff (from → to)
+ */
+export async function getPostVersionDiff(postId: number, fromVersion: number, toVersion: number): Promise<VersionDiff> {
+    const url = new URL(`/api/posts/${postId}/versions/${fromVersion}/diff/${toVersion}`, API_BASE);
+    const res = await fetch(url.toString());
+    if (!res.ok) {
+        const text = await res.text().catch(() => "");
+        throw new ApiError(
+            `HTTP ${res.status} ${res.statusText}${text ? ` - ${text.slice(0, 200)}` : ""}`,
+            res.status,
+            text
+        );
+    }
+    return res.json();
+}
+
 /**
  * 삭제된 게시글 목록 조회
  */
@@ -618,3 +686,27 @@ export async function reorderCategories(orderedIds: number[]): Promise<void> {
         );
     }
 }
+
+export type PostBlame = {
+    postId: number;
+    versionNumber: number;
+    lines: { lineNumber: number; versionNumber: number; text: string }[]; // versionNumber: 그 줄을 마지막으로 바꾼 버전
+    versions: PostVersionSummary[];
+};
+
+/**
+ * 최신 버전 본문의 줄별 blame
+ */
+export async function getPostBlame(postId: number): Promise<PostBlame> {
+    const url = new URL(`/api/posts/${postId}/blame`, API_BASE);
+    const res = await fetch(url.toString());
+    if (!res.ok) {
+        const text = await res.text().catch(() => "");
+        throw new ApiError(
+            `HTTP ${res.status} ${res.statusText}${text ? ` - ${text.slice(0, 200)}` : ""}`,
+            res.status,
+            text
+        );
+    }
+    return res.json();
+}
@@ -1,6 +1,6 @@
 import { useCallback, useEffect, useState } from "react";
 import { Link } from "react-router-dom";
-import { getDeletionHistory, getPostVersions, listDeletedPosts, getAllChangeHistory, getPostVersion, type PostListItem, type PostVersion, type ChangeHistoryItem, ApiError } from "../lib/api";
+import { getDeletionHistory, getPostVersions, listDeletedPosts, getAllChangeHistory, getPostVersion, type PostListItem, type PostVersion, type PostVersionSummary, type ChangeHistoryItem, ApiError } from "../lib/api";
 import MarkdownPreview from "@uiw/react-markdown-preview";
 import "@uiw/react-markdown-preview/markdown.css";
 import { fetchCategories, type CategoryItem } from "../lib/api";
@@ -26,7 +26,8 @@ export default function PostVersionHistoryPage() {
     const [selectedHistoryItem, setSelectedHistoryItem] = useState<ChangeHistoryItem | null>(null);
     const [deletedPosts, setDeletedPosts] = useState<PostListItem[]>([]);
     const [changeHistory, setChangeHistory] = useState<ChangeHistoryItem[]>([]);
-    const [versions, setVersions] = useState<PostVersion[]>([]);
+    const [versions, setVersions] = useState<PostVersionSummary[]>([]);
+    const [versionsCursor, setVersionsCursor] = useState<string | null>(null);
     const [categories, setCategories] = useState<CategoryItem[]>([]);
     const [loading, setLoading] = useState(false);
     const [error, setError] = useState<string | null>(null);
@@ -85,8 +86,9 @@ export default function PostVersionHistoryPage() {
         setLoading(true);
         setError(null);
         try {
-            const vers = await getPostVersions(postId);
-            setVersions(vers);
+            const result = await getPostVersions(postId);
+            setVersions(result.items);
+            setVersionsCursor(result.nextCursor);
             setSelectedVersion(null); // 초기화
         } catch (e) {
             const msg =
@@ -97,11 +99,23 @@ export default function PostVersionHistoryPage() {
                       : "버전 이력을 불러오지 못했습니다.";
             setError(msg);
             setVersions([]);
+            setVersionsCursor(null);
         } finally {
             setLoading(false);
         }
     }, []);
 
+    const loadMoreVersions = async () => {
+        if (selectedPostId === null || !versionsCursor) return;
+        try {
+            const result = await getPostVersions(selectedPostId, versionsCursor);
+            setVersions((prev) => [...prev, ...result.items]);
+            setVersionsCursor(result.nextCursor);
+        } catch (e) {
+            setError(e instanceof Error ? e.message : "버전 이력을 불러오지 못했습니다.");
+        }
+    };
+
     const loadChangeHistory = useCallback(async () => {
         setLoading(true);
         setError(null);
@@ -175,8 +189,14 @@ export default function PostVersionHistoryPage() {
         loadVersions(postId);
     };
 
-    const handleVersionClick = (version: PostVersion) => {
-        setSelectedVersion(version);
+    // 목록에는 본문이 없으므로 선택한 버전만 본문 조회
+    const handleVersionClick = async (version: PostVersionSummary) => {
+        try {
+            setSelectedVersion(await getPostVersion(version.postId, version.versionNumber));
+        } catch (e) {
+            console.error("Failed to load version:", e);
+            setSelectedVersion(null);
+        }
     };
 
     const handleHistoryItemClick = async (item: ChangeHistoryItem) => {
@@ -524,9 +544,25 @@ export default function PostVersionHistoryPage() {
                                         <div style={{ fontSize: 12, opacity: 0.7 }}>
                                             생성: {formatKST(version.createdAt)}
                                             {version.createdBy && ` | 작성자: ${version.createdBy}`}
+                                            {version.linesAdded !== null && ` | +${version.linesAdded} / -${version.linesRemoved ?? 0}`}
                                         </div>
                                     </div>
                                 ))}
+                            {!loading && versionsCursor && (
+                                <button
+                                    onClick={loadMoreVersions}
+                                    style={{
+                                        padding: "6px 12px",
+                                        marginBottom: 8,
+                                        borderRadius: 6,
+                                        border: "1px solid #444",
+                                        background: "#fff",
+                                        cursor: "pointer",
+                                    }}
+                                >
+                                    더 보기
+                                </button>
+                            )}
                             {selectedVersion && (
                                 <div
                                     style={{